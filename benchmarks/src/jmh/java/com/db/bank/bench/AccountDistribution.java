@@ -0,0 +1,55 @@
+package com.db.bank.bench;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벤치마크 대상 계좌 선택 분포
+ * - SINGLE  : 항상 0번 계좌 (한 행 잠금 경합 최악 조건)
+ * - UNIFORM : 전체 계좌 균등
+ * - ZIPF    : 앞쪽 계좌에 몰림 (실제 서비스의 인기 계좌 / 급여 계좌 형태)
+ */
+public enum AccountDistribution {
+
+    SINGLE,
+    UNIFORM,
+    ZIPF;
+
+    public Picker picker(int accounts, double zipfExponent) {
+        return switch (this) {
+            case SINGLE -> random -> 0;
+            case UNIFORM -> random -> random.nextInt(accounts);
+            case ZIPF -> new ZipfPicker(accounts, zipfExponent);
+        };
+    }
+
+    @FunctionalInterface
+    public interface Picker {
+        int next(ThreadLocalRandom random);
+    }
+
+    // 누적분포(CDF)를 미리 계산해 두고 이분 탐색으로 뽑음 → 뽑기 비용이 측정값에 섞이지 않게
+    private static final class ZipfPicker implements Picker {
+
+        private final double[] cdf;
+
+        private ZipfPicker(int accounts, double exponent) {
+            cdf = new double[accounts];
+            double sum = 0;
+            for (int rank = 1; rank <= accounts; rank++) {
+                sum += 1.0 / Math.pow(rank, exponent);
+                cdf[rank - 1] = sum;
+            }
+            for (int i = 0; i < accounts; i++) {
+                cdf[i] /= sum;
+            }
+        }
+
+        @Override
+        public int next(ThreadLocalRandom random) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            int picked = index >= 0 ? index : -index - 1;
+            return Math.min(picked, cdf.length - 1);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.db.bank.bench;
+
+import com.db.bank.BankApplication;
+import com.db.bank.domain.entity.User;
+import com.db.bank.domain.enums.account.AccountType;
+import com.db.bank.repository.UserRepository;
+import com.db.bank.service.AccountService;
+import com.db.bank.service.TransactionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트
+ * - 내장 H2(MySQL 모드) + schema.sql 로 시스템 계좌/시드 데이터 구성 (H2 가 모르는 MySQL 전용 구문은 건너뜀)
+ * - 잠금 방식은 컨텍스트 시작 시점에 정해지므로 lockMode 파라미터마다 컨텍스트를 새로 띄움
+ * - SQL 수는 Hibernate Statistics 의 prepared statement 수 (batch 로 묶인 INSERT 는 한 번으로 셈)
+ */
+@State(Scope.Benchmark)
+public class BankContextState {
+
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000000000");
+
+    @Param({"SINGLE", "UNIFORM", "ZIPF"})
+    public AccountDistribution distribution;
+
+    @Param({"PESSIMISTIC", "OPTIMISTIC"})
+    public String lockMode;
+
+    @Param({"1000"})
+    public int accounts;
+
+    @Param({"1.0"})
+    public double zipfExponent;
+
+    ConfigurableApplicationContext context;
+    TransactionService transactionService;
+    Long userId;
+
+    private final List<String> accountNums = new ArrayList<>();
+    private AccountDistribution.Picker picker;
+    private Statistics statistics;
+    private final LongAdder ops = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(BankApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                                + "CASE_INSENSITIVE_IDENTIFIERS=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "spring.sql.init.mode=always",
+                        "spring.sql.init.continue-on-error=true",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "jwt.secret=benchmark-secret-key-benchmark-secret-key-0123456789",
+                        "bank.transfer.lock-mode.default=" + lockMode
+                )
+                .run();
+
+        transactionService = context.getBean(TransactionService.class);
+        statistics = context.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        // 벤치마크 사용자 + 계좌 (잔액은 출금/이체가 끝까지 실패하지 않을 만큼)
+        User user = context.getBean(UserRepository.class).save(User.builder()
+                .userId("bench_user")
+                .name("벤치마크")
+                .password("{noop}bench")
+                .build());
+        userId = user.getId();
+
+        AccountService accountService = context.getBean(AccountService.class);
+        for (int i = 0; i < accounts; i++) {
+            String accountNum = String.format("500-%06d", i);
+            accountService.createAccount(userId, accountNum, AccountType.NORMAL, INITIAL_BALANCE);
+            accountNums.add(accountNum);
+        }
+        picker = distribution.picker(accounts, zipfExponent);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        statistics.clear();
+        ops.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportStatementsPerOp() {
+        long count = ops.sum();
+        if (count == 0) {
+            return;
+        }
+        System.out.printf("%n[bench] distribution=%s lockMode=%s ops=%d sql/op=%.2f tx-rollback=%d%n",
+                distribution, lockMode, count,
+                (double) statistics.getPrepareStatementCount() / count,
+                statistics.getTransactionCount() - statistics.getSuccessfulTransactionCount());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    String pickAccount() {
+        return accountNums.get(picker.next(ThreadLocalRandom.current()));
+    }
+
+    // 이체 상대 계좌: 같은 분포에서 뽑되 자기 자신이면 옆 계좌 (SINGLE 이면 0 → 1)
+    String pickCounterparty(String fromAccountNum) {
+        String to = pickAccount();
+        if (!to.equals(fromAccountNum)) {
+            return to;
+        }
+        int next = (accountNums.indexOf(fromAccountNum) + 1) % accountNums.size();
+        return accountNums.get(next);
+    }
+
+    void countOp() {
+        ops.increment();
+    }
+}
@@ -0,0 +1,43 @@
+package com.db.bank.bench;
+
+import com.db.bank.domain.entity.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.math.BigDecimal;
+
+/**
+ * 입금 / 출금 / 이체 처리량 (ops/s) + 건당 SQL 수
+ * - 실행: ./gradlew :benchmarks:jmh
+ * - 특정 조합만: ./gradlew :benchmarks:jmh -PjmhIncludes=LedgerHotPathBenchmark.transfer '-PjmhParams=distribution=ZIPF;lockMode=PESSIMISTIC'
+ * - 건당 SQL 수는 반복(iteration)마다 "[bench] ... sql/op=" 줄로 출력
+ * - 업무 오류(잔액 부족 등)는 나지 않게 잔액을 크게 잡아 두었으므로, 예외가 나면 그대로 실패로 보임
+ */
+@Threads(4)
+public class LedgerHotPathBenchmark {
+
+    private static final BigDecimal AMOUNT = BigDecimal.ONE;
+
+    @Benchmark
+    public Transaction deposit(BankContextState state) {
+        Transaction tx = state.transactionService.deposit(state.userId, state.pickAccount(), AMOUNT, "bench");
+        state.countOp();
+        return tx;
+    }
+
+    @Benchmark
+    public Transaction withdraw(BankContextState state) {
+        Transaction tx = state.transactionService.withdraw(state.userId, state.pickAccount(), AMOUNT, "bench");
+        state.countOp();
+        return tx;
+    }
+
+    @Benchmark
+    public Transaction transfer(BankContextState state) {
+        String from = state.pickAccount();
+        Transaction tx = state.transactionService.transfer(
+                state.userId, from, state.pickCounterparty(from), AMOUNT, "bench");
+        state.countOp();
+        return tx;
+    }
+}
@@ -0,0 +1,86 @@
+package com.db.bank.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 실제 컨트롤러를 HTTP 로 호출하는 얇은 클라이언트
+ * - 응답 본문은 ApiResponse 형식({code, result, message, data})
+ */
+final class BankClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+
+    BankClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+    }
+
+    Result get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET().build());
+    }
+
+    Result post(String path, String token, Map<String, ?> body) throws IOException, InterruptedException {
+        HttpRequest request = request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        return send(request);
+    }
+
+    // 시드 단계용: 실패하면 바로 중단
+    JsonNode postOk(String path, String token, Map<String, ?> body) throws IOException, InterruptedException {
+        Result result = post(path, token, body);
+        if (!result.success()) {
+            throw new IllegalStateException("시드 요청 실패: " + path + " -> " + result.status() + " " + result.body());
+        }
+        return result.body().path("data");
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Result send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        JsonNode body;
+        try {
+            body = response.body() == null || response.body().isEmpty()
+                    ? objectMapper.nullNode()
+                    : objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            body = objectMapper.nullNode();
+        }
+        return new Result(response.statusCode(), body);
+    }
+
+    record Result(int status, JsonNode body) {
+
+        boolean success() {
+            return status / 100 == 2 && "SUCCESS".equals(body.path("result").asText());
+        }
+
+        // 보고서용 오류 키: HTTP 상태 + ApiResponse.code
+        String errorKey() {
+            String code = body.path("code").asText("");
+            return code.isEmpty() ? String.valueOf(status) : status + ":" + code;
+        }
+    }
+}
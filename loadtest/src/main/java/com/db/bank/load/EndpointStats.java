@@ -0,0 +1,41 @@
+package com.db.bank.load;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트 하나의 집계 (지연 히스토그램 + 오류 코드별 건수)
+ * - 오류 키: "<HTTP 상태>:<ApiResponse.code>" (예: 409:409), 연결 오류는 "IO:<예외 이름>"
+ */
+final class EndpointStats {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> errorCodes = new ConcurrentHashMap<>();
+
+    void recordSuccess(long micros) {
+        latency.record(micros);
+    }
+
+    void recordError(long micros, String errorKey) {
+        latency.record(micros);
+        errors.increment();
+        errorCodes.computeIfAbsent(errorKey, k -> new LongAdder()).increment();
+    }
+
+    LatencyHistogram latency() {
+        return latency;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    Map<String, Long> errorCodes() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        errorCodes.forEach((key, count) -> snapshot.put(key, count.sum()));
+        return snapshot;
+    }
+}
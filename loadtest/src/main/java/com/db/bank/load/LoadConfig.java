@@ -0,0 +1,61 @@
+package com.db.bank.load;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 설정 (-Ploadtest.xxx → 시스템 프로퍼티)
+ * - clients          : 동시 클라이언트 수
+ * - users            : 시드 사용자 수 (클라이언트는 사용자를 나눠 씀)
+ * - accounts-per-user: 사용자당 계좌 수
+ * - warmup-seconds   : 집계에서 뺄 앞부분 시간
+ * - duration-seconds : 집계 시간
+ * - mix              : 작업별 비중 (예: TRANSFER:50,DEPOSIT:15,LOGS_ACCOUNT:10)
+ * - platform-threads : true 이면 가상 스레드 대신 고정 크기 플랫폼 스레드 풀 (기본은 가상 스레드, 없으면 실패)
+ */
+record LoadConfig(
+        int clients,
+        int users,
+        int accountsPerUser,
+        long warmupSeconds,
+        long durationSeconds,
+        Map<LoadOperation, Integer> mix,
+        Path report,
+        boolean platformThreads
+) {
+
+    private static final String DEFAULT_MIX =
+            "TRANSFER:50,DEPOSIT:15,WITHDRAW:15,LOGS_ACCOUNT:8,LOGS_ME:5,SCHEDULED_MY:5,SCHEDULED_CREATE:2";
+
+    static LoadConfig fromSystemProperties() {
+        return new LoadConfig(
+                Integer.getInteger("loadtest.clients", 1000),
+                Integer.getInteger("loadtest.users", 200),
+                Integer.getInteger("loadtest.accounts-per-user", 2),
+                Long.getLong("loadtest.warmup-seconds", 5),
+                Long.getLong("loadtest.duration-seconds", 30),
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                Path.of(System.getProperty("loadtest.report", "loadtest-report.json")),
+                Boolean.getBoolean("loadtest.platform-threads")
+        );
+    }
+
+    private static Map<LoadOperation, Integer> parseMix(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("loadtest.mix 형식이 잘못되었습니다: " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(LoadOperation.valueOf(pair[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix 에 비중이 0보다 큰 작업이 없습니다.");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,311 @@
+package com.db.bank.load;
+
+import com.db.bank.BankApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP 부하 테스트
+ * 1. 내장 DB(application-loadtest.yml) 로 애플리케이션을 임의 포트에 띄움
+ * 2. AuthController / AccountController 로 사용자 + 계좌 시드
+ * 3. clients 개의 클라이언트가 mix 비중대로 거래/로그/예약이체 API 를 계속 호출
+ * 4. 엔드포인트별 p50/p95/p99/p999, 오류 코드, 잠금 충돌(교착) 수를 JSON 으로 기록
+ *
+ * 잠금 충돌 수는 같은 JVM 의 LockRetryExecutor 카운터(bank.transfer.lock.*)를 측정 전후로 비교한 값
+ */
+public class LoadHarness {
+
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000000");
+    private static final BigDecimal AMOUNT = BigDecimal.ONE;
+    private static final String PASSWORD = "loadtest1234!";
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.fromSystemProperties();
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BankApplication.class)
+                .profiles("loadtest")
+                .run(args);
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            new LoadHarness(config, context, "http://localhost:" + port).run();
+        } finally {
+            context.close();
+        }
+    }
+
+    private final LoadConfig config;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final BankClient client;
+
+    private final Map<LoadOperation, EndpointStats> stats = new EnumMap<>(LoadOperation.class);
+    private final List<LoadOperation> weighted = new ArrayList<>();
+
+    private LoadHarness(LoadConfig config, ConfigurableApplicationContext context, String baseUrl) {
+        this.config = config;
+        this.meterRegistry = context.getBean(MeterRegistry.class);
+
+        ExecutorService virtual = config.platformThreads() ? null : newVirtualThreadExecutor();
+        if (virtual == null && !config.platformThreads()) {
+            // 조용히 플랫폼 스레드로 바꾸면 결과를 릴리스끼리 비교할 수 없음
+            throw new IllegalStateException("가상 스레드를 쓸 수 없습니다 (JDK " + Runtime.version().feature()
+                    + "). JDK 21 이상으로 실행하거나 -Ploadtest.platform-threads=true 로 실행하세요.");
+        }
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : Executors.newFixedThreadPool(config.clients());
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .build();
+        this.client = new BankClient(httpClient, objectMapper, baseUrl);
+
+        config.mix().forEach((operation, weight) -> {
+            stats.put(operation, new EndpointStats());
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+    }
+
+    /**
+     * JDK 21+ 이면 가상 스레드 executor (빌드는 17 기준이라 리플렉션으로 조회) / 없으면 null
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private void run() throws Exception {
+        // 1. 시드
+        List<SeededUser> users = seed();
+        List<SeededAccount> allAccounts = new ArrayList<>();
+        users.forEach(user -> allAccounts.addAll(user.accounts()));
+        System.out.printf("[loadtest] seeded users=%d accounts=%d virtualThreads=%s%n",
+                users.size(), allAccounts.size(), virtualThreads);
+
+        // 2. 부하
+        long startNanos = System.nanoTime();
+        long measureFrom = startNanos + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+        Map<String, Double> lockBefore = new LinkedHashMap<>();
+
+        List<Future<?>> futures = new ArrayList<>(config.clients());
+        for (int i = 0; i < config.clients(); i++) {
+            SeededUser user = users.get(i % users.size());
+            futures.add(executor.submit(() -> drive(user, allAccounts, measureFrom, deadline)));
+        }
+
+        // 워밍업이 끝나는 시점의 잠금 카운터를 기준값으로
+        long untilMeasure = measureFrom - System.nanoTime();
+        if (untilMeasure > 0) {
+            TimeUnit.NANOSECONDS.sleep(untilMeasure);
+        }
+        lockBefore.putAll(lockCounters());
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        Map<String, Double> lockAfter = lockCounters();
+        executor.shutdown();
+
+        // 3. 보고서
+        Map<String, Object> report = report(lockBefore, lockAfter);
+        Files.createDirectories(config.report().toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(config.report().toFile(), report);
+        System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        System.out.println("[loadtest] report -> " + config.report().toAbsolutePath());
+    }
+
+    // ================== 1. 시드 ==================
+
+    private List<SeededUser> seed() throws Exception {
+        AtomicInteger accountSeq = new AtomicInteger();
+        List<Future<SeededUser>> futures = new ArrayList<>(config.users());
+        for (int i = 0; i < config.users(); i++) {
+            int userNo = i;
+            futures.add(executor.submit(() -> seedUser(userNo, accountSeq)));
+        }
+        List<SeededUser> users = new ArrayList<>(futures.size());
+        for (Future<SeededUser> future : futures) {
+            users.add(future.get());
+        }
+        return users;
+    }
+
+    private SeededUser seedUser(int userNo, AtomicInteger accountSeq) throws Exception {
+        String loginId = "load_user_" + userNo;
+        client.postOk("/api/users/signup", null,
+                Map.of("name", "부하" + userNo, "userId", loginId, "password", PASSWORD));
+        String token = client.postOk("/api/users/login", null,
+                Map.of("userId", loginId, "password", PASSWORD)).path("token").asText();
+
+        List<SeededAccount> accounts = new ArrayList<>(config.accountsPerUser());
+        for (int j = 0; j < config.accountsPerUser(); j++) {
+            String accountNum = String.format("700-%08d", accountSeq.incrementAndGet());
+            JsonNode created = client.postOk("/api/accounts", token, Map.of(
+                    "accountNum", accountNum,
+                    "accountType", "NORMAL",
+                    "initialBalance", INITIAL_BALANCE));
+            accounts.add(new SeededAccount(created.path("accountId").asLong(), accountNum));
+        }
+        return new SeededUser(token, Collections.unmodifiableList(accounts));
+    }
+
+    // ================== 2. 부하 ==================
+
+    private Void drive(SeededUser user, List<SeededAccount> allAccounts, long measureFrom, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            LoadOperation operation = weighted.get(random.nextInt(weighted.size()));
+            SeededAccount own = user.accounts().get(random.nextInt(user.accounts().size()));
+            SeededAccount other = allAccounts.get(random.nextInt(allAccounts.size()));
+            while (other.equals(own) && allAccounts.size() > 1) {
+                other = allAccounts.get(random.nextInt(allAccounts.size()));
+            }
+
+            long started = System.nanoTime();
+            String errorKey;
+            try {
+                BankClient.Result result = call(operation, user.token(), own, other);
+                errorKey = result.success() ? null : result.errorKey();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (Exception e) {
+                errorKey = "IO:" + e.getClass().getSimpleName();
+            }
+            long finished = System.nanoTime();
+
+            if (started < measureFrom) {
+                continue;
+            }
+            long micros = TimeUnit.NANOSECONDS.toMicros(finished - started);
+            EndpointStats endpoint = stats.get(operation);
+            if (errorKey == null) {
+                endpoint.recordSuccess(micros);
+            } else {
+                endpoint.recordError(micros, errorKey);
+            }
+        }
+        return null;
+    }
+
+    private BankClient.Result call(LoadOperation operation, String token, SeededAccount own, SeededAccount other)
+            throws Exception {
+        return switch (operation) {
+            case DEPOSIT -> client.post("/api/transactions/deposit", token,
+                    Map.of("toAccountNum", own.accountNum(), "amount", AMOUNT, "memo", "load"));
+            case WITHDRAW -> client.post("/api/transactions/withdraw", token,
+                    Map.of("fromAccountNum", own.accountNum(), "amount", AMOUNT, "memo", "load"));
+            case TRANSFER -> client.post("/api/transactions/transfer", token, Map.of(
+                    "fromAccountNum", own.accountNum(),
+                    "toAccountNum", other.accountNum(),
+                    "amount", AMOUNT,
+                    "memo", "load"));
+            case LOGS_ACCOUNT -> client.get("/api/logs/account/" + own.accountNum() + "?page=0&size=20", token);
+            case LOGS_ME -> client.get("/api/logs/me?page=0&size=20", token);
+            case SCHEDULED_CREATE -> client.post("/api/scheduled-transactions", token, Map.of(
+                    // 측정 중에 실행되지 않도록 먼 미래 시작 / 같은 계좌 쌍은 409(중복) 로 집계됨
+                    "fromAccountId", own.accountId(),
+                    "toAccountNum", other.accountNum(),
+                    "amount", AMOUNT,
+                    "frequency", "MONTHLY",
+                    "startDate", LocalDate.now().plusYears(1).toString(),
+                    "memo", "load"));
+            case SCHEDULED_MY -> client.get("/api/scheduled-transactions/my?page=0&size=20", token);
+        };
+    }
+
+    // ================== 3. 보고서 ==================
+
+    private Map<String, Double> lockCounters() {
+        Map<String, Double> counters = new LinkedHashMap<>();
+        for (String kind : List.of("deadlock", "lock_wait_timeout", "optimistic")) {
+            Counter counter = meterRegistry.find("bank.transfer.lock.conflicts").tag("kind", kind).counter();
+            counters.put(kind, counter == null ? 0 : counter.count());
+        }
+        Counter retries = meterRegistry.find("bank.transfer.lock.retries").counter();
+        Counter exhausted = meterRegistry.find("bank.transfer.lock.retries.exhausted").counter();
+        counters.put("retries", retries == null ? 0 : retries.count());
+        counters.put("retriesExhausted", exhausted == null ? 0 : exhausted.count());
+        return counters;
+    }
+
+    private Map<String, Object> report(Map<String, Double> lockBefore, Map<String, Double> lockAfter) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", LocalDateTime.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("clients", config.clients());
+        settings.put("users", config.users());
+        settings.put("accountsPerUser", config.accountsPerUser());
+        settings.put("warmupSeconds", config.warmupSeconds());
+        settings.put("durationSeconds", config.durationSeconds());
+        settings.put("mix", config.mix());
+        settings.put("virtualThreads", virtualThreads);
+        report.put("config", settings);
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((operation, endpoint) -> {
+            LatencyHistogram latency = endpoint.latency();
+            long count = latency.count();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", count);
+            row.put("throughputPerSec", count / (double) config.durationSeconds());
+            row.put("errors", endpoint.errors());
+            row.put("p50Ms", latency.percentile(0.50) / 1000.0);
+            row.put("p95Ms", latency.percentile(0.95) / 1000.0);
+            row.put("p99Ms", latency.percentile(0.99) / 1000.0);
+            row.put("p999Ms", latency.percentile(0.999) / 1000.0);
+            row.put("maxMs", latency.max() / 1000.0);
+            row.put("errorCodes", endpoint.errorCodes());
+            endpoints.put(operation.endpoint(), row);
+        });
+        report.put("endpoints", endpoints);
+
+        Map<String, Object> locks = new LinkedHashMap<>();
+        lockAfter.forEach((key, after) -> locks.put(key, (long) (after - lockBefore.getOrDefault(key, 0.0))));
+        report.put("lockConflicts", locks);
+        return report;
+    }
+
+    private record SeededAccount(long accountId, String accountNum) {
+    }
+
+    private record SeededUser(String token, List<SeededAccount> accounts) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.db.bank.load;
+
+/**
+ * 부하 테스트 작업 종류 (보고서의 엔드포인트 이름)
+ */
+enum LoadOperation {
+
+    DEPOSIT("POST /api/transactions/deposit"),
+    WITHDRAW("POST /api/transactions/withdraw"),
+    TRANSFER("POST /api/transactions/transfer"),
+    LOGS_ACCOUNT("GET /api/logs/account/{accountNum}"),
+    LOGS_ME("GET /api/logs/me"),
+    SCHEDULED_CREATE("POST /api/scheduled-transactions"),
+    SCHEDULED_MY("GET /api/scheduled-transactions/my");
+
+    private final String endpoint;
+
+    LoadOperation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+}
@@ -41,6 +41,12 @@ public enum Status {
     //로그
     INVALID_LOG_ARGUMENT("404", "FAILURE", "로그 기록을 위한 transaction/account/actorUser는 null일 수 없습니다."),
     LOG_READ_SUCCESS("200", "SUCCESS","로그 조회에 성공했습니다."),
+    POSTING_READ_SUCCESS("200", "SUCCESS","분개 내역 조회에 성공했습니다."),
+    INVALID_EXPORT_RANGE("400", "FAILURE", "내보내기 기간이 올바르지 않습니다."),
+    //명세서
+    STATEMENT_NON_PRESENT("404", "FAILURE", "해당 월의 명세서가 아직 없습니다."),
+    INVALID_STATEMENT_DAY("400", "FAILURE", "명세서 월에 속하지 않는 일자입니다."),
+    STATEMENT_READ_SUCCESS("200", "SUCCESS", "명세서 조회에 성공했습니다."),
     //사용자
     USER_NON_PRESENT("404", "FAILURE", "존재하지 않는 사용자입니다."),
     USER_INVALID_LOGIN("401","FAILURE","아이디 또는 비밀번호가 일치하지 않습니다"),
@@ -54,8 +60,17 @@ public enum Status {
     TRANSACTION_NON_PRESENT ("404", "FAILURE", "존재하지 않는 트랜잭션 입니다."),
     TRANSACTION_CREATE_SUCCESS("201","SUCCESS","거래 생성을 성공하였습니다."),
     TRANSACTION_READ_SUCCESS("200", "SUCCESS","거래 조회를 성공하였습니다."),
+    TRANSACTION_BATCH_SUCCESS("201","SUCCESS","일괄 이체 요청을 처리하였습니다."),
+    INVALID_TRANSACTION_CURSOR("400", "FAILURE", "거래 조회 커서가 올바르지 않습니다."),
     LIMIT_EXCEEDED_DAILY("409", "FAILURE", "일일 이체한도를 초과했습니다."),
     TRANSFER_LIMIT_EXCEEDED("409", "FAILURE", "이체한도를 초과했습니다."),
+    LEDGER_ENGINE_UNAVAILABLE("503", "FAILURE", "거래 처리 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요."),
+    TRANSFER_QUEUE_FULL("503", "FAILURE", "이체 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요."),
+    TRANSACTION_OUTCOME_PENDING("202", "PENDING", "거래가 접수되어 처리 중입니다. 거래 내역에서 결과를 확인해 주세요."),
+    //멱등성 키
+    IDEMPOTENCY_REQUEST_IN_PROGRESS("409", "FAILURE", "같은 Idempotency-Key 요청이 처리 중입니다."),
+    IDEMPOTENCY_KEY_REUSED("422", "FAILURE", "같은 Idempotency-Key로 다른 요청을 보낼 수 없습니다."),
+    INVALID_IDEMPOTENCY_KEY("400", "FAILURE", "Idempotency-Key 형식이 올바르지 않습니다."),
     //사유코드
     REASON_CODE_DUPLICATE("409", "FAILURE", "중복된 사유코드입니다."),
     REASON_CREATE_SUCCESS("201", "SUCCESS", "사유코드 생성을 성공하였습니다."),
@@ -0,0 +1,27 @@
+package com.db.bank.apiPayload.exception;
+
+public class IdempotencyException extends RuntimeException {
+    public IdempotencyException(String message) {
+        super(message);
+    }
+
+    // 같은 키의 첫 요청이 아직 처리 중 (다른 서버에서 처리 중이거나 대기 시간 초과)
+    public static class RequestInProgressException extends IdempotencyException {
+        public RequestInProgressException(String message) {
+            super(message);
+        }
+    }
+
+    // 같은 키로 내용이 다른 요청을 보냄
+    public static class KeyReusedException extends IdempotencyException {
+        public KeyReusedException(String message) {
+            super(message);
+        }
+    }
+
+    public static class InvalidIdempotencyKeyException extends IdempotencyException {
+        public InvalidIdempotencyKeyException(String message) {
+            super(message);
+        }
+    }
+}
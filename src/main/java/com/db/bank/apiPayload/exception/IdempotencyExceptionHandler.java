@@ -0,0 +1,30 @@
+package com.db.bank.apiPayload.exception;
+
+import com.db.bank.apiPayload.ApiResponse;
+import com.db.bank.apiPayload.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class IdempotencyExceptionHandler {
+
+    @ExceptionHandler(IdempotencyException.RequestInProgressException.class)
+    public ResponseEntity<ApiResponse<?>> handleRequestInProgress(IdempotencyException.RequestInProgressException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.onFailure(Status.IDEMPOTENCY_REQUEST_IN_PROGRESS));
+    }
+
+    @ExceptionHandler(IdempotencyException.KeyReusedException.class)
+    public ResponseEntity<ApiResponse<?>> handleKeyReused(IdempotencyException.KeyReusedException ex) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(ApiResponse.onFailure(Status.IDEMPOTENCY_KEY_REUSED));
+    }
+
+    @ExceptionHandler(IdempotencyException.InvalidIdempotencyKeyException.class)
+    public ResponseEntity<ApiResponse<?>> handleInvalidKey(IdempotencyException.InvalidIdempotencyKeyException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.onFailure(Status.INVALID_IDEMPOTENCY_KEY));
+    }
+}
@@ -10,4 +10,10 @@ public class LogException extends RuntimeException{
             super(message);
         }
     }
+
+    public static class InvalidExportRangeException extends LogException{
+        public InvalidExportRangeException(String message) {
+            super(message);
+        }
+    }
 }
@@ -17,4 +17,12 @@ public class LogExceptionHandler {
         );
     }
 
+    @ExceptionHandler(LogException.InvalidExportRangeException.class)
+    public ResponseEntity<ApiResponse<?>> handleInvalidExportRange(LogException.InvalidExportRangeException ex) {
+        return new ResponseEntity<>(
+                ApiResponse.onFailure(Status.INVALID_EXPORT_RANGE),
+                HttpStatus.BAD_REQUEST
+        );
+    }
+
 }
@@ -0,0 +1,21 @@
+package com.db.bank.apiPayload.exception;
+
+public class StatementException extends RuntimeException {
+    public StatementException(String message) {
+        super(message);
+    }
+
+    // 아직 만들어지지 않은 계좌-월 명세서
+    public static class StatementNonExistsException extends StatementException {
+        public StatementNonExistsException(String message) {
+            super(message);
+        }
+    }
+
+    // 명세서 월에 속하지 않는 일자
+    public static class InvalidStatementDayException extends StatementException {
+        public InvalidStatementDayException(String message) {
+            super(message);
+        }
+    }
+}
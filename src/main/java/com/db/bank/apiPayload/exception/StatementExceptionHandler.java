@@ -0,0 +1,28 @@
+package com.db.bank.apiPayload.exception;
+
+import com.db.bank.apiPayload.ApiResponse;
+import com.db.bank.apiPayload.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class StatementExceptionHandler {
+
+    @ExceptionHandler(StatementException.StatementNonExistsException.class)
+    public ResponseEntity<ApiResponse<?>> handleStatementNonExists(StatementException.StatementNonExistsException ex) {
+        return new ResponseEntity<>(
+                ApiResponse.onFailure(Status.STATEMENT_NON_PRESENT),
+                HttpStatus.NOT_FOUND
+        );
+    }
+
+    @ExceptionHandler(StatementException.InvalidStatementDayException.class)
+    public ResponseEntity<ApiResponse<?>> handleInvalidStatementDay(StatementException.InvalidStatementDayException ex) {
+        return new ResponseEntity<>(
+                ApiResponse.onFailure(Status.INVALID_STATEMENT_DAY),
+                HttpStatus.BAD_REQUEST
+        );
+    }
+}
@@ -30,5 +30,26 @@ public class TransactionException extends RuntimeException {
       super(message);
     }
   }
+  public static class LedgerUnavailableException extends TransactionException {
+    public LedgerUnavailableException(String message) {
+      super(message);
+    }
+  }
+  public static class InvalidCursorException extends TransactionException {
+    public InvalidCursorException(String message) {
+      super(message);
+    }
+  }
+  public static class TransferQueueFullException extends TransactionException {
+    public TransferQueueFullException(String message) {
+      super(message);
+    }
+  }
+  // 대기 시간은 넘었지만 이미 처리에 들어가서 반영될 수 있는 거래 (실패가 아님, 결과 미확정)
+  public static class OutcomePendingException extends TransactionException {
+    public OutcomePendingException(String message) {
+      super(message);
+    }
+  }
 
 }
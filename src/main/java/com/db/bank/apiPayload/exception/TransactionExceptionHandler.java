@@ -31,6 +31,22 @@ public class TransactionExceptionHandler {
     public ResponseEntity<ApiResponse<?>> handleDailyLimitExceededException(TransactionException.IllegalTransferException ex) {
         return new ResponseEntity<>(ApiResponse.onFailure(Status.TRANSFER_LIMIT_EXCEEDED), HttpStatus.NOT_FOUND);
     }
+    @ExceptionHandler(TransactionException.LedgerUnavailableException.class)
+    public ResponseEntity<ApiResponse<?>> handleLedgerUnavailableException(TransactionException.LedgerUnavailableException ex) {
+        return new ResponseEntity<>(ApiResponse.onFailure(Status.LEDGER_ENGINE_UNAVAILABLE), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    @ExceptionHandler(TransactionException.InvalidCursorException.class)
+    public ResponseEntity<ApiResponse<?>> handleInvalidCursorException(TransactionException.InvalidCursorException ex) {
+        return new ResponseEntity<>(ApiResponse.onFailure(Status.INVALID_TRANSACTION_CURSOR), HttpStatus.BAD_REQUEST);
+    }
+    @ExceptionHandler(TransactionException.TransferQueueFullException.class)
+    public ResponseEntity<ApiResponse<?>> handleTransferQueueFullException(TransactionException.TransferQueueFullException ex) {
+        return new ResponseEntity<>(ApiResponse.onFailure(Status.TRANSFER_QUEUE_FULL), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    @ExceptionHandler(TransactionException.OutcomePendingException.class)
+    public ResponseEntity<ApiResponse<?>> handleOutcomePendingException(TransactionException.OutcomePendingException ex) {
+        return new ResponseEntity<>(ApiResponse.onFailure(Status.TRANSACTION_OUTCOME_PENDING), HttpStatus.ACCEPTED);
+    }
 
 
 }
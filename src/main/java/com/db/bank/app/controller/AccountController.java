@@ -7,6 +7,7 @@ import com.db.bank.apiPayload.ApiResponse;
 import com.db.bank.domain.entity.Account;
 import com.db.bank.security.CustomUserDetails;
 import com.db.bank.service.AccountService;
+import com.db.bank.service.BalanceSnapshotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,11 +15,15 @@ import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
 
 @RestController
 @RequestMapping("/api/accounts")
@@ -27,6 +32,7 @@ import org.springframework.data.domain.Pageable;
 public class AccountController {
 
     private final AccountService accountService;
+    private final BalanceSnapshotService balanceSnapshotService;
 
     // ==========================
     // 1) 계좌 생성
@@ -105,4 +111,50 @@ public class AccountController {
 
         return ApiResponse.onSuccess(Status.ACCOUNT_READ_SUCCESS ,response);
     }
+
+    // ==========================
+    // 4) 특정 날짜 일말 잔액 (오늘이면 현재 잔액)
+    // GET /api/accounts/{accountNum}/balance/daily?date=2025-01-31
+    // ==========================
+    @SecurityRequirement(name = "BearerAuth")
+    @GetMapping("/{accountNum}/balance/daily")
+    @Operation(summary = "특정 날짜 일말 잔액 조회")
+    public ApiResponse<AccountDto.DailyBalanceResponse> getDailyBalance(
+            @PathVariable String accountNum,
+            @AuthenticationPrincipal CustomUserDetails user,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        BigDecimal balance = balanceSnapshotService.getBalanceAsOf(user.getId(), accountNum, date);
+
+        AccountDto.DailyBalanceResponse response = AccountDto.DailyBalanceResponse.builder()
+                .accountNum(accountNum)
+                .date(date)
+                .balance(balance)
+                .build();
+
+        return ApiResponse.onSuccess(Status.ACCOUNT_READ_SUCCESS, response);
+    }
+
+    // ==========================
+    // 5) 내 전체 계좌 잔액 합계 (대시보드, date 없으면 오늘)
+    // GET /api/accounts/me/total-balance?date=2025-01-31
+    // ==========================
+    @SecurityRequirement(name = "BearerAuth")
+    @GetMapping("/me/total-balance")
+    @Operation(summary = "내 전체 계좌 잔액 합계")
+    public ApiResponse<AccountDto.TotalBalanceResponse> getTotalBalance(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        LocalDate target = date != null ? date : LocalDate.now();
+        BigDecimal total = balanceSnapshotService.getTotalBalanceAsOf(user.getId(), target);
+
+        AccountDto.TotalBalanceResponse response = AccountDto.TotalBalanceResponse.builder()
+                .userId(user.getId())
+                .date(target)
+                .totalBalance(total)
+                .build();
+
+        return ApiResponse.onSuccess(Status.ACCOUNT_READ_SUCCESS, response);
+    }
 }
@@ -0,0 +1,82 @@
+package com.db.bank.app.controller;
+
+import com.db.bank.domain.enums.export.ExportFormat;
+import com.db.bank.security.CustomUserDetails;
+import com.db.bank.service.HistoryExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+@Tag(name = "📤Export", description = "계좌 내역 내보내기 API")
+public class ExportController {
+
+    private final HistoryExportService historyExportService;
+
+    // 1) 계좌 거래 내역 내보내기
+    // GET /api/exports/account/{accountNum}/transactions?from=2025-01-01&to=2025-12-31&format=CSV&gzip=true
+    @SecurityRequirement(name = "BearerAuth")
+    @GetMapping("/account/{accountNum}/transactions")
+    @Operation(summary = "계좌 거래 내역 내보내기",
+            description = "from ~ to(포함) 기간의 보낸/받은 거래를 시간순으로 내려받습니다. format=CSV|NDJSON, gzip=true 이면 .gz 로 압축합니다.")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @PathVariable String accountNum,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        StreamingResponseBody body =
+                historyExportService.exportTransactions(user.getId(), accountNum, from, to, format, gzip);
+        return download(body, accountNum + "_transactions_" + from + "_" + to, format, gzip);
+    }
+
+    // 2) 계좌 로그 내보내기
+    // GET /api/exports/account/{accountNum}/logs?from=2025-01-01&to=2025-12-31&format=NDJSON
+    @SecurityRequirement(name = "BearerAuth")
+    @GetMapping("/account/{accountNum}/logs")
+    @Operation(summary = "계좌 로그 내보내기",
+            description = "from ~ to(포함) 기간의 잔액 변경 로그를 시간순으로 내려받습니다. format=CSV|NDJSON, gzip=true 이면 .gz 로 압축합니다.")
+    public ResponseEntity<StreamingResponseBody> exportLogs(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @PathVariable String accountNum,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        StreamingResponseBody body =
+                historyExportService.exportLogs(user.getId(), accountNum, from, to, format, gzip);
+        return download(body, accountNum + "_logs_" + from + "_" + to, format, gzip);
+    }
+
+    // 첨부 파일 응답 (gzip 이면 application/gzip + .gz 확장자)
+    private ResponseEntity<StreamingResponseBody> download(
+            StreamingResponseBody body, String baseName, ExportFormat format, boolean gzip
+    ) {
+        String fileName = baseName + "." + format.getExtension() + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8");
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .contentType(contentType)
+                .body(body);
+    }
+}
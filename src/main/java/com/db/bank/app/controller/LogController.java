@@ -3,8 +3,8 @@ package com.db.bank.app.controller;
 import com.db.bank.apiPayload.ApiResponse;
 import com.db.bank.apiPayload.Status;
 import com.db.bank.app.dto.LogDto;
-import com.db.bank.domain.entity.Log;
 import com.db.bank.domain.enums.log.Action;
+import com.db.bank.repository.projection.LogHistoryRow;
 import com.db.bank.security.CustomUserDetails;
 import com.db.bank.service.LogService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -38,7 +38,7 @@ public class LogController {
             @ParameterObject
             @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
-        Page<Log> logs = logService.getLogsByAccount(accountNum, pageable);
+        Page<LogHistoryRow> logs = logService.getLogsByAccount(accountNum, pageable);
 
         Page<LogDto.LogResponse> body = logs.map(this::toLogResponse);
 
@@ -55,7 +55,7 @@ public class LogController {
             @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
         Long userId = principal.getUserId();
-        Page<Log> logs = logService.getLogsByActorUser(userId, pageable);
+        Page<LogHistoryRow> logs = logService.getLogsByActorUser(userId, pageable);
 
         Page<LogDto.LogResponse> body = logs.map(this::toLogResponse);
 
@@ -77,7 +77,7 @@ public class LogController {
             @ParameterObject
             @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
-        Page<Log> logs = logService.getLogsByAccountAndPeriod(accountNum, start, end, pageable);
+        Page<LogHistoryRow> logs = logService.getLogsByAccountAndPeriod(accountNum, start, end, pageable);
 
         Page<LogDto.LogResponse> body = logs.map(this::toLogResponse);
 
@@ -94,7 +94,7 @@ public class LogController {
             @ParameterObject
             @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
-        Page<Log> logs = logService.getLogsByAction(action, pageable);
+        Page<LogHistoryRow> logs = logService.getLogsByAction(action, pageable);
 
         Page<LogDto.LogResponse> body = logs.map(this::toLogResponse);
 
@@ -103,16 +103,16 @@ public class LogController {
 
 
     // 내부 변환 메서드
-    private LogDto.LogResponse toLogResponse(Log log) {
+    private LogDto.LogResponse toLogResponse(LogHistoryRow log) {
         return LogDto.LogResponse.builder()
-                .logId(log.getId())
-                .transactionId(log.getTransaction() != null ? log.getTransaction().getId() : null)
-                .accountNum(log.getAccount().getAccountNum())
-                .actorUserId(log.getActorUser().getId())
-                .beforeBalance(log.getBeforeBalance())
-                .afterBalance(log.getAfterBalance())
-                .action(log.getAction())
-                .createdAt(log.getCreatedAt())
+                .logId(log.logId())
+                .transactionId(log.transactionId())
+                .accountNum(log.accountNum())
+                .actorUserId(log.actorUserId())
+                .beforeBalance(log.beforeBalance())
+                .afterBalance(log.afterBalance())
+                .action(log.action())
+                .createdAt(log.createdAt())
                 .build();
     }
 }
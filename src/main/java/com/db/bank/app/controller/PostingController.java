@@ -0,0 +1,88 @@
+package com.db.bank.app.controller;
+
+import com.db.bank.apiPayload.ApiResponse;
+import com.db.bank.apiPayload.Status;
+import com.db.bank.app.dto.PostingDto;
+import com.db.bank.domain.entity.Posting;
+import com.db.bank.security.CustomUserDetails;
+import com.db.bank.service.PostingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/postings")
+@RequiredArgsConstructor
+@Tag(name = "📒Posting", description = "계좌 분개(원장) 조회 API")
+public class PostingController {
+
+    private final PostingService postingService;
+
+    // 1) 계좌 분개 내역 (seq 기준 이어 읽기)
+    // GET /api/postings/account/{accountNum}?afterSeq=0&size=50
+    @SecurityRequirement(name = "BearerAuth")
+    @GetMapping("/account/{accountNum}")
+    @Operation(summary = "계좌 분개 내역 조회",
+            description = "afterSeq 다음 순번부터 size 건을 순번 오름차순으로 조회합니다. 다음 페이지는 응답의 nextAfterSeq 로 요청합니다.")
+    public ApiResponse<PostingDto.PostingPageResponse> getPostings(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @PathVariable String accountNum,
+            @RequestParam(defaultValue = "0") long afterSeq,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        List<Posting> postings = postingService.getPostings(user.getId(), accountNum, afterSeq, size);
+
+        PostingDto.PostingPageResponse body = PostingDto.PostingPageResponse.builder()
+                .accountNum(accountNum)
+                .postings(postings.stream().map(this::toResponse).toList())
+                .nextAfterSeq(postings.isEmpty() ? null : postings.get(postings.size() - 1).getSeq())
+                .build();
+
+        return ApiResponse.onSuccess(Status.POSTING_READ_SUCCESS, body);
+    }
+
+    // 2) 특정 시점 잔액
+    // GET /api/postings/account/{accountNum}/balance?asOf=2025-01-31T23:59:59
+    @SecurityRequirement(name = "BearerAuth")
+    @GetMapping("/account/{accountNum}/balance")
+    @Operation(summary = "특정 시점 잔액 조회")
+    public ApiResponse<PostingDto.BalanceAsOfResponse> getBalanceAsOf(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @PathVariable String accountNum,
+            @RequestParam("asOf")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime asOf
+    ) {
+        BigDecimal balance = postingService.getBalanceAsOf(user.getId(), accountNum, asOf);
+
+        PostingDto.BalanceAsOfResponse body = PostingDto.BalanceAsOfResponse.builder()
+                .accountNum(accountNum)
+                .asOf(asOf)
+                .balance(balance)
+                .build();
+
+        return ApiResponse.onSuccess(Status.POSTING_READ_SUCCESS, body);
+    }
+
+    // 내부 변환 메서드 (transaction 은 FK 값만 사용 → 프록시 초기화 없음)
+    private PostingDto.PostingResponse toResponse(Posting posting) {
+        return PostingDto.PostingResponse.builder()
+                .postingId(posting.getId())
+                .seq(posting.getSeq())
+                .transactionId(posting.getTransaction().getId())
+                .transactionType(posting.getTransactionType())
+                .direction(posting.getDirection())
+                .amount(posting.getAmount())
+                .balanceAfter(posting.getBalanceAfter())
+                .createdAt(posting.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.db.bank.app.controller;
+
+import com.db.bank.apiPayload.ApiResponse;
+import com.db.bank.apiPayload.Status;
+import com.db.bank.app.dto.StatementDto;
+import com.db.bank.domain.entity.StatementFile;
+import com.db.bank.security.CustomUserDetails;
+import com.db.bank.service.StatementService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/statements")
+@RequiredArgsConstructor
+@Tag(name = "🧾Statement", description = "월별 계좌 명세서 API")
+public class StatementController {
+
+    private final StatementService statementService;
+
+    // 1) 계좌별 명세서 목록
+    // GET /api/statements/account/{accountNum}
+    @SecurityRequirement(name = "BearerAuth")
+    @GetMapping("/account/{accountNum}")
+    @Operation(summary = "명세서 목록 조회")
+    public ApiResponse<List<StatementDto.StatementFileResponse>> getStatements(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @PathVariable String accountNum
+    ) {
+        List<StatementDto.StatementFileResponse> body = statementService.getStatements(user.getId(), accountNum)
+                .stream()
+                .map(this::toResponse)
+                .toList();
+        return ApiResponse.onSuccess(Status.STATEMENT_READ_SUCCESS, body);
+    }
+
+    // 2) 명세서 내려받기 (gzip CSV)
+    // GET /api/statements/account/{accountNum}/2025-01?day=15
+    @SecurityRequirement(name = "BearerAuth")
+    @GetMapping("/account/{accountNum}/{month}")
+    @Operation(summary = "명세서 내려받기",
+            description = "month(yyyy-MM) 명세서를 gzip 압축된 CSV 로 내려받습니다. day 를 주면 그 날짜의 로그만 내려받습니다.")
+    public ResponseEntity<StreamingResponseBody> download(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @PathVariable String accountNum,
+            @PathVariable YearMonth month,
+            @RequestParam(required = false) Integer day
+    ) {
+        StatementService.StatementDownload download =
+                statementService.openStatement(user.getId(), accountNum, month, day);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(download.getFileName()).build().toString())
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .contentLength(download.getContentLength())
+                .body(download.getBody());
+    }
+
+    // 내부 변환 메서드
+    private StatementDto.StatementFileResponse toResponse(StatementFile statement) {
+        return StatementDto.StatementFileResponse.builder()
+                .accountNum(statement.getAccountNum())
+                .statementMonth(statement.getStatementMonth())
+                .rowCount(statement.getRowCount())
+                .openingBalance(statement.getOpeningBalance())
+                .closingBalance(statement.getClosingBalance())
+                .sizeBytes(statement.getSizeBytes())
+                .generatedAt(statement.getGeneratedAt())
+                .build();
+    }
+}
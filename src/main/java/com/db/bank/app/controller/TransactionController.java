@@ -4,8 +4,11 @@ import com.db.bank.apiPayload.ApiResponse;
 import com.db.bank.apiPayload.Status;
 import com.db.bank.app.dto.TransactionDto;
 import com.db.bank.domain.entity.Transaction;
+import com.db.bank.repository.projection.TransactionHistoryRow;
 import com.db.bank.security.CustomUserDetails;
+import com.db.bank.service.IdempotencyService;
 import com.db.bank.service.TransactionService;
+import com.db.bank.service.TransferGroupCommitExecutor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -18,6 +21,8 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/transactions")
 @RequiredArgsConstructor
@@ -25,6 +30,8 @@ import org.springframework.web.bind.annotation.*;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final IdempotencyService idempotencyService;
+    private final TransferGroupCommitExecutor transferGroupCommitExecutor;
 
 
     // 1) 입금
@@ -33,18 +40,27 @@ public class TransactionController {
     @Operation(summary = "입금")
     public ApiResponse<TransactionDto.TransactionResponse> deposit(
             @AuthenticationPrincipal CustomUserDetails user,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody TransactionDto.DepositCreateRequest req) {
 
-        Transaction tx = transactionService.deposit(
+        // 같은 Idempotency-Key 재요청이면 저장된 응답을 그대로 반환
+        TransactionDto.TransactionResponse body = idempotencyService.execute(
                 user.getId(),
-                req.getToAccountNum(),   // 입금 계좌
-                req.getAmount(),
-                req.getMemo()
+                idempotencyKey,
+                "DEPOSIT",
+                req,
+                TransactionDto.TransactionResponse.class,
+                () -> toResponse(transactionService.deposit(
+                        user.getId(),
+                        req.getToAccountNum(),   // 입금 계좌
+                        req.getAmount(),
+                        req.getMemo()
+                ))
         );
 
         return ApiResponse.onSuccess(
                 Status.TRANSACTION_CREATE_SUCCESS,
-                toResponse(tx)
+                body
         );
     }
 
@@ -55,18 +71,27 @@ public class TransactionController {
     @Operation(summary = "출금")
     public ApiResponse<TransactionDto.TransactionResponse> withdraw(
             @AuthenticationPrincipal CustomUserDetails user,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody TransactionDto.WithdrawCreateRequest req) {
 
-        Transaction tx = transactionService.withdraw(
+        // 같은 Idempotency-Key 재요청이면 저장된 응답을 그대로 반환
+        TransactionDto.TransactionResponse body = idempotencyService.execute(
                 user.getId(),
-                req.getFromAccountNum(), // 출금 계좌
-                req.getAmount(),
-                req.getMemo()
+                idempotencyKey,
+                "WITHDRAW",
+                req,
+                TransactionDto.TransactionResponse.class,
+                () -> toResponse(transactionService.withdraw(
+                        user.getId(),
+                        req.getFromAccountNum(), // 출금 계좌
+                        req.getAmount(),
+                        req.getMemo()
+                ))
         );
 
         return ApiResponse.onSuccess(
                 Status.TRANSACTION_CREATE_SUCCESS,
-                toResponse(tx)
+                body
         );
     }
 
@@ -78,23 +103,80 @@ public class TransactionController {
     @Operation(summary = "이체")
     public ApiResponse<TransactionDto.TransactionResponse> transfer(
             @AuthenticationPrincipal CustomUserDetails user,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody TransactionDto.TransactionCreateRequest req) {
 
-        Transaction tx = transactionService.transfer(
+        // 같은 Idempotency-Key 재요청이면 저장된 응답을 그대로 반환
+        TransactionDto.TransactionResponse body = idempotencyService.execute(
                 user.getId(),
-                req.getFromAccountNum(),
-                req.getToAccountNum(),
-                req.getAmount(),
-                req.getMemo()
+                idempotencyKey,
+                "TRANSFER",
+                req,
+                TransactionDto.TransactionResponse.class,
+                // 그룹 커밋이 켜져 있으면 다른 이체와 묶어서 한 트랜잭션으로 반영
+                () -> toResponse(transferGroupCommitExecutor.transfer(
+                        user.getId(),
+                        req.getFromAccountNum(),
+                        req.getToAccountNum(),
+                        req.getAmount(),
+                        req.getMemo()
+                ))
         );
 
         return ApiResponse.onSuccess(
                 Status.TRANSACTION_CREATE_SUCCESS,
-                toResponse(tx)
+                body
         );
     }
 
 
+    // 3-1) 일괄 이체
+    // POST /api/transactions/transfers/batch
+    @SecurityRequirement(name = "BearerAuth")
+    @PostMapping("/transfers/batch")
+    @Operation(summary = "일괄 이체",
+            description = "여러 건의 이체를 한 트랜잭션으로 처리합니다. atomic=false 이면 실패한 건만 제외하고 반영합니다.")
+    public ApiResponse<TransactionDto.BatchTransferResponse> transferBatch(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @RequestBody TransactionDto.BatchTransferRequest req) {
+
+        List<TransactionService.TransferCommand> commands = req.getItems() == null ? List.of()
+                : req.getItems().stream()
+                .map(item -> TransactionService.TransferCommand.builder()
+                        .userId(user.getId())
+                        .fromAccountNum(item.getFromAccountNum())
+                        .toAccountNum(item.getToAccountNum())
+                        .amount(item.getAmount())
+                        .memo(item.getMemo())
+                        .build())
+                .toList();
+
+        boolean atomic = req.getAtomic() == null || req.getAtomic();
+        List<TransactionService.TransferOutcome> outcomes =
+                transactionService.transferBatch(user.getId(), commands, atomic);
+
+        List<TransactionDto.BatchTransferItemResponse> results = outcomes.stream()
+                .map(o -> TransactionDto.BatchTransferItemResponse.builder()
+                        .index(o.getIndex())
+                        .success(o.isSuccess())
+                        .transaction(o.isSuccess() ? toResponse(o.getTransaction()) : null)
+                        .errorType(o.getErrorType())
+                        .errorMessage(o.getErrorMessage())
+                        .build())
+                .toList();
+
+        int successCount = (int) outcomes.stream().filter(TransactionService.TransferOutcome::isSuccess).count();
+        TransactionDto.BatchTransferResponse body = TransactionDto.BatchTransferResponse.builder()
+                .total(outcomes.size())
+                .successCount(successCount)
+                .failureCount(outcomes.size() - successCount)
+                .results(results)
+                .build();
+
+        return ApiResponse.onSuccess(Status.TRANSACTION_BATCH_SUCCESS, body);
+    }
+
+
     // 4) 내가 보낸 거래 조회
     // GET /api/transactions/sent?userId=&fromAccountId=
     @SecurityRequirement(name = "BearerAuth")
@@ -106,9 +188,9 @@ public class TransactionController {
             @ParameterObject
             @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
-        Page<Transaction> page = transactionService.getSentTransactions(user.getId(), fromAccountId, pageable);
+        Page<TransactionHistoryRow> page = transactionService.getSentTransactions(user.getId(), fromAccountId, pageable);
 
-        Page<TransactionDto.TransactionResponse> body = page.map(this::toResponse);
+        Page<TransactionDto.TransactionResponse> body = page.map(this::toHistoryResponse);
         return ApiResponse.onSuccess(Status.TRANSACTION_READ_SUCCESS, body);
     }
 
@@ -125,13 +207,49 @@ public class TransactionController {
             @ParameterObject
             @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
-        Page<Transaction> page = transactionService.getReceivedTransactions(user.getId(), toAccountId, pageable);
+        Page<TransactionHistoryRow> page = transactionService.getReceivedTransactions(user.getId(), toAccountId, pageable);
 
-        Page<TransactionDto.TransactionResponse> body = page.map(this::toResponse);
+        Page<TransactionDto.TransactionResponse> body = page.map(this::toHistoryResponse);
         return ApiResponse.onSuccess(Status.TRANSACTION_READ_SUCCESS, body);
     }
 
 
+    // ======================================
+    // 6) 보낸 / 받은 거래 조회 (커서 방식, COUNT 없음)
+    // GET /api/transactions/sent/cursor?fromAccountId=&cursor=&size=20
+    // GET /api/transactions/received/cursor?toAccountId=&cursor=&size=20
+    // ======================================
+    @SecurityRequirement(name = "BearerAuth")
+    @GetMapping("/sent/cursor")
+    @Operation(summary = "내가 보낸 거래 조회 (커서)",
+            description = "최신순으로 size 건을 조회합니다. 다음 페이지는 응답의 nextCursor 를 cursor 로 전달합니다.")
+    public ApiResponse<TransactionDto.TransactionCursorResponse> getSentByCursor(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @RequestParam Long fromAccountId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        TransactionService.TransactionSlice slice =
+                transactionService.getSentTransactionsByCursor(user.getId(), fromAccountId, cursor, size);
+        return ApiResponse.onSuccess(Status.TRANSACTION_READ_SUCCESS, toCursorResponse(slice));
+    }
+
+    @SecurityRequirement(name = "BearerAuth")
+    @GetMapping("/received/cursor")
+    @Operation(summary = "내가 받은 거래 조회 (커서)",
+            description = "최신순으로 size 건을 조회합니다. 다음 페이지는 응답의 nextCursor 를 cursor 로 전달합니다.")
+    public ApiResponse<TransactionDto.TransactionCursorResponse> getReceivedByCursor(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @RequestParam Long toAccountId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        TransactionService.TransactionSlice slice =
+                transactionService.getReceivedTransactionsByCursor(user.getId(), toAccountId, cursor, size);
+        return ApiResponse.onSuccess(Status.TRANSACTION_READ_SUCCESS, toCursorResponse(slice));
+    }
+
+
     // ======================================
     // 내부 변환 메서드
     // ======================================
@@ -147,4 +265,24 @@ public class TransactionController {
                 .createdAt(tx.getCreatedAt())
                 .build();
     }
+
+    private TransactionDto.TransactionResponse toHistoryResponse(TransactionHistoryRow row) {
+        return TransactionDto.TransactionResponse.builder()
+                .transactionId(row.transactionId())
+                .fromAccountId(row.fromAccountId())
+                .toAccountId(row.toAccountId())
+                .type(row.type())
+                .status(row.status())
+                .amount(row.amount())
+                .memo(row.memo())
+                .createdAt(row.createdAt())
+                .build();
+    }
+
+    private TransactionDto.TransactionCursorResponse toCursorResponse(TransactionService.TransactionSlice slice) {
+        return TransactionDto.TransactionCursorResponse.builder()
+                .transactions(slice.getTransactions().stream().map(this::toHistoryResponse).toList())
+                .nextCursor(slice.getNextCursor())
+                .build();
+    }
 }
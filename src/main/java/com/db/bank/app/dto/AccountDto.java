@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 public class AccountDto {
@@ -47,4 +48,24 @@ public class AccountDto {
         private LocalDateTime createdAt;
         private Long userId;
     }
+
+    // ---------- 일말 잔액 조회 응답 ----------
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    public static class DailyBalanceResponse {
+        private String accountNum;
+        private LocalDate date;
+        private BigDecimal balance;
+    }
+
+    // ---------- 사용자 총 잔액 조회 응답 ----------
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    public static class TotalBalanceResponse {
+        private Long userId;
+        private LocalDate date;
+        private BigDecimal totalBalance;
+    }
 }
@@ -0,0 +1,65 @@
+package com.db.bank.app.dto;
+
+import com.db.bank.domain.enums.posting.PostingDirection;
+import com.db.bank.domain.enums.transaction.TransactionType;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class PostingDto {
+
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PostingResponse {
+
+        private Long postingId;
+
+        private Long seq;
+
+        private Long transactionId;
+
+        private TransactionType transactionType;
+
+        private PostingDirection direction;
+
+        private BigDecimal amount;
+
+        private BigDecimal balanceAfter;
+
+        private LocalDateTime createdAt;
+    }
+
+    // 내역 한 페이지 + 다음 요청에 쓸 afterSeq (더 없으면 null)
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PostingPageResponse {
+
+        private String accountNum;
+
+        private List<PostingResponse> postings;
+
+        private Long nextAfterSeq;
+    }
+
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BalanceAsOfResponse {
+
+        private String accountNum;
+
+        private LocalDateTime asOf;
+
+        private BigDecimal balance;
+    }
+}
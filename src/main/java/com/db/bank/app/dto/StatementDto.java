@@ -0,0 +1,33 @@
+package com.db.bank.app.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class StatementDto {
+
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StatementFileResponse {
+
+        private String accountNum;
+
+        // yyyy-MM
+        private String statementMonth;
+
+        private Long rowCount;
+
+        private BigDecimal openingBalance;
+
+        private BigDecimal closingBalance;
+
+        // 압축된 파일 크기
+        private Long sizeBytes;
+
+        private LocalDateTime generatedAt;
+    }
+}
@@ -6,6 +6,7 @@ import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class TransactionDto {
 
@@ -54,4 +55,46 @@ public class TransactionDto {
         private String memo;
         private LocalDateTime createdAt;
     }
+
+
+    // ================================
+    // 3) 일괄 이체 요청/응답 DTO
+    // ================================
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class BatchTransferRequest {
+
+        private List<TransactionCreateRequest> items;
+        private Boolean atomic;          // true(기본): 전체 성공/전체 실패, false: 건별 결과
+    }
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class BatchTransferItemResponse {
+        private int index;               // 요청 items 에서의 순번 (0부터)
+        private boolean success;
+        private TransactionResponse transaction;
+        private String errorType;
+        private String errorMessage;
+    }
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class BatchTransferResponse {
+        private int total;
+        private int successCount;
+        private int failureCount;
+        private List<BatchTransferItemResponse> results;
+    }
+
+
+    // ================================
+    // 4) 커서 조회 응답 DTO
+    // ================================
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class TransactionCursorResponse {
+        private List<TransactionResponse> transactions;
+        private String nextCursor;       // 다음 페이지 요청에 그대로 전달 (마지막 페이지면 null)
+    }
 }
@@ -0,0 +1,59 @@
+package com.db.bank.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AbnTransferAsyncConfig {
+
+    /**
+     * 이상거래 사후 검사(postCheck) 전용 실행기
+     * - 큐가 가득 차면 CallerRunsPolicy → 커밋을 끝낸 호출 스레드가 afterCommit 안에서 직접 검사 (잠금은 이미 풀린 상태)
+     *   → 검사가 밀리면 요청 처리 속도가 자연스럽게 늦춰짐 (backpressure), 검사는 버리지 않음
+     * - afterCommit 시점에는 커밋이 끝난 트랜잭션 자원이 아직 스레드에 묶여 있음
+     *   → postCheckAbnTransfer(Long) 은 REQUIRES_NEW 로 새 트랜잭션을 열어야 적발 기록이 커밋됨 (REQUIRED 면 끝난 트랜잭션에 합류해 사라짐)
+     */
+    @Bean(name = "abnPostCheckExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor abnPostCheckExecutor(
+            @Value("${bank.abn.post-check.threads:2}") int threads,
+            @Value("${bank.abn.post-check.queue-capacity:1000}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("abn-post-check-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 사후 검사 규칙(POST_COMMIT) 병렬 실행기
+     * - 사후 검사 한 건이 규칙 수만큼 작업을 넣음, 규칙마다 시간 예산이 지나면 결과를 기다리지 않음
+     * - 큐가 가득 차면 거절(AbortPolicy) → 그 규칙은 건너뛰고 예산 초과로 셈 (TransferRuleEngine)
+     *   호출 스레드가 직접 실행(CallerRunsPolicy)하면 규칙별 시간 예산 없이 끝까지 기다리게 됨
+     */
+    @Bean(name = "abnRuleExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor abnRuleExecutor(
+            @Value("${bank.abn.rules.threads:4}") int threads,
+            @Value("${bank.abn.rules.queue-capacity:1000}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("abn-rule-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
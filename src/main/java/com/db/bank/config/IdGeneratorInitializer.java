@@ -0,0 +1,60 @@
+package com.db.bank.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * pooled id 할당 테이블(id_generator) 시작 값 맞추기
+ * - spring.sql.init.mode=never 라 schema.sql 의 같은 INSERT 는 실행되지 않음 → 기동 시 여기서 실행
+ * - 기존 IDENTITY 로 쌓인 행과 겹치지 않도록 MAX(id) + allocationSize 이후부터 (이미 더 크면 그대로)
+ *   (pooled optimizer 는 next_val - 49 ~ next_val 구간을 한 번에 가져감)
+ * - ddl-auto 로 테이블이 만들어진 뒤(entityManagerFactory), id 를 쓰는 빈(원장 엔진 복구 / 알림 writer)보다 먼저 실행
+ */
+@Component("idGeneratorInitializer")
+@DependsOn("entityManagerFactory")
+public class IdGeneratorInitializer {
+
+    // 엔티티 @TableGenerator 의 allocationSize
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final String CREATE_SQL =
+            "CREATE TABLE IF NOT EXISTS id_generator (" +
+            "gen_name VARCHAR(255) NOT NULL PRIMARY KEY, next_val BIGINT)";
+
+    private static final String SEED_SQL =
+            "INSERT INTO id_generator (gen_name, next_val) " +
+            "SELECT ?, COALESCE(MAX(%s), 0) + %d FROM `%s` " +
+            "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))";
+
+    // pkColumnValue, 테이블, id 컬럼
+    private static final List<Generator> GENERATORS = List.of(
+            new Generator("transaction", "transaction", "transaction_id"),
+            new Generator("log", "log", "log_id"),
+            new Generator("scheduled_transfer_run", "scheduled_transfer_run", "run_id"),
+            new Generator("abntransfer", "abntransfer", "alert_id"),
+            new Generator("posting", "posting", "posting_id")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdGeneratorInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void seed() {
+        jdbcTemplate.execute(CREATE_SQL);
+        for (Generator generator : GENERATORS) {
+            jdbcTemplate.update(
+                    String.format(SEED_SQL, generator.idColumn(), ALLOCATION_SIZE + 1, generator.table()),
+                    generator.name());
+        }
+    }
+
+    private record Generator(String name, String table, String idColumn) {
+    }
+}
@@ -4,8 +4,13 @@ import com.db.bank.apiPayload.exception.TransactionException;
 import com.db.bank.domain.entity.ScheduledTransferRun;
 import com.db.bank.domain.entity.TransferFailureReason;
 import com.db.bank.domain.enums.scheduledTransaction.RunResult;
+import com.db.bank.service.BalanceSnapshotService;
+import com.db.bank.service.DailyOutflowService;
+import com.db.bank.service.IdempotencyService;
 import com.db.bank.service.ScheduledTransactionService;
 import com.db.bank.service.ScheduledTransferRunService;
+import com.db.bank.service.StatementService;
+import com.db.bank.service.SystemAccountStripeService;
 import com.db.bank.service.TransactionService;
 import com.db.bank.service.TransferFailureReasonService;
 import lombok.RequiredArgsConstructor;
@@ -13,7 +18,9 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import javax.security.auth.login.AccountLockedException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 
 @Component
@@ -24,6 +31,11 @@ public class ScheduledTaskConfig {
     private final ScheduledTransferRunService scheduledTransferRunService;
     private final TransactionService transactionService;
     private final TransferFailureReasonService failureReasonService;
+    private final SystemAccountStripeService systemAccountStripeService;
+    private final IdempotencyService idempotencyService;
+    private final StatementService statementService;
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final DailyOutflowService dailyOutflowService;
 
     /**
      * 1) 예약이체 정상 실행
@@ -55,7 +67,7 @@ public class ScheduledTaskConfig {
 
             try {
                 // 2. 다시 이체 시도
-                var resultTx = transactionService.transfer(
+                var resultTx = transactionService.transferForScheduleRetry(
                         schedule.getCreatedBy().getId(),
                         schedule.getFromAccount().getAccountNum(),
                         schedule.getToAccount().getAccountNum(),
@@ -124,4 +136,61 @@ public class ScheduledTaskConfig {
             }
         }
     }
+
+    /**
+     * 3) 시스템 계좌 stripe 합산
+     * - stripe 에 누적된 입금/출금 금액을 부모 EXTERNAL_IN / EXTERNAL_OUT 잔액으로 옮김
+     */
+    @Scheduled(fixedDelayString = "${bank.system-account.fold-interval-ms:60000}")
+    public void foldSystemAccountStripes() {
+        if (!systemAccountStripeService.isEnabled()) {
+            return;
+        }
+        systemAccountStripeService.foldStripes();
+    }
+
+    /**
+     * 4) 만료된 Idempotency-Key 정리
+     */
+    @Scheduled(cron = "0 15 * * * *")   // 매 시 15분
+    public void purgeExpiredIdempotencyKeys() {
+        idempotencyService.purgeExpired();
+    }
+
+    /**
+     * 5) 월별 명세서 파일 갱신
+     * - 지난달(늦게 반영된 로그 대비) + 이번 달(진행 중인 명세서)
+     * - 로그가 달라진 계좌-월만 다시 만듦
+     */
+    @Scheduled(cron = "${bank.statement.cron:0 30 3 * * *}")
+    public void refreshStatements() {
+        if (!statementService.isEnabled()) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        statementService.generateMonth(current.minusMonths(1));
+        statementService.generateMonth(current);
+    }
+
+    /**
+     * 6) 일말 잔액 스냅샷
+     * - 마지막 스냅샷 날짜 ~ 어제, 그날 분개가 있는 계좌만
+     */
+    @Scheduled(cron = "${bank.balance-snapshot.cron:0 10 0 * * *}")
+    public void snapshotDailyBalances() {
+        if (!balanceSnapshotService.isEnabled()) {
+            return;
+        }
+        balanceSnapshotService.snapshotUntil(LocalDate.now().minusDays(1));
+    }
+
+    /**
+     * 7) 하루 출금 합계 재집계
+     * - 어제 행을 transaction 기준으로 다시 계산 (write-behind 로 늦게 들어온 거래, 수동 보정 대비)
+     */
+    @Scheduled(cron = "${bank.daily-outflow.rebuild-cron:0 5 0 * * *}")
+    public void rebuildDailyOutflow() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        dailyOutflowService.rebuild(yesterday, yesterday);
+    }
 }
@@ -1,8 +1,12 @@
 package com.db.bank.config;
 
 import com.db.bank.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.*;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.*;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -13,6 +17,7 @@ import org.springframework.security.crypto.bcrypt.*;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.*;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
 
 @Configuration
 @RequiredArgsConstructor
@@ -20,7 +25,38 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    /**
+     * 관리 포트(management.server.port) 전용 체인
+     * - actuator 는 관리 포트에서만 열림 → 내부망(Prometheus 수집기)에서만 접근하도록 포트를 외부에 노출하지 않음
+     * - 지표에 업무 정보(이체량, 규칙 적발 수 등)가 담겨 있으므로 메인 체인에서는 actuator 를 열지 않음
+     * - 관리 포트에서도 노출 목록(health / metrics / prometheus) 외 엔드포인트는 거절
+     */
     @Bean
+    @Order(1)
+    public SecurityFilterChain managementFilterChain(
+            HttpSecurity http,
+            @Value("${management.server.port:8081}") int managementPort
+    ) throws Exception {
+        http
+                .securityMatcher(new AndRequestMatcher(
+                        request -> request.getLocalPort() == managementPort,
+                        EndpointRequest.toAnyEndpoint()
+                ))
+                .csrf(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .sessionManagement(session ->
+                        session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to("health", "metrics", "prometheus")).permitAll()
+                        .anyRequest().denyAll()
+                );
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
@@ -30,6 +66,8 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // 스트리밍 응답(내보내기)은 비동기 디스패치로 마저 씀 → 인증은 최초 요청에서 이미 끝남
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
@@ -17,7 +17,10 @@ import java.time.LocalDateTime;
 public class AbnTransfer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "alert_id_gen")
+    @TableGenerator(name = "alert_id_gen", table = "id_generator",
+            pkColumnName = "gen_name", valueColumnName = "next_val",
+            pkColumnValue = "abntransfer", allocationSize = 50)
     @Column(name="alert_id")
     private Long alertId;
 
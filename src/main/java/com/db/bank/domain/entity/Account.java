@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Pattern;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -17,6 +18,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Table(name = "account")
+// 지연 로딩 프록시를 여러 개 초기화할 때 IN 조회로 묶음 (페치 조인이 없는 경로의 N+1 완화)
+@BatchSize(size = 100)
 public class Account {
 
     @Id
@@ -40,6 +43,21 @@ public class Account {
     private AccountType accountType = AccountType.NORMAL;
 
 
+    // 시스템 계좌(EXTERNAL_IN/OUT) 분할(stripe) 번호
+    // 일반 계좌와 부모 시스템 계좌는 null, stripe 하위 계좌만 0..N-1
+    @Column(name = "stripe_no")
+    private Integer stripeNo;
+
+    // 마지막 분개(posting) 순번 - 잔액과 같은 잠금/버전 아래에서 1씩 증가
+    @Builder.Default
+    @Column(name = "last_posting_seq", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long lastPostingSeq = 0L;
+
+    // 낙관적 잠금 버전 (UPDATE ... WHERE version = ?)
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     // 계좌 생성일
     @Column(nullable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,50 @@
+package com.db.bank.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 계좌별 일말(EOD) 잔액 스냅샷
+ * - 그날 잔액이 바뀐 계좌만 행이 생김 (변동 없는 날은 직전 행의 잔액이 그대로 유효)
+ * - 잔액은 그날 마지막 분개(seq 최대)의 balance_after
+ * - 일말 배치가 INSERT ... ON DUPLICATE KEY UPDATE 로 채움 → 같은 날을 다시 돌려도 결과가 같음
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@IdClass(AccountDailyBalanceId.class)
+@Table(name = "account_daily_balance",
+        indexes = {
+                @Index(name = "ix_daily_balance_user_date", columnList = "user_id, balance_date")
+        }
+)
+public class AccountDailyBalance {
+
+    @Id
+    @Column(name = "account_num", length = 30)
+    private String accountNum;
+
+    @Id
+    @Column(name = "balance_date")
+    private LocalDate balanceDate;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal balance;
+
+    // 이 잔액을 만든 분개 seq
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,18 @@
+package com.db.bank.domain.entity;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// account_daily_balance 복합 키 (계좌번호 + 날짜)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class AccountDailyBalanceId implements Serializable {
+
+    private String accountNum;
+
+    private LocalDate balanceDate;
+}
@@ -0,0 +1,42 @@
+package com.db.bank.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 계좌별 하루 출금 합계 (일일 이체 한도 검사용)
+ * - 출금/이체를 저장하는 트랜잭션 안에서 INSERT ... ON DUPLICATE KEY UPDATE 로 누적
+ * - 한도 검사는 (계좌번호, 오늘) PK 조회 한 번
+ * - 사용자 계좌(NORMAL)만 행이 생김 (시스템 계좌는 한도가 없고, 행 하나에 갱신이 몰림)
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@IdClass(AccountDailyOutflowId.class)
+@Table(name = "account_daily_outflow")
+public class AccountDailyOutflow {
+
+    @Id
+    @Column(name = "account_num", length = 30)
+    private String accountNum;
+
+    @Id
+    @Column(name = "outflow_date")
+    private LocalDate outflowDate;
+
+    @Column(name = "total_amount", nullable = false, precision = 18, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "tx_count", nullable = false)
+    private Long txCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,18 @@
+package com.db.bank.domain.entity;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// account_daily_outflow 복합 키 (계좌번호 + 날짜)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class AccountDailyOutflowId implements Serializable {
+
+    private String accountNum;
+
+    private LocalDate outflowDate;
+}
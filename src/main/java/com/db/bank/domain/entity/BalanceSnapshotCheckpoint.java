@@ -0,0 +1,33 @@
+package com.db.bank.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 일말 잔액 배치 진행 위치
+ * - 처리를 끝낸 마지막 날짜 (그날 분개가 없어 스냅샷 행이 하나도 안 생겨도 앞으로 감)
+ * - 다음 배치는 이 날짜부터 다시 시작 (늦게 반영된 분개 대비)
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Table(name = "balance_snapshot_checkpoint")
+public class BalanceSnapshotCheckpoint {
+
+    // 배치가 하나뿐이므로 항상 1
+    @Id
+    @Column(name = "checkpoint_id")
+    private Integer id;
+
+    @Column(name = "last_day", nullable = false)
+    private LocalDate lastDay;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,60 @@
+package com.db.bank.domain.entity;
+
+import com.db.bank.domain.enums.idempotency.IdempotencyStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Table(name = "idempotency_key",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_idem_user_key", columnNames = {"user_id", "idem_key"})
+        },
+        indexes = {
+                @Index(name = "ix_idem_expires", columnList = "expires_at")
+        }
+)
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "idem_id")
+    private Long id;
+
+    // 요청한 사용자 (키는 사용자별로 유일)
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // 클라이언트가 보낸 Idempotency-Key 헤더 값
+    @Column(name = "idem_key", nullable = false, length = 100)
+    private String idemKey;
+
+    // DEPOSIT / WITHDRAW / TRANSFER
+    @Column(name = "operation", nullable = false, length = 20)
+    private String operation;
+
+    // 요청 본문 SHA-256 (같은 키로 다른 요청을 보내는 경우 감지)
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private IdempotencyStatus status;
+
+    // 처리 완료 시 저장한 응답(JSON)
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // 이 시각 이후에는 같은 키를 새 요청으로 취급
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,36 @@
+package com.db.bank.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 계좌별로 한 번이라도 보낸 적 있는 수취인 (NEW_RECEIVER 규칙용)
+ * - 출금/이체 트랜잭션 안에서 INSERT IGNORE → 처음 보낸 거래의 id 가 남음
+ * - first_transaction_id 가 null 이면 백필로 채운 행 (처음 거래는 알 수 없고, 이미 아는 수취인이라는 뜻만 있음)
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@IdClass(KnownPayeeId.class)
+@Table(name = "known_payee")
+public class KnownPayee {
+
+    @Id
+    @Column(name = "account_num", length = 30)
+    private String accountNum;
+
+    @Id
+    @Column(name = "payee_account_num", length = 30)
+    private String payeeAccountNum;
+
+    @Column(name = "first_transaction_id")
+    private Long firstTransactionId;
+
+    @Column(name = "first_seen_at", nullable = false)
+    private LocalDateTime firstSeenAt;
+}
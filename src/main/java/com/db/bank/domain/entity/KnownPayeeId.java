@@ -0,0 +1,17 @@
+package com.db.bank.domain.entity;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+// known_payee 복합 키 (보낸 계좌 + 받는 계좌)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class KnownPayeeId implements Serializable {
+
+    private String accountNum;
+
+    private String payeeAccountNum;
+}
@@ -0,0 +1,32 @@
+package com.db.bank.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 원장 엔진(write-behind) 반영 위치
+ * - 저널에서 DB로 반영을 끝낸 마지막 seq
+ * - 거래/로그/잔액 반영과 같은 트랜잭션에서 갱신 → 재시작 시 이 seq 이후만 다시 반영
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Table(name = "ledger_checkpoint")
+public class LedgerCheckpoint {
+
+    // 엔진이 하나뿐이므로 항상 1
+    @Id
+    @Column(name = "checkpoint_id")
+    private Integer id;
+
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -16,7 +16,10 @@ import java.time.LocalDateTime;
 public class Log {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "log_id_gen")
+    @TableGenerator(name = "log_id_gen", table = "id_generator",
+            pkColumnName = "gen_name", valueColumnName = "next_val",
+            pkColumnValue = "log", allocationSize = 50)
     @Column(name = "log_id")
     private Long id;
 
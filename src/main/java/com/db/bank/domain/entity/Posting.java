@@ -0,0 +1,72 @@
+package com.db.bank.domain.entity;
+
+import com.db.bank.domain.enums.posting.PostingDirection;
+import com.db.bank.domain.enums.transaction.TransactionType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 복식 분개 (append-only)
+ * - 거래 한 건 = 차변/대변 두 행, 수정/삭제하지 않음
+ * - 계좌별 seq 는 1부터 빈틈없이 증가하고, balance_after 는 그 시점 잔액
+ *   → 내역/명세서/특정 시점 잔액 조회가 (account_num, seq) 인덱스 범위 조회로 끝남 (transaction 조인 X)
+ * - 시스템 계좌(EXTERNAL_IN/OUT) 쪽 분개는 seq / balance_after 가 null (행 잠금 경합 방지)
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Table(name = "posting",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_posting_acc_seq", columnNames = {"account_num", "seq"})
+        },
+        indexes = {
+                @Index(name = "ix_posting_acc_time", columnList = "account_num, created_at"),
+                @Index(name = "ix_posting_txn", columnList = "transaction_id")
+        }
+)
+public class Posting {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "posting_id_gen")
+    @TableGenerator(name = "posting_id_gen", table = "id_generator",
+            pkColumnName = "gen_name", valueColumnName = "next_val",
+            pkColumnValue = "posting", allocationSize = 50)
+    @Column(name = "posting_id")
+    private Long id;
+
+    // 계좌번호를 그대로 저장 (조회 시 account 조인 없이 인덱스만 사용)
+    @Column(name = "account_num", nullable = false, length = 30)
+    private String accountNum;
+
+    // 계좌별 순번 (시스템 계좌는 null)
+    @Column(name = "seq")
+    private Long seq;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "transaction_id", nullable = false)
+    private Transaction transaction;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false, length = 20)
+    private TransactionType transactionType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "direction", nullable = false, length = 10)
+    private PostingDirection direction;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal amount;
+
+    // 반영 후 잔액 (시스템 계좌는 null)
+    @Column(name = "balance_after", precision = 18, scale = 2)
+    private BigDecimal balanceAfter;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -18,7 +18,10 @@ public class ScheduledTransferRun {
 
     // 실행 로그 id (PK)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "run_id_gen")
+    @TableGenerator(name = "run_id_gen", table = "id_generator",
+            pkColumnName = "gen_name", valueColumnName = "next_val",
+            pkColumnValue = "scheduled_transfer_run", allocationSize = 50)
     @Column(name = "run_id")
     private Long id;
 
@@ -0,0 +1,70 @@
+package com.db.bank.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 월별 계좌 명세서 파일 목록 (계좌 + 월 당 한 행)
+ * - 파일 본문은 로컬 디스크 (일자별 gzip 멤버를 이어 붙인 CSV + 일자 → 위치 인덱스 파일)
+ * - row_count / last_log_id 는 만들 당시의 로그 상태 → 달라진 계좌-월만 다시 만듦
+ * - 다시 만들 때마다 generation 을 올리고 새 파일 이름으로 씀 (읽는 중인 이전 파일은 건드리지 않음)
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Table(name = "statement_file",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_statement_acc_month", columnNames = {"account_num", "statement_month"})
+        },
+        indexes = {
+                @Index(name = "ix_statement_month", columnList = "statement_month")
+        }
+)
+public class StatementFile {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "statement_file_id")
+    private Long id;
+
+    @Column(name = "account_num", nullable = false, length = 30)
+    private String accountNum;
+
+    // yyyy-MM
+    @Column(name = "statement_month", nullable = false, length = 7)
+    private String statementMonth;
+
+    @Column(name = "generation", nullable = false)
+    private Integer generation;
+
+    @Column(name = "file_path", nullable = false, length = 500)
+    private String filePath;
+
+    @Column(name = "index_path", nullable = false, length = 500)
+    private String indexPath;
+
+    @Column(name = "row_count", nullable = false)
+    private Long rowCount;
+
+    @Column(name = "last_log_id", nullable = false)
+    private Long lastLogId;
+
+    // 월초 잔액 (첫 로그의 before_balance) / 월말 잔액 (마지막 로그의 after_balance)
+    @Column(name = "opening_balance", nullable = false, precision = 18, scale = 2)
+    private BigDecimal openingBalance;
+
+    @Column(name = "closing_balance", nullable = false, precision = 18, scale = 2)
+    private BigDecimal closingBalance;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "generated_at", nullable = false)
+    private LocalDateTime generatedAt;
+}
@@ -16,10 +16,18 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
-@Table(name = "transaction")
+@Table(name = "transaction",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_tx_idem", columnNames = {"idem_id"})
+        }
+)
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY 는 INSERT 마다 키를 받아와야 해서 JDBC batch 가 꺼짐 → 테이블 기반 pooled 할당 (50개씩)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "transaction_id_gen")
+    @TableGenerator(name = "transaction_id_gen", table = "id_generator",
+            pkColumnName = "gen_name", valueColumnName = "next_val",
+            pkColumnValue = "transaction", allocationSize = 50)
     @Column(name = "transaction_id")
     private Long id;
 
@@ -53,6 +61,11 @@ public class Transaction {
     @Column(length = 255)
     private String memo;
 
+    // 이 거래를 만든 요청의 Idempotency-Key 행 id (키 없이 들어온 요청이면 null)
+    // 유니크 → 같은 키 행으로 거래가 두 번 만들어지지 않음, 멈춘 키를 넘겨받기 전 반영 여부 확인에도 사용
+    @Column(name = "idem_id")
+    private Long idempotencyId;
+
 
 
 }
@@ -3,6 +3,7 @@ package com.db.bank.domain.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -23,6 +24,7 @@ import java.util.List;
                 @Index(name = "idx_user_userId", columnList = "userId")
         }
 )
+@BatchSize(size = 100)
 public class User {
 
     @Id
@@ -0,0 +1,6 @@
+package com.db.bank.domain.enums.abnTransfer;
+
+public enum RulePhase {
+    PRE_COMMIT,   // 이체 트랜잭션 안, 잠금 보유 중 (적발 시 이체 차단)
+    POST_COMMIT   // 커밋 이후 비동기 (적발 시 이상거래 기록만, 규칙끼리 병렬)
+}
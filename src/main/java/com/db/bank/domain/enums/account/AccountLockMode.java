@@ -0,0 +1,6 @@
+package com.db.bank.domain.enums.account;
+
+public enum AccountLockMode {
+    PESSIMISTIC,    // SELECT ... FOR UPDATE 로 트랜잭션 내내 행 잠금
+    OPTIMISTIC      // 일반 조회 후 version 조건부 UPDATE, 충돌 시 재시도
+}
@@ -0,0 +1,14 @@
+package com.db.bank.domain.enums.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    CSV("text/csv", "csv"),                      // 첫 줄 헤더 + 쉼표 구분
+    NDJSON("application/x-ndjson", "ndjson");    // 한 줄에 JSON 객체 하나
+
+    private final String contentType;
+    private final String extension;
+}
@@ -0,0 +1,7 @@
+package com.db.bank.domain.enums.idempotency;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,    // 첫 요청 처리 중
+    APPLIED,        // 거래는 커밋됨, 응답 저장 전 (이체 트랜잭션 안에서 바뀜)
+    COMPLETED       // 처리 완료 (응답 저장됨)
+}
@@ -0,0 +1,6 @@
+package com.db.bank.domain.enums.posting;
+
+public enum PostingDirection {
+    DEBIT,   // 차변 (계좌에서 나감)
+    CREDIT   // 대변 (계좌로 들어옴)
+}
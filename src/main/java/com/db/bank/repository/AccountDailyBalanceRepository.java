@@ -0,0 +1,20 @@
+package com.db.bank.repository;
+
+import com.db.bank.domain.entity.AccountDailyBalance;
+import com.db.bank.domain.entity.AccountDailyBalanceId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface AccountDailyBalanceRepository extends JpaRepository<AccountDailyBalance, AccountDailyBalanceId> {
+
+    // 1. 그 날짜 이전(포함) 마지막 스냅샷 = 그날 일말 잔액 (PK 범위 조회)
+    Optional<AccountDailyBalance> findFirstByAccountNumAndBalanceDateLessThanEqualOrderByBalanceDateDesc(
+            String accountNum, LocalDate balanceDate);
+
+    // 2. 스냅샷이 만들어진 마지막 날짜 (배치 진행 위치)
+    @Query("select max(b.balanceDate) from AccountDailyBalance b")
+    Optional<LocalDate> findLastBalanceDate();
+}
@@ -0,0 +1,8 @@
+package com.db.bank.repository;
+
+import com.db.bank.domain.entity.AccountDailyOutflow;
+import com.db.bank.domain.entity.AccountDailyOutflowId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AccountDailyOutflowRepository extends JpaRepository<AccountDailyOutflow, AccountDailyOutflowId> {
+}
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 
 import jakarta.persistence.LockModeType;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,6 +39,35 @@ public interface AccountRepository extends JpaRepository<Account, Long>  {
     @Query("select a from Account a where a.accountNum = :accountNum")
     Optional<Account> findByAccountNumForUpdate(String accountNum);
 
-    Optional<Account> findByAccountType(AccountType accountType);
+    // 8. 여러 계좌를 계좌번호 오름차순으로 한 번에 잠금 (이체 / 일괄 이체)
+    //    항상 같은 순서로 잠그기 때문에 동시에 실행되는 이체끼리 교착 상태가 생기지 않음
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.accountNum in :accountNums order by a.accountNum asc")
+    List<Account> findAllByAccountNumInForUpdate(@Param("accountNums") Collection<String> accountNums);
+
+    // 8-1. 여러 계좌 잠금 없이 조회 (낙관적 잠금 모드)
+    List<Account> findAllByAccountNumIn(Collection<String> accountNums);
+
+    // 9. 시스템 계좌(부모) 조회 - stripe 하위 계좌 제외
+    Optional<Account> findByAccountTypeAndStripeNoIsNull(AccountType accountType);
+
+    // 10. 시스템 계좌 stripe 목록 (생성 여부 확인용)
+    List<Account> findAllByAccountTypeAndStripeNoIsNotNull(AccountType accountType);
+
+    // 11. stripe 하위 계좌 하나 잠금 (입금/출금 시 누적)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.accountType = :accountType and a.stripeNo = :stripeNo")
+    Optional<Account> findStripeForUpdate(@Param("accountType") AccountType accountType,
+                                          @Param("stripeNo") Integer stripeNo);
+
+    // 12. 부모 시스템 계좌 잠금 (stripe 합산 시)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.accountType = :accountType and a.stripeNo is null")
+    Optional<Account> findSystemParentForUpdate(@Param("accountType") AccountType accountType);
+
+    // 13. 모든 stripe 잠금 (stripe 번호 순서로)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.accountType = :accountType and a.stripeNo is not null order by a.stripeNo asc")
+    List<Account> findAllStripesForUpdate(@Param("accountType") AccountType accountType);
 
 }
@@ -0,0 +1,7 @@
+package com.db.bank.repository;
+
+import com.db.bank.domain.entity.BalanceSnapshotCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BalanceSnapshotCheckpointRepository extends JpaRepository<BalanceSnapshotCheckpoint, Integer> {
+}
@@ -0,0 +1,49 @@
+package com.db.bank.repository;
+
+import com.db.bank.domain.entity.IdempotencyRecord;
+import com.db.bank.domain.enums.idempotency.IdempotencyStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    // 1. 사용자 + 키로 조회
+    Optional<IdempotencyRecord> findByUserIdAndIdemKey(Long userId, String idemKey);
+
+    // 2. 만료된 키 정리 (배치)
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    // 3. 상태 전이 (from 상태일 때만 → 행 잠금으로 여러 요청 중 하나만 성공)
+    // 이체 트랜잭션 안에서 IN_PROGRESS → APPLIED: 거래 커밋과 키 상태가 함께 커밋/롤백됨
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query("update IdempotencyRecord r set r.status = :to where r.id = :id and r.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") IdempotencyStatus from,
+                   @Param("to") IdempotencyStatus to);
+
+    // 4. 응답 저장 (아직 COMPLETED 가 아닐 때만)
+    @Transactional
+    @Modifying
+    @Query("update IdempotencyRecord r set r.status = :status, r.responseBody = :body " +
+            "where r.id = :id and r.status <> :status")
+    int complete(@Param("id") Long id,
+                 @Param("status") IdempotencyStatus status,
+                 @Param("body") String body);
+
+    // 5. 처리 중 키 삭제 (업무 오류로 끝났거나 멈춘 키 넘겨받기) - 거래가 커밋된 키(APPLIED)는 지우지 않음
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.id = :id and r.status = :status")
+    int deleteIfStatus(@Param("id") Long id, @Param("status") IdempotencyStatus status);
+}
@@ -0,0 +1,8 @@
+package com.db.bank.repository;
+
+import com.db.bank.domain.entity.KnownPayee;
+import com.db.bank.domain.entity.KnownPayeeId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface KnownPayeeRepository extends JpaRepository<KnownPayee, KnownPayeeId> {
+}
@@ -0,0 +1,7 @@
+package com.db.bank.repository;
+
+import com.db.bank.domain.entity.LedgerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface LedgerCheckpointRepository extends JpaRepository<LedgerCheckpoint, Integer> {
+}
@@ -2,6 +2,7 @@ package com.db.bank.repository;
 
 import com.db.bank.domain.entity.Log;
 import com.db.bank.domain.enums.log.Action;
+import com.db.bank.repository.projection.LogHistoryRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.domain.Pageable;
@@ -32,7 +33,44 @@ public interface LogRepository extends JpaRepository<Log, Long> {
     );
 
 
+    // ==== 5. 조회 프로젝션 (응답 컬럼만) ====
+    // account_num 참조 FK 는 지연 로딩이 안 돼서 엔티티로 읽으면 행마다 계좌 조회가 추가로 나감
+    // → 필요한 컬럼만 바로 읽어서 페이지당 SELECT 한 번 (+ 마지막 페이지가 아니면 COUNT 한 번)
 
+    String HISTORY_ROW = "new com.db.bank.repository.projection.LogHistoryRow(" +
+            "l.id, l.transaction.id, l.account.accountNum, l.actorUser.id, " +
+            "l.beforeBalance, l.afterBalance, l.action, l.createdAt)";
 
+    // 1) 계좌 번호
+    @Query(value = "SELECT " + HISTORY_ROW + " FROM Log l " +
+            "WHERE l.account.accountNum = :accountNum " +
+            "ORDER BY l.createdAt DESC, l.id DESC",
+            countQuery = "SELECT COUNT(l) FROM Log l WHERE l.account.accountNum = :accountNum")
+    Page<LogHistoryRow> findHistoryByAccount(@Param("accountNum") String accountNum, Pageable pageable);
 
+    // 2) 사용자
+    @Query(value = "SELECT " + HISTORY_ROW + " FROM Log l " +
+            "WHERE l.actorUser.id = :actorUserId " +
+            "ORDER BY l.createdAt DESC, l.id DESC",
+            countQuery = "SELECT COUNT(l) FROM Log l WHERE l.actorUser.id = :actorUserId")
+    Page<LogHistoryRow> findHistoryByActorUser(@Param("actorUserId") Long actorUserId, Pageable pageable);
+
+    // 3) 계좌 + 기간
+    @Query(value = "SELECT " + HISTORY_ROW + " FROM Log l " +
+            "WHERE l.account.accountNum = :accountNum " +
+            "AND l.createdAt BETWEEN :start AND :end " +
+            "ORDER BY l.createdAt DESC, l.id DESC",
+            countQuery = "SELECT COUNT(l) FROM Log l " +
+                    "WHERE l.account.accountNum = :accountNum AND l.createdAt BETWEEN :start AND :end")
+    Page<LogHistoryRow> findHistoryByAccountAndPeriod(@Param("accountNum") String accountNum,
+                                                      @Param("start") LocalDateTime start,
+                                                      @Param("end") LocalDateTime end,
+                                                      Pageable pageable);
+
+    // 4) 액션 타입
+    @Query(value = "SELECT " + HISTORY_ROW + " FROM Log l " +
+            "WHERE l.action = :action " +
+            "ORDER BY l.createdAt DESC, l.id DESC",
+            countQuery = "SELECT COUNT(l) FROM Log l WHERE l.action = :action")
+    Page<LogHistoryRow> findHistoryByAction(@Param("action") Action action, Pageable pageable);
 }
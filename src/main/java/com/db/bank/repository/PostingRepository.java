@@ -0,0 +1,25 @@
+package com.db.bank.repository;
+
+import com.db.bank.domain.entity.Posting;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface PostingRepository extends JpaRepository<Posting, Long> {
+
+    // 1. 계좌 내역: afterSeq 다음부터 seq 오름차순 (count 쿼리 없음)
+    List<Posting> findByAccountNumAndSeqGreaterThanOrderBySeqAsc(String accountNum, Long afterSeq, Pageable pageable);
+
+    // 2. 특정 시점 잔액: 그 시각 이전 마지막 분개
+    Optional<Posting> findFirstByAccountNumAndSeqIsNotNullAndCreatedAtLessThanEqualOrderByCreatedAtDescSeqDesc(
+            String accountNum, LocalDateTime asOf);
+
+    // 3. 거래별 분개 (차변/대변)
+    List<Posting> findByTransactionIdOrderByIdAsc(Long transactionId);
+
+    // 4. 계좌의 n번째 분개 (seq = 1 → 첫 분개, 그 이전 잔액 계산용)
+    Optional<Posting> findByAccountNumAndSeq(String accountNum, Long seq);
+}
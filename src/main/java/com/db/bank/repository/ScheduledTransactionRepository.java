@@ -4,6 +4,7 @@ import com.db.bank.domain.entity.ScheduledTransaction;
 import com.db.bank.domain.enums.scheduledTransaction.ScheduledStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDate;
@@ -12,19 +13,26 @@ import java.util.List;
 
 public interface ScheduledTransactionRepository extends JpaRepository<ScheduledTransaction, Long> {
 
+    // 목록 / 실행용 조회는 출금·입금 계좌와 생성자를 같은 SELECT 에서 조인해서 가져옴 (@EntityGraph)
+    // → 페이지 크기와 상관없이 내용 1번 + COUNT 1번, 행마다 계좌/사용자 조회가 따로 나가지 않음
+    // (to-one 조인이라 페이징은 DB 에서 그대로 처리됨, COUNT 쿼리에는 조인이 붙지 않음)
+
     // 1. 특정 유저가 만든 예약이체 목록
+    @EntityGraph(attributePaths = {"fromAccount", "toAccount", "createdBy"})
     Page<ScheduledTransaction> findByCreatedByIdOrderByCreatedAtDesc(
             Long userId,
             Pageable pageable
     );
 
     // 2. 특정 계좌 기준 (출금 계좌가 본 계좌)
+    @EntityGraph(attributePaths = {"fromAccount", "toAccount", "createdBy"})
     Page<ScheduledTransaction> findByFromAccountIdOrderByCreatedAtDesc(
             Long fromAccountId,
             Pageable pageable
     );
 
     // 3. 유저 + 상태 (활성/취소 필터)
+    @EntityGraph(attributePaths = {"fromAccount", "toAccount", "createdBy"})
     Page<ScheduledTransaction> findByCreatedByIdAndScheduledStatusOrderByCreatedAtDesc(
             Long userId,
             ScheduledStatus scheduledStatus,
@@ -34,6 +42,7 @@ public interface ScheduledTransactionRepository extends JpaRepository<ScheduledT
     // ================== 실행용 쿼리 (스케줄러/배치) ==================
 
     // 4. 지금 실행해야 할 예약이체들 가져오기
+    @EntityGraph(attributePaths = {"fromAccount", "toAccount", "createdBy"})
     List<ScheduledTransaction> findByScheduledStatusAndNextRunAtLessThanEqual(
             ScheduledStatus scheduledStatus,
             LocalDateTime now
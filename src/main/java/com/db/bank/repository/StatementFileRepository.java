@@ -0,0 +1,19 @@
+package com.db.bank.repository;
+
+import com.db.bank.domain.entity.StatementFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface StatementFileRepository extends JpaRepository<StatementFile, Long> {
+
+    // 1. 계좌 + 월 (명세서 내려받기)
+    Optional<StatementFile> findByAccountNumAndStatementMonth(String accountNum, String statementMonth);
+
+    // 2. 계좌별 명세서 목록 (최근 월부터)
+    List<StatementFile> findByAccountNumOrderByStatementMonthDesc(String accountNum);
+
+    // 3. 월 기준 전체 (재생성 대상 비교용)
+    List<StatementFile> findByStatementMonth(String statementMonth);
+}
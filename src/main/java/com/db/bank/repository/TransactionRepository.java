@@ -3,6 +3,8 @@ package com.db.bank.repository;
 import com.db.bank.domain.entity.Transaction;
 import com.db.bank.domain.enums.transaction.TransactionStatus;
 import com.db.bank.domain.enums.transaction.TransactionType;
+import com.db.bank.repository.projection.TransactionHistoryRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,6 +14,7 @@ import org.springframework.data.repository.query.Param;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     // 1. fromAccount 기준 조회
@@ -132,13 +135,18 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
                       @Param("amount") BigDecimal amount,
                       @Param("sinceTime") LocalDateTime sinceTime);
 
-    // 하루 동안 이 계좌에서 나간 이체 총합
-    @Query("SELECT SUM(t.amount) FROM Transaction t " +
+    // 동일 거래 수 - 기준 거래 시각까지만 셈 (커밋 이후 비동기 검사에서 사용)
+    @Query("SELECT COUNT(t) FROM Transaction t " +
             "WHERE t.fromAccount.accountNum = :fromAccountNum " +
-            "AND t.createdAt BETWEEN :startTime AND :endTime")
-    BigDecimal getTotalTransferredToday(@Param("fromAccountNum") String fromAccountNum,
-                                        @Param("startTime") LocalDateTime startTime,
-                                        @Param("endTime") LocalDateTime endTime);
+            "AND t.toAccount.accountNum = :toAccountNum " +
+            "AND t.amount = :amount " +
+            "AND t.createdAt >= :sinceTime " +
+            "AND t.createdAt <= :untilTime")
+    Long sameTransferUntil(@Param("fromAccountNum") String fromAccountNum,
+                           @Param("toAccountNum") String toAccountNum,
+                           @Param("amount") BigDecimal amount,
+                           @Param("sinceTime") LocalDateTime sinceTime,
+                           @Param("untilTime") LocalDateTime untilTime);
 
     // 해당 수취인 계좌로의 이전 이체 이력 있는지 확인
     @Query("SELECT COUNT(t) FROM Transaction t " +
@@ -147,5 +155,74 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     Long countHistoryBetweenAccounts(@Param("fromAccountNum") String fromAccountNum,
                                      @Param("toAccountNum") String toAccountNum);
 
+    // 기준 거래 시각까지의 이체 이력 수 (커밋 이후 비동기 검사에서 사용)
+    @Query("SELECT COUNT(t) FROM Transaction t " +
+            "WHERE t.fromAccount.accountNum = :fromAccountNum " +
+            "AND t.toAccount.accountNum = :toAccountNum " +
+            "AND t.createdAt <= :untilTime")
+    Long countHistoryBetweenAccountsUntil(@Param("fromAccountNum") String fromAccountNum,
+                                          @Param("toAccountNum") String toAccountNum,
+                                          @Param("untilTime") LocalDateTime untilTime);
+
+    // Idempotency-Key 로 반영된 거래가 있는지 (ix_tx_idem)
+    boolean existsByIdempotencyId(Long idempotencyId);
+
+    // ==== 7. 커서(keyset) 조회 ====
+    // (created_at, transaction_id) 내림차순으로 이어 읽기 → ix_tx_from_time / ix_tx_to_time 범위 탐색, COUNT 없음
+    // 응답 컬럼만 프로젝션으로 읽음 (계좌 id 는 조인 한 번으로 같은 SQL 에서)
+
+    // 내역 조회 공통 select 절 (f = 출금 계좌, r = 입금 계좌)
+    String HISTORY_ROW = "new com.db.bank.repository.projection.TransactionHistoryRow(" +
+            "t.id, f.id, r.id, t.type, t.status, t.amount, t.memo, t.createdAt)";
+
+    // 1) 보낸 거래 첫 페이지
+    @Query("SELECT " + HISTORY_ROW + " FROM Transaction t JOIN t.fromAccount f JOIN t.toAccount r " +
+            "WHERE f.accountNum = :accountNum " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionHistoryRow> findSentFirst(@Param("accountNum") String accountNum, Limit limit);
+
+    // 2) 보낸 거래 커서 이후
+    @Query("SELECT " + HISTORY_ROW + " FROM Transaction t JOIN t.fromAccount f JOIN t.toAccount r " +
+            "WHERE f.accountNum = :accountNum " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionHistoryRow> findSentAfter(@Param("accountNum") String accountNum,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Limit limit);
+
+    // 3) 받은 거래 첫 페이지
+    @Query("SELECT " + HISTORY_ROW + " FROM Transaction t JOIN t.fromAccount f JOIN t.toAccount r " +
+            "WHERE r.accountNum = :accountNum " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionHistoryRow> findReceivedFirst(@Param("accountNum") String accountNum, Limit limit);
+
+    // 4) 받은 거래 커서 이후
+    @Query("SELECT " + HISTORY_ROW + " FROM Transaction t JOIN t.fromAccount f JOIN t.toAccount r " +
+            "WHERE r.accountNum = :accountNum " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionHistoryRow> findReceivedAfter(@Param("accountNum") String accountNum,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id,
+                                                  Limit limit);
+
+    // ==== 8. 내역 조회 프로젝션 (페이지 방식) ====
+    // 엔티티 대신 응답 컬럼만 읽음 → 페이지당 SELECT 한 번 (+ 마지막 페이지가 아니면 COUNT 한 번)
+    // account_num 참조 FK 는 지연 로딩이 안 돼서 엔티티로 읽으면 행마다 계좌 조회가 추가로 나감
+
+    // 1) 보낸 거래
+    @Query(value = "SELECT " + HISTORY_ROW + " FROM Transaction t JOIN t.fromAccount f JOIN t.toAccount r " +
+            "WHERE f.id = :accountId " +
+            "ORDER BY t.createdAt DESC, t.id DESC",
+            countQuery = "SELECT COUNT(t) FROM Transaction t JOIN t.fromAccount f WHERE f.id = :accountId")
+    Page<TransactionHistoryRow> findSentHistory(@Param("accountId") Long accountId, Pageable pageable);
+
+    // 2) 받은 거래
+    @Query(value = "SELECT " + HISTORY_ROW + " FROM Transaction t JOIN t.fromAccount f JOIN t.toAccount r " +
+            "WHERE r.id = :accountId " +
+            "ORDER BY t.createdAt DESC, t.id DESC",
+            countQuery = "SELECT COUNT(t) FROM Transaction t JOIN t.toAccount r WHERE r.id = :accountId")
+    Page<TransactionHistoryRow> findReceivedHistory(@Param("accountId") Long accountId, Pageable pageable);
 
 }
@@ -0,0 +1,22 @@
+package com.db.bank.repository.projection;
+
+import com.db.bank.domain.enums.log.Action;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 로그 조회용 프로젝션 (응답에 쓰는 컬럼만)
+ * - transaction_id / actor_user_id 는 FK 컬럼 값을 그대로 읽음 (거래 / 사용자 행을 읽지 않음)
+ */
+public record LogHistoryRow(
+        Long logId,
+        Long transactionId,
+        String accountNum,
+        Long actorUserId,
+        BigDecimal beforeBalance,
+        BigDecimal afterBalance,
+        Action action,
+        LocalDateTime createdAt
+) {
+}
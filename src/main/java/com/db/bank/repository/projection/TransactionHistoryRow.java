@@ -0,0 +1,23 @@
+package com.db.bank.repository.projection;
+
+import com.db.bank.domain.enums.transaction.TransactionStatus;
+import com.db.bank.domain.enums.transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 거래 내역 조회용 프로젝션 (응답에 쓰는 컬럼만)
+ * - 엔티티를 만들지 않으므로 영속성 컨텍스트 / 더티 체킹 / 연관 로딩 없음
+ */
+public record TransactionHistoryRow(
+        Long transactionId,
+        Long fromAccountId,
+        Long toAccountId,
+        TransactionType type,
+        TransactionStatus status,
+        BigDecimal amount,
+        String memo,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,430 @@
+package com.db.bank.service;
+
+import com.db.bank.domain.entity.AbnTransfer;
+import com.db.bank.domain.entity.Account;
+import com.db.bank.domain.enums.abnTransfer.RuleCode;
+import com.db.bank.repository.AbnTransferRepository;
+import com.db.bank.repository.AccountRepository;
+import com.db.bank.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 이상거래 알림 비동기 기록기 (이체 차단 알림 등, 거래 없이 남기는 AbnTransfer)
+ * - 호출 측은 큐에 넣기만 함 → 계좌 잠금을 잡은 이체 트랜잭션이 두 번째 커넥션(REQUIRES_NEW)을 쓰지 않음
+ * - writer 스레드가 batch-size 만큼 모아 트랜잭션 하나로 saveAll (pooled id + JDBC batch)
+ * - 큐가 가득 차거나 DB 반영이 실패하면 로컬 spill 파일에 한 줄씩(JSON) 추가하고 force → 재시작해도 남음
+ * - 묶음 반영이 실패하면 DB 상태부터 확인: DB 가 죽었으면 묶음 전체를 spill, 살아 있으면 한 건씩 다시 써서 실패한 건만 spill
+ * - spill 파일은 writer 가 retry-interval-ms 마다 .draining 으로 옮겨 묶음 단위로 다시 반영
+ *   묶음이 커밋될 때마다 .draining 을 남은 줄로 다시 씀 → 재시도 때 이미 들어간 묶음을 다시 넣지 않음
+ *   (커밋 후 다시 쓰기 전에 죽은 경우의 그 한 묶음만 두 번 들어갈 수 있음)
+ * - DB 는 정상인데 max-attempts 번 실패한 알림(너무 긴 메시지 등)과 읽을 수 없는 줄은 .dead 파일로 옮김 (수동 확인용)
+ * - 지표: bank.abn.alert.queue(대기 수), bank.abn.alert{outcome=written/spilled/dropped/dead}
+ */
+@Slf4j
+@Component
+@DependsOn("idGeneratorInitializer")
+public class AbnAlertSink {
+
+    private final AbnTransferRepository abnTransferRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final BlockingQueue<Alert> queue;
+    private final Path spillPath;
+    private final Path drainingPath;
+    private final Path deadPath;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long flushIntervalMs;
+    private final long retryIntervalMs;
+    private final Object spillLock = new Object();
+
+    private final Counter writtenCounter;
+    private final Counter spilledCounter;
+    private final Counter droppedCounter;
+    private final Counter deadCounter;
+
+    private volatile boolean running;
+    private Thread writer;
+    private long lastSpillReplay;
+
+    public AbnAlertSink(
+            AbnTransferRepository abnTransferRepository,
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            PlatformTransactionManager transactionManager,
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${bank.abn.alert-sink.queue-capacity:10000}") int queueCapacity,
+            @Value("${bank.abn.alert-sink.batch-size:50}") int batchSize,
+            @Value("${bank.abn.alert-sink.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${bank.abn.alert-sink.retry-interval-ms:5000}") long retryIntervalMs,
+            @Value("${bank.abn.alert-sink.spill-file:./data/abn-alerts.spill}") String spillFile,
+            @Value("${bank.abn.alert-sink.max-attempts:3}") int maxAttempts
+    ) {
+        this.abnTransferRepository = abnTransferRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.spillPath = Path.of(spillFile);
+        this.drainingPath = Path.of(spillFile + ".draining");
+        this.deadPath = Path.of(spillFile + ".dead");
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.flushIntervalMs = flushIntervalMs;
+        this.retryIntervalMs = retryIntervalMs;
+
+        Gauge.builder("bank.abn.alert.queue", queue, BlockingQueue::size)
+                .description("DB 반영을 기다리는 이상거래 알림 수")
+                .register(meterRegistry);
+        this.writtenCounter = alertCounter(meterRegistry, "written");
+        this.spilledCounter = alertCounter(meterRegistry, "spilled");
+        this.droppedCounter = alertCounter(meterRegistry, "dropped");
+        this.deadCounter = alertCounter(meterRegistry, "dead");
+    }
+
+    private static Counter alertCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("bank.abn.alert")
+                .description("이상거래 알림 처리 결과별 수")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // ================== 1. 시작 / 종료 ==================
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "abn-alert-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // 큐에 남은 알림은 DB 로, 실패하면 spill 파일로
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join();
+    }
+
+    // ================== 2. 등록 (호출 스레드, DB 접근 없음) ==================
+
+    public void submit(String accountNum, RuleCode ruleCode, String detailMessage) {
+        submit(Alert.builder()
+                .accountNum(accountNum)
+                .ruleCode(ruleCode)
+                .detailMessage(detailMessage)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    public void submit(Alert alert) {
+        if (!queue.offer(alert)) {
+            spill(List.of(alert));
+        }
+    }
+
+    // ================== 3. writer ==================
+
+    private void writeLoop() {
+        List<Alert> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Alert first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    spill(writeOrIsolate(batch));
+                    batch.clear();
+                }
+                if (running && System.currentTimeMillis() - lastSpillReplay >= retryIntervalMs) {
+                    lastSpillReplay = System.currentTimeMillis();
+                    replaySpill();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.clear();
+                queue.drainTo(batch);
+                spill(batch);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 묶음 반영, 실패하면 실패한 알림만 돌려줌 (시도 횟수 +1)
+     * - DB 에 닿지 않으면 묶음 전체를 그대로 돌려줌 (알림 잘못이 아니므로 횟수는 세지 않음)
+     * - DB 는 정상이면 한 건씩 다시 써서 문제 있는 알림만 골라냄
+     */
+    private List<Alert> writeOrIsolate(List<Alert> alerts) {
+        if (alerts.isEmpty()) {
+            return List.of();
+        }
+        try {
+            write(alerts);
+            return List.of();
+        } catch (RuntimeException e) {
+            if (!databaseAvailable()) {
+                log.warn("[ABN ALERT] DB 반영 실패 (DB 연결 불가), {}건 보류", alerts.size(), e);
+                return new ArrayList<>(alerts);
+            }
+            log.warn("[ABN ALERT] 묶음 반영 실패, 한 건씩 다시 반영. size={}", alerts.size(), e);
+        }
+
+        List<Alert> failed = new ArrayList<>();
+        for (Alert alert : alerts) {
+            try {
+                write(List.of(alert));
+            } catch (RuntimeException e) {
+                alert.setAttempts(alert.getAttempts() + 1);
+                if (e instanceof DataIntegrityViolationException || alert.getAttempts() >= maxAttempts) {
+                    log.error("[ABN ALERT] 반영할 수 없는 알림 → dead. accountNum={}, ruleCode={}",
+                            alert.getAccountNum(), alert.getRuleCode(), e);
+                    dead(List.of(line(alert)));
+                } else {
+                    failed.add(alert);
+                }
+            }
+        }
+        return failed;
+    }
+
+    private boolean databaseAvailable() {
+        try {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    // 한 묶음을 트랜잭션 하나로 (계좌는 계좌번호 IN 조회 한 번, 거래는 id 참조만)
+    private void write(List<Alert> alerts) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> accountNums = new HashSet<>();
+            for (Alert alert : alerts) {
+                accountNums.add(alert.getAccountNum());
+            }
+            Map<String, Account> accounts = accountRepository.findAllByAccountNumIn(accountNums).stream()
+                    .collect(Collectors.toMap(Account::getAccountNum, Function.identity()));
+
+            List<AbnTransfer> rows = new ArrayList<>(alerts.size());
+            for (Alert alert : alerts) {
+                Account account = accounts.get(alert.getAccountNum());
+                if (account == null) {
+                    log.warn("[ABN ALERT] 계좌가 없어 알림을 버림. accountNum={}", alert.getAccountNum());
+                    droppedCounter.increment();
+                    continue;
+                }
+                rows.add(AbnTransfer.builder()
+                        .transactionId(alert.getTransactionId() == null
+                                ? null
+                                : transactionRepository.getReferenceById(alert.getTransactionId()))
+                        .accountNum(account)
+                        .ruleCode(alert.getRuleCode())
+                        .detailMessage(alert.getDetailMessage())
+                        .createdAt(alert.getCreatedAt())
+                        .build());
+            }
+            abnTransferRepository.saveAll(rows);
+        });
+        writtenCounter.increment(alerts.size());
+    }
+
+    // ================== 4. spill 파일 ==================
+
+    private void spill(List<Alert> alerts) {
+        if (alerts.isEmpty()) {
+            return;
+        }
+        synchronized (spillLock) {
+            try {
+                List<String> lines = new ArrayList<>(alerts.size());
+                for (Alert alert : alerts) {
+                    lines.add(line(alert));
+                }
+                append(spillPath, lines);
+                spilledCounter.increment(alerts.size());
+            } catch (IOException | RuntimeException e) {
+                // 디스크에도 못 남기면 로그로만 남김
+                log.error("[ABN ALERT] spill 실패, {}건 버림", alerts.size(), e);
+                droppedCounter.increment(alerts.size());
+            }
+        }
+    }
+
+    // 반영할 수 없는 줄 (읽을 수 없는 줄 / 계속 실패한 알림)
+    private void dead(List<String> lines) {
+        try {
+            append(deadPath, lines);
+            deadCounter.increment(lines.size());
+        } catch (IOException e) {
+            log.error("[ABN ALERT] dead 파일 기록 실패, {}건 버림", lines.size(), e);
+            droppedCounter.increment(lines.size());
+        }
+    }
+
+    private static void append(Path path, List<String> lines) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        StringBuilder text = new StringBuilder();
+        for (String line : lines) {
+            text.append(line).append('\n');
+        }
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+    }
+
+    private String line(Alert alert) {
+        try {
+            return objectMapper.writeValueAsString(alert);
+        } catch (IOException e) {
+            throw new IllegalStateException("이상거래 알림 직렬화 실패", e);
+        }
+    }
+
+    /**
+     * spill 파일 다시 반영
+     * - .draining 이 남아 있으면(지난번 실패) 그것부터, 아니면 spill 파일을 .draining 으로 옮김 (이후 spill 은 새 파일에)
+     * - 묶음이 끝날 때마다 .draining 을 (다음에 다시 할 줄 + 아직 안 한 줄)로 교체 → 커밋된 묶음은 다시 넣지 않음
+     * - DB 가 죽어 있으면 이번 주기는 멈추고 남은 줄은 그대로 둠
+     */
+    private void replaySpill() {
+        try {
+            synchronized (spillLock) {
+                if (!Files.exists(drainingPath)) {
+                    if (!Files.exists(spillPath)) {
+                        return;
+                    }
+                    Files.move(spillPath, drainingPath, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+
+            List<String> lines = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(drainingPath, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        lines.add(line);
+                    }
+                }
+            }
+
+            List<String> retry = new ArrayList<>();
+            for (int from = 0; from < lines.size(); from += batchSize) {
+                List<String> chunk = lines.subList(from, Math.min(from + batchSize, lines.size()));
+                List<Alert> alerts = new ArrayList<>(chunk.size());
+                List<String> unreadable = new ArrayList<>();
+                for (String line : chunk) {
+                    try {
+                        alerts.add(objectMapper.readValue(line, Alert.class));
+                    } catch (IOException e) {
+                        unreadable.add(line);
+                    }
+                }
+                if (!unreadable.isEmpty()) {
+                    log.error("[ABN ALERT] 읽을 수 없는 spill 줄 {}건 → dead", unreadable.size());
+                    dead(unreadable);
+                }
+
+                List<Alert> failed = writeOrIsolate(alerts);
+                boolean unavailable = !failed.isEmpty() && failed.size() == alerts.size() && !databaseAvailable();
+                for (Alert alert : failed) {
+                    retry.add(line(alert));
+                }
+                List<String> rest = new ArrayList<>(retry);
+                rest.addAll(lines.subList(Math.min(from + batchSize, lines.size()), lines.size()));
+                rewriteDraining(rest);
+                if (unavailable) {
+                    // DB 가 죽어 있음 → 남은 줄은 다음 주기에
+                    return;
+                }
+            }
+            if (retry.isEmpty()) {
+                Files.deleteIfExists(drainingPath);
+            }
+        } catch (IOException | RuntimeException e) {
+            // 다음 주기에 .draining 부터 다시 (이미 커밋된 묶음은 파일에서 빠져 있음)
+            log.warn("[ABN ALERT] spill 재반영 실패", e);
+        }
+    }
+
+    // 남은 줄로 .draining 교체 (임시 파일에 쓰고 force 후 원자적 이동)
+    private void rewriteDraining(List<String> lines) throws IOException {
+        if (lines.isEmpty()) {
+            Files.deleteIfExists(drainingPath);
+            return;
+        }
+        Path temp = Path.of(drainingPath + ".tmp");
+        Files.deleteIfExists(temp);
+        append(temp, lines);
+        Files.move(temp, drainingPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // 큐 / spill 파일에 담기는 알림 한 건
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Alert {
+        private Long transactionId;
+        private String accountNum;
+        private RuleCode ruleCode;
+        private String detailMessage;
+        private LocalDateTime createdAt;
+        // DB 는 정상인데 반영에 실패한 횟수 (max-attempts 에 닿으면 dead)
+        private int attempts;
+    }
+}
@@ -0,0 +1,67 @@
+package com.db.bank.service;
+
+import com.db.bank.domain.entity.Transaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 이상거래 사후 검사를 이체 트랜잭션 커밋 이후로 미룸
+ * - 이체 트랜잭션 안에서는 거래 id만 등록 (COUNT 쿼리 실행 X → 계좌 잠금 시간에 포함되지 않음)
+ * - afterCommit 시점에 abnPostCheckExecutor 로 넘겨 별도 트랜잭션에서 검사 (큐가 가득 차 호출 스레드가 실행해도 REQUIRES_NEW)
+ * - 롤백된 거래는 검사하지 않음
+ * - 커밋된 거래는 검사를 넘기기 전에 동일 거래 카운터(SameTransferWindow)에 먼저 기록
+ * - 수취인 기록(known_payee)은 이체 트랜잭션 안에서 (롤백되면 같이 사라짐)
+ */
+@Slf4j
+@Component
+public class AbnPostCheckDispatcher {
+
+    private final AbnTransferService abnTransferService;
+    private final TaskExecutor abnPostCheckExecutor;
+    private final SameTransferWindow sameTransferWindow;
+    private final KnownPayeeService knownPayeeService;
+
+    public AbnPostCheckDispatcher(
+            AbnTransferService abnTransferService,
+            @Qualifier("abnPostCheckExecutor") TaskExecutor abnPostCheckExecutor,
+            SameTransferWindow sameTransferWindow,
+            KnownPayeeService knownPayeeService
+    ) {
+        this.abnTransferService = abnTransferService;
+        this.abnPostCheckExecutor = abnPostCheckExecutor;
+        this.sameTransferWindow = sameTransferWindow;
+        this.knownPayeeService = knownPayeeService;
+    }
+
+    public void dispatchAfterCommit(Transaction tx) {
+        Long transactionId = tx.getId();
+        knownPayeeService.remember(tx);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sameTransferWindow.record(tx);
+            submit(transactionId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // createdAt 은 flush 때 채워지므로 커밋 시점에 기록
+                sameTransferWindow.record(tx);
+                submit(transactionId);
+            }
+        });
+    }
+
+    private void submit(Long transactionId) {
+        abnPostCheckExecutor.execute(() -> {
+            try {
+                abnTransferService.postCheckAbnTransfer(transactionId);
+            } catch (Exception e) {
+                log.error("[이상거래 사후검사 실패] transactionId={}", transactionId, e);
+            }
+        });
+    }
+}
@@ -5,13 +5,14 @@ import com.db.bank.apiPayload.exception.TransactionException;
 import com.db.bank.domain.entity.AbnTransfer;
 import com.db.bank.domain.entity.Account;
 import com.db.bank.domain.entity.Transaction;
-import com.db.bank.domain.entity.TransferLimit;
 import com.db.bank.domain.enums.abnTransfer.RuleCode;
-import com.db.bank.domain.enums.transferLimit.TransferStatus;
 import com.db.bank.repository.AbnTransferRepository;
 import com.db.bank.repository.AccountRepository;
 import com.db.bank.repository.TransactionRepository;
-import com.db.bank.repository.TransferLimitRepository;
+import com.db.bank.service.rule.RuleHit;
+import com.db.bank.service.rule.TransferRuleContext;
+import com.db.bank.service.rule.TransferRuleEngine;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -30,7 +31,9 @@ public class AbnTransferService {
     private final AbnTransferRepository abnTransferRepository;
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
-    private final TransferLimitRepository transferLimitRepository;
+    private final TransferMetrics transferMetrics;
+    private final TransferRuleEngine transferRuleEngine;
+    private final AbnAlertSink abnAlertSink;
 
     //이상거래등록
     @Transactional
@@ -51,100 +54,80 @@ public class AbnTransferService {
         return abnTransferRepository.save(abnTransfer);
 
     }
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public AbnTransfer createAbnTransferWithoutTx(
-            String accountNum,
-            RuleCode ruleCode,
-            String detailMessage
-    ) {
-        Account account = accountRepository.findByAccountNum(accountNum)
-                .orElseThrow(() -> new AccountException.AccountNonExistsException("존재하지 않는 계좌입니다"));
-
-        AbnTransfer abnTransfer = AbnTransfer.builder()
-                .transactionId(null) // 여기서만 NULL 허용
-                .accountNum(account)
-                .ruleCode(ruleCode)
-                .detailMessage(detailMessage)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        return abnTransferRepository.save(abnTransfer);
-    }
-
-    @Transactional
+    @Transactional(noRollbackFor = TransactionException.IllegalTransferException.class)
     public void preCheckAbnTransfer(Account from, Account to, BigDecimal amount) {
+        preCheckAbnTransfer(from, to, amount, BigDecimal.ZERO);
+    }
 
-        LocalDateTime now = LocalDateTime.now();
-        String fromAcc = from.getAccountNum();
-        String toAcc   = to.getAccountNum();
-
-
-
-        // 일일 한도 초과 → 알림 + 예외(트랜잭션 생성 자체를 차단)
-        BigDecimal today = Optional.ofNullable(
-                transactionRepository.getTotalTransferredToday(
-                        fromAcc,
-                        now.toLocalDate().atStartOfDay(),
-                        now
-                )
-        ).orElse(BigDecimal.ZERO);
-
-        Optional<TransferLimit> limitOpt =
-                transferLimitRepository.findOneByAccountAndStatus(from, TransferStatus.ACTIVE);
+    /**
+     * pendingAmount: 같은 트랜잭션 안에서 이미 반영했지만 아직 저장되지 않은 출금액 (일괄 이체용)
+     * 한도 초과 예외가 호출 측 트랜잭션을 rollback-only로 만들지 않도록 noRollbackFor 지정
+     * (건별 결과 모드에서 실패한 항목만 건너뛸 수 있어야 함)
+     * - 규칙은 TransferRuleRegistry 의 PRE_COMMIT 규칙 (첫 적발 → 알림 + 예외로 트랜잭션 생성 자체를 차단)
+     */
+    @Transactional(noRollbackFor = TransactionException.IllegalTransferException.class)
+    public void preCheckAbnTransfer(Account from, Account to, BigDecimal amount, BigDecimal pendingAmount) {
+        Optional<RuleHit> hit = transferRuleEngine.runPreCommit(
+                TransferRuleContext.preCommit(from, to, amount, pendingAmount));
+        if (hit.isEmpty()) {
+            return;
+        }
 
-        if (limitOpt.isPresent()
-                && today.add(amount).compareTo(limitOpt.get().getDailyLimitAmt()) > 0) {
+        // 알림 로그 (거래 없이, AbnAlertSink 가 별도 스레드에서 기록 → 잠금 보유 중 두 번째 커넥션을 쓰지 않음)
+        abnAlertSink.submit(
+                from.getAccountNum(),
+                hit.get().getRuleCode(),
+                hit.get().getDetailMessage()
+        );
 
-            // 알림 로그 (트랜잭션 없이)
-            createAbnTransferWithoutTx(
-                    fromAcc,
-                    RuleCode.DAILY_TOTAL_EXCEEDED,
-                    "일일 이체 한도 초과"
-            );
+        // 실제 비즈니스 로직 차단
+        throw new TransactionException.IllegalTransferException(hit.get().getDetailMessage());
+    }
 
-            // 실제 비즈니스 로직 차단
-            throw new TransactionException.IllegalTransferException("일일 이체 한도 초과");
-        }
+    /**
+     * 커밋 이후 비동기 사후 검사 (AbnPostCheckDispatcher 에서 호출)
+     * - 이체 트랜잭션과 별도의 트랜잭션에서 거래를 다시 읽어 검사
+     * - 실행기 큐가 가득 차면 afterCommit 안의 호출 스레드에서 바로 실행됨
+     *   → 커밋이 끝난 이체 트랜잭션에 합류하지 않도록 항상 새 트랜잭션 (REQUIRES_NEW)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void postCheckAbnTransfer(Long transactionId) {
+        Transaction tx = transactionRepository.findById(transactionId)
+                .orElseThrow(() -> new TransactionException.TransactionNonExistsException("존재하지 않는 트랜잭션"));
+        postCheckAbnTransfer(tx);
     }
+
+    /**
+     * 사후 검사
+     * - 검사 시점이 아니라 거래 시각(createdAt)까지의 이력만 세서, 커밋 이후에 실행해도 같은 결과가 나옴
+     * - POST_COMMIT 규칙은 병렬로 돌리고, 적발 기록은 이 트랜잭션에서 거래와 함께 남김
+     */
     @Transactional
     public void postCheckAbnTransfer(Transaction tx) {
-
-        String fromAcc = tx.getFromAccount().getAccountNum();
-        String toAcc   = tx.getToAccount().getAccountNum();
-        BigDecimal amount = tx.getAmount();
-        LocalDateTime now = tx.getCreatedAt() != null
-                ? tx.getCreatedAt()
-                : LocalDateTime.now();
-
-        LocalDateTime ago10 = now.minusMinutes(10);
-
-        // 1) 최근 10분 내 동일 거래 3건 이상 → 트랜잭션 포함해서 로그 남김
-        Long count = transactionRepository.sameTransfer(
-                fromAcc,
-                toAcc,
-                amount,
-                ago10
-        );
-        if (count >= 3) {
-            createAbnTransfer(
-                    tx.getId(),
-                    fromAcc,
-                    RuleCode.MULTI_TRANSFER_SAME_ACCOUNT,
-                    "10분내 동일거래 3건 이상"
-            );
+        Timer.Sample total = transferMetrics.start();
+        try {
+            for (RuleHit hit : transferRuleEngine.runPostCommit(TransferRuleContext.postCommit(tx))) {
+                createAbnTransfer(
+                        tx.getId(),
+                        tx.getFromAccount().getAccountNum(),
+                        hit.getRuleCode(),
+                        hit.getDetailMessage()
+                );
+            }
+        } finally {
+            transferMetrics.stopPhase(total, operationOf(tx), TransferMetrics.PHASE_ABN_POST_CHECK);
         }
+    }
 
-        // 2) 처음 보내는 수취인 → 트랜잭션 포함해서 로그 남김
-        Long history = transactionRepository.countHistoryBetweenAccounts(fromAcc, toAcc);
-        if (history == 1) {
-            createAbnTransfer(
-                    tx.getId(),
-                    fromAcc,
-                    RuleCode.NEW_RECEIVER,
-                    "처음 보내는 수취인 계좌"
-            );
-        }
+    // 지표 태그용 거래 종류 (TransactionService 의 operation 이름과 맞춤)
+    private static String operationOf(Transaction tx) {
+        return switch (tx.getType()) {
+            case DEPOSIT -> "deposit";
+            case WITHDRAWAL -> "withdraw";
+            default -> "transfer";
+        };
     }
+
     //조회
     @Transactional(readOnly = true)
     public List<AbnTransfer> getAllAbnTransfersByAccount(String accountNum) {
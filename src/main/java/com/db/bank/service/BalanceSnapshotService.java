@@ -0,0 +1,233 @@
+package com.db.bank.service;
+
+import com.db.bank.apiPayload.exception.AccountException;
+import com.db.bank.domain.entity.Account;
+import com.db.bank.domain.entity.AccountDailyBalance;
+import com.db.bank.domain.entity.BalanceSnapshotCheckpoint;
+import com.db.bank.domain.entity.Posting;
+import com.db.bank.repository.AccountDailyBalanceRepository;
+import com.db.bank.repository.AccountRepository;
+import com.db.bank.repository.BalanceSnapshotCheckpointRepository;
+import com.db.bank.repository.PostingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 일말 잔액 스냅샷 (account_daily_balance)
+ * - 배치: 진행 위치(balance_snapshot_checkpoint)부터 어제까지 하루씩, 그날 분개가 있는 계좌만 골라서 chunk 단위 batch upsert
+ *   진행 위치는 하루가 끝날 때마다 저장 → 분개가 없는 날(행이 안 생기는 날)이 이어져도 앞으로 감
+ *   마지막 날짜는 다시 처리함 (write-behind 로 늦게 반영된 분개 대비, upsert 라 결과는 같음)
+ * - 조회: 오늘은 계좌 잔액(실시간), 지난 날짜는 스냅샷, 배치가 아직 못 따라온 날짜는 분개로 계산
+ * - 잔액 순서는 분개 seq 기준 (log.created_at 은 초 단위라 같은 초 안의 순서를 알 수 없음)
+ */
+@Service
+public class BalanceSnapshotService {
+
+    // 그날 계좌별 마지막 분개 (seq 최대) + 소유자
+    private static final String DAY_END_SQL =
+            "SELECT p.account_num, a.user_id, p.seq, p.balance_after " +
+            "FROM (SELECT account_num, MAX(seq) AS seq FROM posting " +
+            "      WHERE seq IS NOT NULL AND created_at >= ? AND created_at < ? GROUP BY account_num) m " +
+            "JOIN posting p ON p.account_num = m.account_num AND p.seq = m.seq " +
+            "JOIN account a ON a.account_num = p.account_num";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO account_daily_balance (account_num, balance_date, user_id, balance, last_seq, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE user_id = VALUES(user_id), balance = VALUES(balance), " +
+            "last_seq = VALUES(last_seq), updated_at = VALUES(updated_at)";
+
+    private static final int CHECKPOINT_ID = 1;
+
+    private static final String FIRST_POSTING_DAY_SQL =
+            "SELECT MIN(created_at) FROM posting WHERE seq IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final AccountDailyBalanceRepository accountDailyBalanceRepository;
+    private final BalanceSnapshotCheckpointRepository balanceSnapshotCheckpointRepository;
+    private final AccountRepository accountRepository;
+    private final PostingRepository postingRepository;
+    private final PostingService postingService;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int maxDaysPerRun;
+
+    public BalanceSnapshotService(
+            DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            AccountDailyBalanceRepository accountDailyBalanceRepository,
+            BalanceSnapshotCheckpointRepository balanceSnapshotCheckpointRepository,
+            AccountRepository accountRepository,
+            PostingRepository postingRepository,
+            PostingService postingService,
+            @Value("${bank.balance-snapshot.enabled:true}") boolean enabled,
+            @Value("${bank.balance-snapshot.chunk-size:1000}") int chunkSize,
+            @Value("${bank.balance-snapshot.max-days-per-run:31}") int maxDaysPerRun,
+            @Value("${bank.balance-snapshot.fetch-size:-2147483648}") int fetchSize
+    ) {
+        // 읽기는 스트리밍 결과셋, 쓰기는 다른 커넥션 (스트리밍 중인 커넥션으로는 다른 쿼리를 못 보냄)
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.accountDailyBalanceRepository = accountDailyBalanceRepository;
+        this.balanceSnapshotCheckpointRepository = balanceSnapshotCheckpointRepository;
+        this.accountRepository = accountRepository;
+        this.postingRepository = postingRepository;
+        this.postingService = postingService;
+        this.enabled = enabled;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxDaysPerRun = Math.max(1, maxDaysPerRun);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ================== 1. 일말 배치 ==================
+
+    /**
+     * lastDay(보통 어제)까지 스냅샷 채우기
+     * - 한 번에 최대 max-days-per-run 일 (처음 켰을 때의 과거분은 여러 번에 나눠 채움)
+     * @return upsert 한 행 수
+     */
+    public long snapshotUntil(LocalDate lastDay) {
+        Optional<LocalDate> from = processedUntil()
+                .or(this::firstPostingDay);
+        if (from.isEmpty()) {
+            return 0;
+        }
+
+        long written = 0;
+        LocalDate day = from.get();
+        for (int i = 0; i < maxDaysPerRun && !day.isAfter(lastDay); i++, day = day.plusDays(1)) {
+            written += snapshotDay(day);
+            saveCheckpoint(day);
+        }
+        return written;
+    }
+
+    // 처리를 끝낸 마지막 날짜 (진행 위치 저장 전 데이터는 마지막 스냅샷 날짜로)
+    private Optional<LocalDate> processedUntil() {
+        return balanceSnapshotCheckpointRepository.findById(CHECKPOINT_ID)
+                .map(BalanceSnapshotCheckpoint::getLastDay)
+                .or(accountDailyBalanceRepository::findLastBalanceDate);
+    }
+
+    private void saveCheckpoint(LocalDate day) {
+        BalanceSnapshotCheckpoint checkpoint = balanceSnapshotCheckpointRepository.findById(CHECKPOINT_ID)
+                .orElseGet(() -> BalanceSnapshotCheckpoint.builder().id(CHECKPOINT_ID).build());
+        checkpoint.setLastDay(day);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        balanceSnapshotCheckpointRepository.save(checkpoint);
+    }
+
+    private Optional<LocalDate> firstPostingDay() {
+        Timestamp first = jdbcTemplate.queryForObject(FIRST_POSTING_DAY_SQL, Timestamp.class);
+        return Optional.ofNullable(first).map(ts -> ts.toLocalDateTime().toLocalDate());
+    }
+
+    // 하루치: 결과를 스트리밍으로 읽으면서 chunk-size 마다 batch upsert
+    private long snapshotDay(LocalDate day) {
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Date balanceDate = Date.valueOf(day);
+
+        List<Object[]> chunk = new ArrayList<>(chunkSize);
+        long[] written = {0};
+        streamingJdbcTemplate.query(DAY_END_SQL, rs -> {
+            chunk.add(new Object[]{
+                    rs.getString("account_num"),
+                    balanceDate,
+                    rs.getLong("user_id"),
+                    rs.getBigDecimal("balance_after"),
+                    rs.getLong("seq"),
+                    now
+            });
+            if (chunk.size() >= chunkSize) {
+                written[0] += flush(chunk);
+            }
+        }, start, end);
+        written[0] += flush(chunk);
+        return written[0];
+    }
+
+    private int flush(List<Object[]> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, chunk);
+        int size = chunk.size();
+        chunk.clear();
+        return size;
+    }
+
+    // ================== 2. 조회 ==================
+
+    // 2-1. 계좌 일말 잔액 (date 가 오늘 이후면 현재 잔액)
+    @Transactional(readOnly = true)
+    public BigDecimal getBalanceAsOf(Long userId, String accountNum, LocalDate date) {
+        Account account = accountRepository.findByAccountNum(accountNum)
+                .orElseThrow(() -> new AccountException.AccountNonExistsException("계좌를 찾을 수 없습니다. accountNum=" + accountNum));
+        if (!account.getUser().getId().equals(userId)) {
+            throw new AccountException.UnauthorizedAccountAccessException("해당 계좌에 대한 조회 권한이 없습니다.");
+        }
+        return balanceAsOf(account, date, lastSnapshotDate());
+    }
+
+    // 2-2. 사용자 전체 계좌 합계 (대시보드)
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalBalanceAsOf(Long userId, LocalDate date) {
+        if (!date.isBefore(LocalDate.now())) {
+            return accountRepository.sumBalanceByUserId(userId);
+        }
+        LocalDate lastSnapshot = lastSnapshotDate();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Account account : accountRepository.findAllByUserId(userId)) {
+            total = total.add(balanceAsOf(account, date, lastSnapshot));
+        }
+        return total;
+    }
+
+    // 배치가 처리를 끝낸 마지막 날짜 (그 날짜까지는 스냅샷에 행이 없으면 직전 행이 유효)
+    private LocalDate lastSnapshotDate() {
+        return processedUntil().orElse(LocalDate.MIN);
+    }
+
+    private BigDecimal balanceAsOf(Account account, LocalDate date, LocalDate lastSnapshot) {
+        // 1. 오늘(이후) → 실시간 잔액
+        if (!date.isBefore(LocalDate.now())) {
+            return account.getBalance();
+        }
+        // 2. 계좌 개설 전
+        if (account.getCreatedAt().toLocalDate().isAfter(date)) {
+            return BigDecimal.ZERO;
+        }
+        // 3. 배치가 처리한 날짜 → 스냅샷
+        if (!date.isAfter(lastSnapshot)) {
+            return accountDailyBalanceRepository
+                    .findFirstByAccountNumAndBalanceDateLessThanEqualOrderByBalanceDateDesc(account.getAccountNum(), date)
+                    .map(AccountDailyBalance::getBalance)
+                    .orElseGet(() -> postingService.openingBalance(account));
+        }
+        // 4. 배치가 아직 못 따라온 날짜 → 그날 마지막 분개
+        return postingRepository
+                .findFirstByAccountNumAndSeqIsNotNullAndCreatedAtLessThanEqualOrderByCreatedAtDescSeqDesc(
+                        account.getAccountNum(), date.plusDays(1).atStartOfDay().minusNanos(1))
+                .map(Posting::getBalanceAfter)
+                .orElseGet(() -> postingService.openingBalance(account));
+    }
+}
@@ -0,0 +1,179 @@
+package com.db.bank.service;
+
+import com.db.bank.domain.entity.Account;
+import com.db.bank.domain.entity.AccountDailyOutflow;
+import com.db.bank.domain.entity.AccountDailyOutflowId;
+import com.db.bank.domain.entity.Transaction;
+import com.db.bank.domain.enums.account.AccountType;
+import com.db.bank.repository.AccountDailyOutflowRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 계좌별 하루 출금 합계 (account_daily_outflow)
+ * - 기록: 출금/이체 거래를 저장하는 트랜잭션 안에서 upsert (출금 계좌 잠금을 잡은 상태라 같은 계좌의 갱신은 줄을 섬)
+ * - 조회: 일일 한도 검사에서 (계좌번호, 날짜) PK 조회 한 번 (기존: 오늘 보낸 거래 전체 SUM)
+ * - 재계산: transaction 테이블에서 날짜 단위로 다시 집계 (기동 시 최근 backfill-days 일, 매일 새벽 어제)
+ */
+@Slf4j
+@Service
+public class DailyOutflowService {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO account_daily_outflow (account_num, outflow_date, total_amount, tx_count, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE total_amount = total_amount + VALUES(total_amount), " +
+            "tx_count = tx_count + VALUES(tx_count), updated_at = VALUES(updated_at)";
+
+    // 하루치 재집계: 그날 보낸 거래 합계로 덮어씀 (ix_tx_from_time 범위)
+    private static final String REBUILD_SQL =
+            "INSERT INTO account_daily_outflow (account_num, outflow_date, total_amount, tx_count, updated_at) " +
+            "SELECT t.from_account_num, ?, SUM(t.amount), COUNT(*), ? " +
+            "FROM `transaction` t JOIN account a ON a.account_num = t.from_account_num " +
+            "WHERE a.account_type = 'NORMAL' AND t.created_at >= ? AND t.created_at < ? " +
+            "GROUP BY t.from_account_num " +
+            "ON DUPLICATE KEY UPDATE total_amount = VALUES(total_amount), " +
+            "tx_count = VALUES(tx_count), updated_at = VALUES(updated_at)";
+
+    // 그날 보낸 거래가 더 이상 없는 행 (거래가 지워진 경우 등)
+    private static final String DELETE_STALE_SQL =
+            "DELETE o FROM account_daily_outflow o " +
+            "WHERE o.outflow_date = ? AND NOT EXISTS (" +
+            "  SELECT 1 FROM `transaction` t " +
+            "  WHERE t.from_account_num = o.account_num AND t.created_at >= ? AND t.created_at < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountDailyOutflowRepository accountDailyOutflowRepository;
+    private final int backfillDays;
+
+    public DailyOutflowService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            AccountDailyOutflowRepository accountDailyOutflowRepository,
+            @Value("${bank.daily-outflow.backfill-days:1}") int backfillDays
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.accountDailyOutflowRepository = accountDailyOutflowRepository;
+        this.backfillDays = backfillDays;
+    }
+
+    // ================== 1. 기록 (호출 측 트랜잭션) ==================
+
+    // 1-1. 거래 한 건 (오늘 날짜)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Account from, BigDecimal amount) {
+        if (from.getAccountType() != AccountType.NORMAL) {
+            return;
+        }
+        jdbcTemplate.update(UPSERT_SQL,
+                from.getAccountNum(), Date.valueOf(LocalDate.now()), amount, 1L, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * 1-2. 거래 여러 건 (일괄 이체 / 원장 write-behind)
+     * - (계좌, 날짜) 별로 모아서 batch upsert 한 번
+     * - 날짜는 거래 생성 시각 기준 (아직 저장 전이라 없으면 오늘)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<Transaction> txs) {
+        Map<AccountDailyOutflowId, BigDecimal[]> sums = new LinkedHashMap<>();
+        LocalDate today = LocalDate.now();
+        for (Transaction tx : txs) {
+            Account from = tx.getFromAccount();
+            if (from.getAccountType() != AccountType.NORMAL) {
+                continue;
+            }
+            LocalDate date = tx.getCreatedAt() == null ? today : tx.getCreatedAt().toLocalDate();
+            BigDecimal[] sum = sums.computeIfAbsent(new AccountDailyOutflowId(from.getAccountNum(), date),
+                    key -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+            sum[0] = sum[0].add(tx.getAmount());
+            sum[1] = sum[1].add(BigDecimal.ONE);
+        }
+        if (sums.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(sums.size());
+        sums.forEach((key, sum) -> rows.add(new Object[]{
+                key.getAccountNum(), Date.valueOf(key.getOutflowDate()), sum[0], sum[1].longValue(), now
+        }));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+
+    // ================== 2. 조회 ==================
+
+    // 그날 이 계좌에서 나간 금액 (행이 없으면 0)
+    public BigDecimal getOutflow(String accountNum, LocalDate date) {
+        return accountDailyOutflowRepository.findById(new AccountDailyOutflowId(accountNum, date))
+                .map(AccountDailyOutflow::getTotalAmount)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    // ================== 3. 재계산 ==================
+
+    /**
+     * 기동 시 최근 backfill-days 일 (오늘 포함) 재집계
+     * - 처음 켤 때 기존 거래로 오늘 행을 채우고, 이후 재기동 때는 어긋난 값 보정
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (backfillDays <= 0) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        rebuild(today.minusDays(backfillDays - 1L), today);
+    }
+
+    /**
+     * from ~ to (포함) 날짜별로 transaction 에서 다시 집계해 덮어씀
+     * - 하루씩 별도 트랜잭션 (INSERT ... SELECT 가 그날 거래 범위에 공유 잠금을 잡으므로 짧게 끊음)
+     * @return 다시 쓴 행 수
+     */
+    public long rebuild(LocalDate from, LocalDate to) {
+        long written = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            try {
+                written += rebuildDay(day);
+            } catch (RuntimeException e) {
+                // 이체와 교착으로 실패한 날은 다음 실행에서 다시 처리
+                log.warn("[DAILY OUTFLOW] rebuild failed. date={}", day, e);
+            }
+        }
+        return written;
+    }
+
+    private int rebuildDay(LocalDate day) {
+        Date outflowDate = Date.valueOf(day);
+        Timestamp start = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        Integer written = transactionTemplate.execute(status -> {
+            int upserted = jdbcTemplate.update(REBUILD_SQL, outflowDate, now, start, end);
+            jdbcTemplate.update(DELETE_STALE_SQL, outflowDate, start, end);
+            return upserted;
+        });
+        return written == null ? 0 : written;
+    }
+}
@@ -0,0 +1,237 @@
+package com.db.bank.service;
+
+import com.db.bank.apiPayload.exception.AccountException;
+import com.db.bank.apiPayload.exception.LogException;
+import com.db.bank.domain.entity.Account;
+import com.db.bank.domain.enums.export.ExportFormat;
+import com.db.bank.repository.AccountRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 계좌 거래 / 로그 내보내기 (CSV / NDJSON, 선택적으로 gzip)
+ * - JPA 엔티티를 거치지 않고 JdbcTemplate 결과셋을 한 행씩 응답 스트림에 바로 씀 → 행 수와 상관없이 힙 사용량 일정
+ * - fetch-size 기본값 Integer.MIN_VALUE = MySQL 스트리밍 결과셋 (드라이버가 전체 결과를 메모리에 올리지 않음)
+ *   서버 커서를 쓰려면 JDBC URL 에 useCursorFetch=true 를 주고 양수(예: 1000)로 설정
+ * - 내보내는 동안 커넥션 하나를 점유하므로 기간은 max-days 로 제한
+ */
+@Service
+public class HistoryExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // 보낸 거래 + 받은 거래를 시간순으로 (ix_tx_from_time / ix_tx_to_time 범위 두 번)
+    private static final String TRANSACTION_SQL =
+            "SELECT t.transaction_id, t.created_at, 'OUT' AS direction, t.to_account_num AS counterparty_account_num, " +
+            "t.type, t.status, t.amount, t.memo " +
+            "FROM `transaction` t WHERE t.from_account_num = ? AND t.created_at >= ? AND t.created_at < ? " +
+            "UNION ALL " +
+            "SELECT t.transaction_id, t.created_at, 'IN' AS direction, t.from_account_num AS counterparty_account_num, " +
+            "t.type, t.status, t.amount, t.memo " +
+            "FROM `transaction` t WHERE t.to_account_num = ? AND t.created_at >= ? AND t.created_at < ? " +
+            "ORDER BY created_at, transaction_id";
+
+    // ix_log_acc_time 순서 그대로 (보조 인덱스에 PK 가 붙어 있어 log_id 정렬도 추가 정렬 없음)
+    private static final String LOG_SQL =
+            "SELECT l.log_id, l.transaction_id, l.action, l.before_balance, l.after_balance, l.actor_user_id, l.created_at " +
+            "FROM `log` l WHERE l.account_num = ? AND l.created_at >= ? AND l.created_at < ? " +
+            "ORDER BY l.created_at, l.log_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountRepository accountRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxDays;
+
+    public HistoryExportService(
+            DataSource dataSource,
+            AccountRepository accountRepository,
+            ObjectMapper objectMapper,
+            @Value("${bank.export.fetch-size:-2147483648}") int fetchSize,
+            @Value("${bank.export.max-days:366}") int maxDays
+    ) {
+        // 내보내기 전용 JdbcTemplate (다른 조회에는 fetch-size 가 적용되지 않게)
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.accountRepository = accountRepository;
+        this.objectMapper = objectMapper;
+        this.maxDays = maxDays;
+    }
+
+    // ================== 1. 내보내기 ==================
+
+    // 1-1. 계좌 거래 내역 (보낸/받은 거래, from ~ to 날짜 포함)
+    @Transactional(readOnly = true)
+    public StreamingResponseBody exportTransactions(
+            Long userId, String accountNum, LocalDate from, LocalDate to, ExportFormat format, boolean gzip
+    ) {
+        checkOwner(userId, accountNum);
+        checkRange(from, to);
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        return stream(TRANSACTION_SQL, format, gzip, accountNum, start, end, accountNum, start, end);
+    }
+
+    // 1-2. 계좌 로그 (잔액 변경 이력)
+    @Transactional(readOnly = true)
+    public StreamingResponseBody exportLogs(
+            Long userId, String accountNum, LocalDate from, LocalDate to, ExportFormat format, boolean gzip
+    ) {
+        checkOwner(userId, accountNum);
+        checkRange(from, to);
+        return stream(LOG_SQL, format, gzip, accountNum, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * 검증은 호출 시점(요청 스레드)에 끝내고, 실제 조회/쓰기는 응답 본문을 쓸 때(비동기 스레드) 수행
+     * - 트랜잭션 없이 JdbcTemplate 이 커넥션을 잡았다가 결과셋을 다 읽으면 반납
+     */
+    private StreamingResponseBody stream(String sql, ExportFormat format, boolean gzip, Object... args) {
+        return out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+            try {
+                jdbcTemplate.query(sql, rowsTo(writer, format), args);
+            } catch (UncheckedIOException e) {
+                // 클라이언트가 연결을 끊은 경우 등
+                throw e.getCause();
+            }
+            writer.flush();
+            if (target instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+        };
+    }
+
+    private ResultSetExtractor<Void> rowsTo(Writer writer, ExportFormat format) {
+        return rs -> {
+            try {
+                if (format == ExportFormat.CSV) {
+                    writeCsv(rs, writer);
+                } else {
+                    writeNdjson(rs, writer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        };
+    }
+
+    // ================== 2. 형식별 쓰기 ==================
+
+    private void writeCsv(ResultSet rs, Writer writer) throws SQLException, IOException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columns = meta.getColumnCount();
+        for (int i = 1; i <= columns; i++) {
+            if (i > 1) {
+                writer.write(',');
+            }
+            writer.write(meta.getColumnLabel(i));
+        }
+        writer.write('\n');
+
+        while (rs.next()) {
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                Object value = normalize(rs.getObject(i));
+                if (value != null) {
+                    writer.write(csvEscape(value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString()));
+                }
+            }
+            writer.write('\n');
+        }
+    }
+
+    private void writeNdjson(ResultSet rs, Writer writer) throws SQLException, IOException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columns = meta.getColumnCount();
+        String[] names = new String[columns];
+        for (int i = 1; i <= columns; i++) {
+            names[i - 1] = meta.getColumnLabel(i);
+        }
+
+        // writer 는 호출 측이 닫음 (generator 가 닫지 않게)
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+        while (rs.next()) {
+            generator.writeStartObject();
+            for (int i = 1; i <= columns; i++) {
+                Object value = normalize(rs.getObject(i));
+                generator.writeFieldName(names[i - 1]);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof BigDecimal decimal) {
+                    generator.writeNumber(decimal);
+                } else if (value instanceof Long || value instanceof Integer) {
+                    generator.writeNumber(((Number) value).longValue());
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    // DATETIME / TIMESTAMP 를 같은 모양(ISO-8601)으로
+    private static Object normalize(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return value;
+    }
+
+    private static String csvEscape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // ================== 3. 검증 ==================
+
+    private void checkOwner(Long userId, String accountNum) {
+        Account account = accountRepository.findByAccountNum(accountNum)
+                .orElseThrow(() -> new AccountException.AccountNonExistsException("계좌를 찾을 수 없습니다. accountNum=" + accountNum));
+        if (!account.getUser().getId().equals(userId)) {
+            throw new AccountException.UnauthorizedAccountAccessException("해당 계좌에 대한 조회 권한이 없습니다.");
+        }
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new LogException.InvalidExportRangeException("시작일이 종료일보다 늦습니다. from=" + from + ", to=" + to);
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > maxDays) {
+            throw new LogException.InvalidExportRangeException("내보내기 기간은 최대 " + maxDays + "일입니다.");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.db.bank.service;
+
+import java.util.function.Supplier;
+
+/**
+ * 지금 스레드에서 처리 중인 Idempotency-Key 행 id
+ * - IdempotencyService 가 action 을 실행하는 동안만 설정, 거래를 만드는 쪽이 Transaction.idempotencyId 로 같이 저장
+ * - 다른 스레드에서 반영하는 경로(그룹 커밋 워커 / 원장 엔진 샤드)는 요청 스레드에서 읽어 명령에 실어 보냄
+ */
+public final class IdempotencyContext {
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private IdempotencyContext() {
+    }
+
+    // 키 없이 들어온 요청이면 null
+    public static Long current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T call(Long idempotencyId, Supplier<T> action) {
+        Long previous = CURRENT.get();
+        CURRENT.set(idempotencyId);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.db.bank.service;
+
+import com.db.bank.apiPayload.exception.AccountException;
+import com.db.bank.apiPayload.exception.IdempotencyException;
+import com.db.bank.apiPayload.exception.TransactionException;
+import com.db.bank.domain.entity.IdempotencyRecord;
+import com.db.bank.domain.enums.idempotency.IdempotencyStatus;
+import com.db.bank.repository.IdempotencyRecordRepository;
+import com.db.bank.repository.TransactionRepository;
+import com.db.bank.service.ledger.LedgerEngine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 처리
+ * - 처리 완료된 응답은 idempotency_key 테이블(TTL)과 메모리 LRU 캐시에 저장
+ * - 같은 키로 다시 오면 저장된 응답을 그대로 돌려줌 (계좌 잠금/이체 로직을 다시 타지 않음)
+ * - 같은 서버에서 동시에 들어온 중복 요청은 첫 요청의 결과를 기다림
+ * - 다른 서버에서 처리 중인 키는 IN_PROGRESS 행 때문에 409
+ * - 첫 요청이 업무 오류(검증/잔액 부족/이체 차단 등, 롤백이 확실한 실패)로 끝나면 행을 지워서 같은 키로 다시 시도할 수 있게 함
+ * - 시간 초과/처리 불가처럼 반영 여부를 모르는 실패는 행을 IN_PROGRESS 로 남김 → 재요청은 409 (중복 반영 방지)
+ *
+ * 한 키로 한 번만 반영 (행 id 가 소유 토큰)
+ * - 거래를 만드는 DB 트랜잭션 안에서 키 행을 IN_PROGRESS → APPLIED 로 바꿈 (TransactionService)
+ *   → 바꾸지 못하면(이미 반영됨 / 넘겨받혀 행이 없어짐) 이체도 롤백, 거래 행의 idem_id 는 유니크
+ * - 멈춘 IN_PROGRESS 행은 created_at + lease-ms 가 지나고, 그 키로 반영된 거래도 원장 엔진에 대기 중인 명령도 없을 때만
+ *   지우고 새 행(새 id)으로 넘겨받음 → 늦게 끝난 첫 요청은 자기 행을 못 찾아 롤백됨
+ * - APPLIED 행은 거래가 커밋된 키 → 넘겨받지 않음, 응답 저장 전이면 409
+ *
+ * 호출 측 트랜잭션 밖(컨트롤러)에서 호출해야 함 → 키 저장과 이체가 각각 커밋됨
+ */
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionRepository transactionRepository;
+    private final LedgerEngine ledgerEngine;
+    private final ObjectMapper objectMapper;
+    private final long ttlHours;
+    private final long waitTimeoutMs;
+    private final long leaseMs;
+
+    // 최근 완료된 응답 (userId:key → 응답), access-order LRU
+    private final Map<String, CachedResponse> cache;
+
+    // 이 서버에서 처리 중인 키
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            TransactionRepository transactionRepository,
+            LedgerEngine ledgerEngine,
+            ObjectMapper objectMapper,
+            @Value("${bank.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${bank.idempotency.cache-size:10000}") int cacheSize,
+            @Value("${bank.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs,
+            @Value("${bank.idempotency.lease-ms:60000}") long leaseMs
+    ) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionRepository = transactionRepository;
+        this.ledgerEngine = ledgerEngine;
+        this.objectMapper = objectMapper;
+        this.ttlHours = ttlHours;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.leaseMs = Math.max(leaseMs, waitTimeoutMs);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * key 가 없으면 action 을 그대로 실행
+     * key 가 있으면 처음 한 번만 실행하고 이후에는 저장된 응답 반환
+     */
+    public <T> T execute(
+            Long userId,
+            String key,
+            String operation,
+            Object request,
+            Class<T> responseType,
+            Supplier<T> action
+    ) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IdempotencyException.InvalidIdempotencyKeyException("Idempotency-Key는 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+        }
+
+        String cacheKey = userId + ":" + key;
+        String requestHash = hash(operation, request);
+
+        // 1) 메모리 캐시
+        CachedResponse cached = cache.get(cacheKey);
+        if (cached != null && cached.expiresAt().isAfter(LocalDateTime.now())) {
+            checkSameRequest(cached.requestHash(), requestHash);
+            return read(cached.body(), responseType);
+        }
+
+        // 2) 같은 서버에서 처리 중이면 그 결과를 기다림
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(cacheKey, mine);
+        if (running != null) {
+            checkSameRequest(running.requestHash(), requestHash);
+            return read(await(running.result()), responseType);
+        }
+
+        try {
+            return executeOnce(userId, key, operation, requestHash, cacheKey, mine, action, responseType);
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, mine);
+        }
+    }
+
+    private <T> T executeOnce(
+            Long userId,
+            String key,
+            String operation,
+            String requestHash,
+            String cacheKey,
+            InFlight mine,
+            Supplier<T> action,
+            Class<T> responseType
+    ) {
+        LocalDateTime now = LocalDateTime.now();
+
+        // 3) DB 에 저장된 키 확인 (다른 서버에서 처리했거나 캐시에서 밀려난 경우)
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findByUserIdAndIdemKey(userId, key);
+        if (existing.isPresent()) {
+            IdempotencyRecord stored = existing.get();
+            if (stored.getExpiresAt().isBefore(now)) {
+                idempotencyRecordRepository.delete(stored);
+            } else {
+                checkSameRequest(stored.getRequestHash(), requestHash);
+                if (stored.getStatus() == IdempotencyStatus.COMPLETED) {
+                    cache.put(cacheKey, new CachedResponse(stored.getRequestHash(), stored.getResponseBody(), stored.getExpiresAt()));
+                    mine.result().complete(stored.getResponseBody());
+                    return read(stored.getResponseBody(), responseType);
+                }
+                if (!takeOver(stored, now)) {
+                    throw new IdempotencyException.RequestInProgressException("같은 Idempotency-Key 요청이 처리 중입니다.");
+                }
+            }
+        }
+
+        // 4) 키 선점 (유니크 제약으로 서버 간 동시 요청도 하나만 통과)
+        IdempotencyRecord record;
+        try {
+            record = idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                    .userId(userId)
+                    .idemKey(key)
+                    .operation(operation)
+                    .requestHash(requestHash)
+                    .status(IdempotencyStatus.IN_PROGRESS)
+                    .createdAt(now)
+                    .expiresAt(now.plusHours(ttlHours))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new IdempotencyException.RequestInProgressException("같은 Idempotency-Key 요청이 처리 중입니다.");
+        }
+
+        // 5) 실제 처리 (만들어진 거래에 이 키의 행 id 를 같이 저장, 같은 트랜잭션에서 APPLIED 로)
+        T response;
+        try {
+            response = IdempotencyContext.call(record.getId(), action);
+        } catch (RuntimeException e) {
+            // 반영되지 않은 것이 확실한 실패만 지움 → 같은 키로 재시도 가능 (APPLIED 면 지워지지 않음)
+            if (isRolledBack(e)) {
+                idempotencyRecordRepository.deleteIfStatus(record.getId(), IdempotencyStatus.IN_PROGRESS);
+            }
+            throw e;
+        }
+
+        String body = write(response);
+        if (idempotencyRecordRepository.complete(record.getId(), IdempotencyStatus.COMPLETED, body) == 1) {
+            cache.put(cacheKey, new CachedResponse(requestHash, body, record.getExpiresAt()));
+        }
+        mine.result().complete(body);
+        return response;
+    }
+
+    /**
+     * 멈춘 IN_PROGRESS 행 넘겨받기 (true 면 행을 지웠으므로 새 행을 만듦)
+     * - created_at + lease-ms 가 지나야 함 (처리 중인 요청이 아직 살아 있을 수 있는 동안은 409)
+     * - 이 키로 반영된 거래가 있으면 넘겨받지 않음 (DB 거래 행 + 원장 엔진의 큐/실행 중/DB 반영 대기 명령)
+     * - IN_PROGRESS 일 때만 지움 → 첫 요청의 이체 트랜잭션이 행을 APPLIED 로 바꾸는 중이면 그 커밋을 기다렸다가 실패
+     *   지운 뒤에는 첫 요청이 자기 행을 APPLIED 로 바꾸지 못해 이체가 롤백됨
+     */
+    private boolean takeOver(IdempotencyRecord record, LocalDateTime now) {
+        if (record.getStatus() != IdempotencyStatus.IN_PROGRESS
+                || record.getCreatedAt().plus(leaseMs, ChronoUnit.MILLIS).isAfter(now)) {
+            return false;
+        }
+        if (transactionRepository.existsByIdempotencyId(record.getId()) || ledgerEngine.hasPending(record.getId())) {
+            return false;
+        }
+        return idempotencyRecordRepository.deleteIfStatus(record.getId(), IdempotencyStatus.IN_PROGRESS) == 1;
+    }
+
+    /**
+     * action 이 아무것도 반영하지 않고 끝났다고 확신할 수 있는 예외인지
+     * - 계좌 검증/잔액 부족, 이체 차단/한도 초과 등 업무 오류 → 트랜잭션 롤백 (또는 원장 엔진에서 반영 전 거절)
+     * - 결과 미확정(OutcomePending), 원장 처리 불가(LedgerUnavailable), 그 밖의 예외(DB 오류 등)는 모름 → false
+     */
+    private boolean isRolledBack(RuntimeException e) {
+        if (e instanceof TransactionException.OutcomePendingException
+                || e instanceof TransactionException.LedgerUnavailableException) {
+            return false;
+        }
+        return e instanceof AccountException || e instanceof TransactionException;
+    }
+
+    // 만료된 키 정리
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (cache) {
+            cache.values().removeIf(c -> c.expiresAt().isBefore(now));
+        }
+        return idempotencyRecordRepository.deleteExpired(now);
+    }
+
+    private void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IdempotencyException.KeyReusedException("같은 Idempotency-Key로 다른 요청을 보낼 수 없습니다.");
+        }
+    }
+
+    private String await(CompletableFuture<String> result) {
+        try {
+            return result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // 첫 요청과 같은 예외를 그대로 돌려줌
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyException.RequestInProgressException("같은 Idempotency-Key 요청이 처리 중입니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyException.RequestInProgressException("같은 Idempotency-Key 요청이 처리 중입니다.");
+        }
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(write(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Idempotency 응답 직렬화 실패", e);
+        }
+    }
+
+    private <T> T read(String body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Idempotency 응답 역직렬화 실패", e);
+        }
+    }
+
+    private record CachedResponse(String requestHash, String body, LocalDateTime expiresAt) {
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<String> result) {
+    }
+}
@@ -0,0 +1,183 @@
+package com.db.bank.service;
+
+import com.db.bank.domain.entity.KnownPayee;
+import com.db.bank.domain.entity.KnownPayeeId;
+import com.db.bank.domain.entity.Transaction;
+import com.db.bank.repository.KnownPayeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 아는 수취인 (known_payee) + 앞단 Bloom filter
+ * - 기록: 거래 저장 트랜잭션 안에서 (AbnPostCheckDispatcher) - 필터에 없다고 나오면 INSERT IGNORE, 있을 수도 있다면 생략
+ *   INSERT 전에 같은 쌍의 이전 거래가 있는지 확인 → 있으면 first_transaction_id 를 null 로
+ *   (backfill 없이 배포한 기존 DB 에서 기존 쌍의 첫 거래가 "처음 보내는 수취인"으로 잡히지 않게)
+ * - 판단: (보낸 계좌, 받는 계좌) PK 조회 한 번, first_transaction_id 가 이 거래면 처음 보내는 수취인
+ * - 필터 오탐으로 기록을 건너뛴 쌍은 행이 없음 → 호출 측이 이력 COUNT 로 판단하고 remember 로 채움
+ * - 필터는 기동 시 known_payee 전체를 스트리밍으로 읽어 채움 (채우기 전에는 항상 INSERT IGNORE)
+ */
+@Slf4j
+@Service
+public class KnownPayeeService {
+
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO known_payee (account_num, payee_account_num, first_transaction_id, first_seen_at) " +
+            "VALUES (?, ?, ?, ?)";
+
+    // 이 거래보다 앞선 같은 쌍의 거래 (ix_tx_from_time 범위)
+    private static final String EARLIER_SQL =
+            "SELECT EXISTS (SELECT 1 FROM `transaction` t " +
+            "WHERE t.from_account_num = ? AND t.to_account_num = ? AND t.type <> 'DEPOSIT' " +
+            "AND t.transaction_id <> ? AND t.created_at <= ?)";
+
+    private static final String LOAD_SQL =
+            "SELECT account_num, payee_account_num FROM known_payee";
+
+    // 기존 거래로 한 번 채우기 (처음 거래 id 는 모름 → null)
+    private static final String BACKFILL_SQL =
+            "INSERT IGNORE INTO known_payee (account_num, payee_account_num, first_transaction_id, first_seen_at) " +
+            "SELECT t.from_account_num, t.to_account_num, NULL, MIN(t.created_at) " +
+            "FROM `transaction` t WHERE t.type <> 'DEPOSIT' " +
+            "GROUP BY t.from_account_num, t.to_account_num";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final KnownPayeeRepository knownPayeeRepository;
+    private final BloomFilter filter;
+    private final boolean backfillOnStartup;
+
+    public KnownPayeeService(
+            DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            KnownPayeeRepository knownPayeeRepository,
+            @Value("${bank.known-payee.expected-pairs:1000000}") long expectedPairs,
+            @Value("${bank.known-payee.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${bank.known-payee.backfill-on-startup:false}") boolean backfillOnStartup,
+            @Value("${bank.known-payee.fetch-size:-2147483648}") int fetchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.knownPayeeRepository = knownPayeeRepository;
+        this.filter = new BloomFilter(expectedPairs, falsePositiveRate);
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    // ================== 1. 기동 ==================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFilter() {
+        try {
+            if (backfillOnStartup) {
+                jdbcTemplate.update(BACKFILL_SQL);
+            }
+            streamingJdbcTemplate.query(LOAD_SQL, rs -> {
+                filter.put(hash(rs.getString("account_num"), rs.getString("payee_account_num")));
+            });
+        } catch (RuntimeException e) {
+            // 필터가 비어 있어도 결과는 같음 (매번 INSERT IGNORE)
+            log.warn("[KNOWN PAYEE] 필터 적재 실패", e);
+        }
+    }
+
+    // ================== 2. 기록 ==================
+
+    // 저장된 거래 한 건 (호출 측 트랜잭션, 롤백되면 필터에만 남음 → 다음 검사가 COUNT 로 보정)
+    public void remember(Transaction tx) {
+        String from = tx.getFromAccount().getAccountNum();
+        String to = tx.getToAccount().getAccountNum();
+        long key = hash(from, to);
+        if (filter.mightContain(key)) {
+            return;
+        }
+        LocalDateTime seenAt = tx.getCreatedAt() != null ? tx.getCreatedAt() : LocalDateTime.now();
+        Boolean earlier = jdbcTemplate.queryForObject(EARLIER_SQL, Boolean.class, from, to, tx.getId(), Timestamp.valueOf(seenAt));
+        remember(from, to, Boolean.TRUE.equals(earlier) ? null : tx.getId(), seenAt);
+        filter.put(key);
+    }
+
+    // 행 직접 기록 (firstTransactionId 를 모르면 null)
+    public void remember(String accountNum, String payeeAccountNum, Long firstTransactionId, LocalDateTime seenAt) {
+        jdbcTemplate.update(INSERT_SQL, accountNum, payeeAccountNum, firstTransactionId, Timestamp.valueOf(seenAt));
+    }
+
+    // ================== 3. 판단 ==================
+
+    /**
+     * 이 거래가 from → to 로 처음 보낸 거래인지
+     * - 행이 없으면 empty (필터 오탐으로 기록을 건너뛴 경우 등)
+     */
+    public Optional<Boolean> isFirstTransfer(Long transactionId, String accountNum, String payeeAccountNum) {
+        return knownPayeeRepository.findById(new KnownPayeeId(accountNum, payeeAccountNum))
+                .map(payee -> transactionId.equals(payee.getFirstTransactionId()));
+    }
+
+    private static long hash(String accountNum, String payeeAccountNum) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : (accountNum + '|' + payeeAccountNum).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * 비트 배열 Bloom filter (스레드 안전, 지우기 없음)
+     * - m = -n·ln(p) / (ln 2)², k = m/n·ln 2, 해시 k 개는 64비트 해시의 상/하위 32비트로 만듦 (double hashing)
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        final long bitCount;
+        final int hashCount;
+
+        BloomFilter(long expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions);
+            double p = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+            long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64));
+            this.bitCount = (long) bits.length() * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        }
+
+        void put(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+                long mask = 1L << (index & 63);
+                int word = (int) (index >>> 6);
+                long current;
+                do {
+                    current = bits.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+                if ((bits.get((int) (index >>> 6)) & (1L << (index & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
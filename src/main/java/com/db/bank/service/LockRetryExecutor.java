@@ -0,0 +1,130 @@
+package com.db.bank.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 잠금 충돌 재시도 실행기
+ * - MySQL 교착 상태(1213) / 잠금 대기 시간 초과(1205) 로 실패하면 트랜잭션을 새로 열어 다시 실행
+ * - 낙관적 잠금 모드의 version 충돌(OptimisticLockingFailureException)도 같은 방식으로 재시도
+ * - 재시도 간격은 지수 증가 + 지터 (최대 maxBackoffMs)
+ * - 이미 바깥 트랜잭션이 있으면 InnoDB가 바깥 트랜잭션 전체를 롤백하므로 재시도하지 않고 한 번만 실행
+ * - 감지/재시도 횟수는 Micrometer 카운터로 노출 (/actuator/metrics)
+ */
+@Component
+public class LockRetryExecutor {
+
+    private static final int MYSQL_DEADLOCK = 1213;
+    private static final int MYSQL_LOCK_WAIT_TIMEOUT = 1205;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Counter deadlockCounter;
+    private final Counter lockWaitTimeoutCounter;
+    private final Counter optimisticConflictCounter;
+    private final Counter retryCounter;
+    private final Counter exhaustedCounter;
+
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+
+    public LockRetryExecutor(
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${bank.transfer.lock-retry.max-attempts:4}") int maxAttempts,
+            @Value("${bank.transfer.lock-retry.base-backoff-ms:20}") long baseBackoffMs,
+            @Value("${bank.transfer.lock-retry.max-backoff-ms:500}") long maxBackoffMs
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deadlockCounter = Counter.builder("bank.transfer.lock.conflicts")
+                .description("이체 중 감지된 잠금 충돌 수")
+                .tag("kind", "deadlock")
+                .register(meterRegistry);
+        this.lockWaitTimeoutCounter = Counter.builder("bank.transfer.lock.conflicts")
+                .description("이체 중 감지된 잠금 충돌 수")
+                .tag("kind", "lock_wait_timeout")
+                .register(meterRegistry);
+        this.optimisticConflictCounter = Counter.builder("bank.transfer.lock.conflicts")
+                .description("이체 중 감지된 잠금 충돌 수")
+                .tag("kind", "optimistic")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("bank.transfer.lock.retries")
+                .description("잠금 충돌로 다시 실행한 횟수")
+                .register(meterRegistry);
+        this.exhaustedCounter = Counter.builder("bank.transfer.lock.retries.exhausted")
+                .description("재시도 횟수를 모두 쓰고 실패한 요청 수")
+                .register(meterRegistry);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (RuntimeException e) {
+                if (!recordIfLockConflict(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    exhaustedCounter.increment();
+                    throw e;
+                }
+                retryCounter.increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    // 잠금 충돌이면 카운터를 올리고 true
+    private boolean recordIfLockConflict(Throwable e) {
+        if (e instanceof OptimisticLockingFailureException) {
+            optimisticConflictCounter.increment();
+            return true;
+        }
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sqlException) {
+                if (sqlException.getErrorCode() == MYSQL_DEADLOCK || "40001".equals(sqlException.getSQLState())) {
+                    deadlockCounter.increment();
+                    return true;
+                }
+                if (sqlException.getErrorCode() == MYSQL_LOCK_WAIT_TIMEOUT) {
+                    lockWaitTimeoutCounter.increment();
+                    return true;
+                }
+            }
+        }
+        if (e instanceof PessimisticLockingFailureException) {
+            deadlockCounter.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private void backoff(int attempt) {
+        long cap = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt - 1, 16));
+        long sleepMs = ThreadLocalRandom.current().nextLong(cap / 2, cap + 1);
+        try {
+            Thread.sleep(sleepMs);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("잠금 재시도 대기 중 인터럽트", ie);
+        }
+    }
+}
@@ -7,6 +7,8 @@ import com.db.bank.domain.entity.Transaction;
 import com.db.bank.domain.entity.User;
 import com.db.bank.domain.enums.log.Action;
 import com.db.bank.repository.LogRepository;
+import com.db.bank.repository.projection.LogHistoryRow;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -15,12 +17,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class LogService {
 
     private final LogRepository logRepository;
+    private final TransferMetrics transferMetrics;
 
     // ================== 1. 공통 로그 기록 메서드 ==================
 
@@ -32,12 +36,28 @@ public class LogService {
             BigDecimal afterBalance,
             Action action,
             User actorUser
+    ) {
+        Log log = newLog(transaction, account, beforeBalance, afterBalance, action, actorUser);
+        Timer.Sample insert = transferMetrics.start();
+        logRepository.save(log);
+        transferMetrics.stopLogInsert(insert, "single");
+
+    }
+
+    // 저장하지 않고 로그 엔티티만 생성 (일괄 이체에서 모아서 저장할 때 사용)
+    public Log newLog(
+            Transaction transaction,
+            Account account,
+            BigDecimal beforeBalance,
+            BigDecimal afterBalance,
+            Action action,
+            User actorUser
     ) {
         if (transaction == null || account == null || actorUser == null) {
             throw new LogException.InvalidLogArgumentException("로그 기록을 위한 transaction/account/actorUser는 null일 수 없습니다.");
         }
 
-        Log log = Log.builder()
+        return Log.builder()
                 .transaction(transaction)
                 .account(account)
                 .actorUser(actorUser)
@@ -46,9 +66,17 @@ public class LogService {
                 .action(action)
                 .createdAt(LocalDateTime.now())
                 .build();
+    }
 
-        logRepository.save(log);
-
+    // 여러 로그를 한 번에 저장 (saveAll → JDBC batch insert 대상)
+    @Transactional
+    public void recordLogs(List<Log> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        Timer.Sample insert = transferMetrics.start();
+        logRepository.saveAll(logs);
+        transferMetrics.stopLogInsert(insert, "batch");
     }
 
 
@@ -121,42 +149,43 @@ public class LogService {
         recordLog(transaction, account, beforeBalance, afterBalance, Action.ADJUST, actorUser);
     }
     // ================== 2. 조회용 메서드들 ==================
+    // 응답 컬럼만 프로젝션(LogHistoryRow)으로 읽음 → 페이지당 SELECT 한 번, 엔티티 로딩 없음
 
     // 2-1. 계좌번호 기준 로그 조회 (마이페이지/계좌 상세)
     @Transactional(readOnly = true)
-    public Page<Log> getLogsByAccount(
+    public Page<LogHistoryRow> getLogsByAccount(
             String accountNum,
             Pageable pageable
     ) {
-        return logRepository.findByAccountAccountNumOrderByCreatedAtDesc(accountNum, pageable);
+        return logRepository.findHistoryByAccount(accountNum, pageable);
     }
 
     // 2-2. 사용자 기준 로그 조회 (내가 한 모든 작업)
     @Transactional(readOnly = true)
-    public Page<Log> getLogsByActorUser(
+    public Page<LogHistoryRow> getLogsByActorUser(
             Long actorUserId,
             Pageable pageable
     ) {
-        return logRepository.findByActorUserIdOrderByCreatedAtDesc(actorUserId,pageable);
+        return logRepository.findHistoryByActorUser(actorUserId, pageable);
     }
 
     // 2-3. 계좌 + 기간
     @Transactional(readOnly = true)
-    public Page<Log> getLogsByAccountAndPeriod(
+    public Page<LogHistoryRow> getLogsByAccountAndPeriod(
             String accountNum,
             LocalDateTime start,
             LocalDateTime end,
             Pageable pageable
     ) {
-        return logRepository.findByAccountAccountNumAndCreatedAtBetweenOrderByCreatedAtDesc(accountNum, start, end, pageable);
+        return logRepository.findHistoryByAccountAndPeriod(accountNum, start, end, pageable);
     }
 
     // 2-4. 액션 타입별 (입금만, 출금만, 이상거래만 등)
     @Transactional(readOnly = true)
-    public Page<Log> getLogsByAction(
+    public Page<LogHistoryRow> getLogsByAction(
             Action action,
             Pageable pageable
     ) {
-        return logRepository.findByActionOrderByCreatedAtDesc(action, pageable);
+        return logRepository.findHistoryByAction(action, pageable);
     }
 }
@@ -0,0 +1,117 @@
+package com.db.bank.service;
+
+import com.db.bank.apiPayload.exception.AccountException;
+import com.db.bank.domain.entity.Account;
+import com.db.bank.domain.entity.Posting;
+import com.db.bank.domain.entity.Transaction;
+import com.db.bank.domain.enums.posting.PostingDirection;
+import com.db.bank.repository.AccountRepository;
+import com.db.bank.repository.PostingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class PostingService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final PostingRepository postingRepository;
+    private final AccountRepository accountRepository;
+
+    // ================== 1. 분개 생성 ==================
+
+    /**
+     * 일반 계좌 분개 한 행 생성 (저장하지 않음)
+     * - 호출 측이 account 를 잠근(또는 version 으로 보호한) 상태여야 함 → seq 가 빈틈/중복 없이 증가
+     * - account 잔액은 이미 반영된 뒤라고 보고 현재 잔액을 balance_after 로 기록
+     */
+    public Posting newPosting(Transaction tx, Account account, PostingDirection direction, BigDecimal amount) {
+        long seq = account.getLastPostingSeq() + 1;
+        account.setLastPostingSeq(seq);
+
+        return Posting.builder()
+                .accountNum(account.getAccountNum())
+                .seq(seq)
+                .transaction(tx)
+                .transactionType(tx.getType())
+                .direction(direction)
+                .amount(amount)
+                .balanceAfter(account.getBalance())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    // 시스템 계좌(EXTERNAL_IN/OUT) 분개: seq / 잔액 없음 (계좌 행을 잠그지 않음)
+    public Posting newSystemPosting(Transaction tx, Account systemAccount, PostingDirection direction, BigDecimal amount) {
+        return Posting.builder()
+                .accountNum(systemAccount.getAccountNum())
+                .transaction(tx)
+                .transactionType(tx.getType())
+                .direction(direction)
+                .amount(amount)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    // 거래 하나(또는 일괄 이체 전체)의 분개를 한 번에 저장 → JDBC batch insert
+    @Transactional
+    public void recordPostings(List<Posting> postings) {
+        if (postings.isEmpty()) {
+            return;
+        }
+        postingRepository.saveAll(postings);
+    }
+
+    // ================== 2. 조회 ==================
+
+    // 2-1. 계좌 분개 내역 (afterSeq 다음부터 size 건, seq 오름차순)
+    @Transactional(readOnly = true)
+    public List<Posting> getPostings(Long userId, String accountNum, long afterSeq, int size) {
+        checkOwner(userId, accountNum);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return postingRepository.findByAccountNumAndSeqGreaterThanOrderBySeqAsc(
+                accountNum, afterSeq, PageRequest.of(0, pageSize));
+    }
+
+    // 2-2. 특정 시점 잔액 (개설 전이면 0, 그 시각까지 분개가 없으면 개설 시 잔액)
+    @Transactional(readOnly = true)
+    public BigDecimal getBalanceAsOf(Long userId, String accountNum, LocalDateTime asOf) {
+        Account account = checkOwner(userId, accountNum);
+        if (account.getCreatedAt().isAfter(asOf)) {
+            return BigDecimal.ZERO;
+        }
+        return postingRepository
+                .findFirstByAccountNumAndSeqIsNotNullAndCreatedAtLessThanEqualOrderByCreatedAtDescSeqDesc(accountNum, asOf)
+                .map(Posting::getBalanceAfter)
+                .orElseGet(() -> openingBalance(account));
+    }
+
+    /**
+     * 첫 분개 이전 잔액 (개설 시 초기 잔액은 분개 없이 들어감)
+     * - 첫 분개(seq = 1)의 변경 후 잔액에서 그 금액을 되돌려 계산, 분개가 하나도 없으면 현재 잔액
+     * - 시점 잔액 조회(여기 / BalanceSnapshotService)가 같은 규칙을 씀
+     */
+    public BigDecimal openingBalance(Account account) {
+        return postingRepository.findByAccountNumAndSeq(account.getAccountNum(), 1L)
+                .map(first -> first.getDirection() == PostingDirection.CREDIT
+                        ? first.getBalanceAfter().subtract(first.getAmount())
+                        : first.getBalanceAfter().add(first.getAmount()))
+                .orElse(account.getBalance());
+    }
+
+    private Account checkOwner(Long userId, String accountNum) {
+        Account account = accountRepository.findByAccountNum(accountNum)
+                .orElseThrow(() -> new AccountException.AccountNonExistsException("계좌를 찾을 수 없습니다. accountNum=" + accountNum));
+        if (!account.getUser().getId().equals(userId)) {
+            throw new AccountException.UnauthorizedAccountAccessException("해당 계좌에 대한 조회 권한이 없습니다.");
+        }
+        return account;
+    }
+}
@@ -0,0 +1,266 @@
+package com.db.bank.service;
+
+import com.db.bank.domain.entity.Transaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 동일 거래(보낸 계좌 + 받는 계좌 + 금액) 최근 건수 - MULTI_TRANSFER_SAME_ACCOUNT 규칙용 메모리 카운터
+ * - 키별로 bucket-seconds 단위 링 버퍼 (window / bucket + 1 칸), 지난 칸은 다시 쓸 때 초기화
+ * - 키는 (from, to, amount) 64비트 해시 → long 키 open addressing 맵 (세그먼트별 잠금, 최대 max-keys)
+ * - 기록: 거래 커밋 직후 (AbnPostCheckDispatcher), 조회: 사후 검사에서 DB 왕복 없이 O(1)
+ * - 기동 시 최근 window 동안의 거래로 채움, 채우기 전이나 맵이 가득 차 키를 못 넣은 경우엔 DB COUNT 로 대신함
+ * - 창 경계는 버킷 단위로 맞춰짐 (최대 bucket-seconds 만큼 넓게 셈)
+ * - 이 인스턴스에서 커밋된 거래만 보므로, 여러 인스턴스로 띄우면 enabled=false 로 DB 조회를 씀
+ */
+@Slf4j
+@Component
+public class SameTransferWindow {
+
+    private static final int SEGMENTS = 16;
+
+    private static final String WARM_UP_SQL =
+            "SELECT t.transaction_id, t.from_account_num, t.to_account_num, t.amount, t.created_at " +
+            "FROM `transaction` t WHERE t.status = 'SUCCESS' AND t.type <> 'DEPOSIT' AND t.created_at >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long windowSeconds;
+    private final long bucketSeconds;
+    private final int slots;
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    // 기동 채우기 중에 커밋된 거래 id (채우기 쿼리와 두 번 세지 않게)
+    private final Set<Long> recordedWhileWarming = ConcurrentHashMap.newKeySet();
+    private volatile boolean warming = true;
+    private volatile boolean ready;
+
+    public SameTransferWindow(
+            JdbcTemplate jdbcTemplate,
+            @Value("${bank.abn.same-transfer.window.enabled:true}") boolean enabled,
+            @Value("${bank.abn.same-transfer.window.window-seconds:600}") long windowSeconds,
+            @Value("${bank.abn.same-transfer.window.bucket-seconds:10}") long bucketSeconds,
+            @Value("${bank.abn.same-transfer.window.max-keys:50000}") int maxKeys
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.windowSeconds = windowSeconds;
+        this.bucketSeconds = Math.max(1, bucketSeconds);
+        this.slots = (int) ((windowSeconds + this.bucketSeconds - 1) / this.bucketSeconds) + 1;
+        int perSegment = Math.max(16, maxKeys / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment, slots);
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    // ================== 1. 기록 ==================
+
+    // 커밋된 거래 한 건 (입금은 사후 검사 대상이 아니라 넣지 않음)
+    public void record(Transaction tx) {
+        if (!enabled || tx.getCreatedAt() == null) {
+            return;
+        }
+        if (warming && !recordedWhileWarming.add(tx.getId())) {
+            return;
+        }
+        add(tx.getFromAccount().getAccountNum(), tx.getToAccount().getAccountNum(), tx.getAmount(), tx.getCreatedAt());
+    }
+
+    /**
+     * 기동 시 최근 window 동안의 거래로 채움 (ix_tx_status_time 범위)
+     * - 채우는 동안 커밋된 거래는 record() 가 먼저 넣었을 수 있어서 id 로 걸러냄
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime since = LocalDateTime.now().minusSeconds(windowSeconds + bucketSeconds);
+        try {
+            jdbcTemplate.query(WARM_UP_SQL, rs -> {
+                if (recordedWhileWarming.add(rs.getLong("transaction_id"))) {
+                    add(rs.getString("from_account_num"), rs.getString("to_account_num"),
+                            rs.getBigDecimal("amount"), rs.getTimestamp("created_at").toLocalDateTime());
+                }
+            }, Timestamp.valueOf(since));
+            ready = true;
+        } catch (RuntimeException e) {
+            // 채우기 실패 → 계속 DB COUNT 로 검사
+            log.warn("[SAME TRANSFER WINDOW] warm-up failed", e);
+        } finally {
+            warming = false;
+            recordedWhileWarming.clear();
+        }
+    }
+
+    private void add(String fromAccountNum, String toAccountNum, BigDecimal amount, LocalDateTime createdAt) {
+        long key = keyOf(fromAccountNum, toAccountNum, amount);
+        segmentOf(key).add(key, bucketOf(createdAt), bucketOf(LocalDateTime.now()));
+    }
+
+    // ================== 2. 조회 ==================
+
+    /**
+     * until 이전 window 동안의 동일 거래 수 (until 이 든 버킷 포함)
+     * - 키가 맵에 없는데 최근에 가득 차서 버린 키가 있으면 알 수 없음 → empty (DB 로 확인)
+     */
+    public OptionalLong countUntil(String fromAccountNum, String toAccountNum, BigDecimal amount, LocalDateTime until) {
+        long key = keyOf(fromAccountNum, toAccountNum, amount);
+        return segmentOf(key).count(key, bucketOf(until), bucketOf(LocalDateTime.now()));
+    }
+
+    // ================== 3. 키 / 버킷 ==================
+
+    private int bucketOf(LocalDateTime time) {
+        return (int) (time.atZone(ZoneId.systemDefault()).toEpochSecond() / bucketSeconds);
+    }
+
+    private Segment segmentOf(long key) {
+        return segments[(int) (key >>> 60) & (SEGMENTS - 1)];
+    }
+
+    // FNV-1a 64비트 (금액은 100 / 100.00 이 같은 키가 되도록 정규화)
+    static long keyOf(String fromAccountNum, String toAccountNum, BigDecimal amount) {
+        String raw = fromAccountNum + '|' + toAccountNum + '|' + amount.stripTrailingZeros().toPlainString();
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : raw.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * long 키 → 링 버퍼, 선형 탐사 open addressing
+     * - 가득 차면 (버킷이 바뀔 때 한 번) 만료된 키를 걸러 다시 만듦, 그래도 가득 차면 새 키는 버리고 overflowUntil 까지 "모름"
+     */
+    static final class Segment {
+
+        private final int maxKeys;
+        private final int slots;
+        private long[] keys;
+        private Ring[] rings;
+        private int size;
+        private int lastSweepBucket = Integer.MIN_VALUE;
+        private int overflowUntil = Integer.MIN_VALUE;
+
+        Segment(int maxKeys, int slots) {
+            this.maxKeys = maxKeys;
+            this.slots = slots;
+            int capacity = Integer.highestOneBit(maxKeys * 2 - 1) << 1;
+            this.keys = new long[capacity];
+            this.rings = new Ring[capacity];
+        }
+
+        synchronized void add(long key, int bucket, int nowBucket) {
+            if (bucket <= nowBucket - slots) {
+                return;
+            }
+            int index = find(key);
+            if (rings[index] == null) {
+                if (size >= maxKeys && lastSweepBucket != nowBucket) {
+                    lastSweepBucket = nowBucket;
+                    sweep(nowBucket);
+                    index = find(key);
+                }
+                if (size >= maxKeys) {
+                    overflowUntil = nowBucket + slots;
+                    return;
+                }
+                keys[index] = key;
+                rings[index] = new Ring(slots);
+                size++;
+            }
+            rings[index].add(bucket);
+        }
+
+        synchronized OptionalLong count(long key, int untilBucket, int nowBucket) {
+            Ring ring = rings[find(key)];
+            if (ring == null) {
+                return nowBucket <= overflowUntil ? OptionalLong.empty() : OptionalLong.of(0);
+            }
+            return OptionalLong.of(ring.count(untilBucket));
+        }
+
+        private int find(long key) {
+            int mask = keys.length - 1;
+            int index = (int) (key ^ (key >>> 32)) & mask;
+            while (rings[index] != null && keys[index] != key) {
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+
+        // 마지막 기록이 창 밖으로 나간 키를 빼고 다시 배치
+        private void sweep(int nowBucket) {
+            long[] oldKeys = keys;
+            Ring[] oldRings = rings;
+            keys = new long[oldKeys.length];
+            rings = new Ring[oldRings.length];
+            size = 0;
+            for (int i = 0; i < oldRings.length; i++) {
+                Ring ring = oldRings[i];
+                if (ring != null && ring.latest > nowBucket - slots) {
+                    int index = find(oldKeys[i]);
+                    keys[index] = oldKeys[i];
+                    rings[index] = ring;
+                    size++;
+                }
+            }
+        }
+    }
+
+    // 버킷 번호 % slots 칸에 (버킷 번호, 건수) 저장
+    static final class Ring {
+
+        private final int[] buckets;
+        private final int[] counts;
+        private int latest = Integer.MIN_VALUE;
+
+        Ring(int slots) {
+            this.buckets = new int[slots];
+            this.counts = new int[slots];
+        }
+
+        void add(int bucket) {
+            int slot = Math.floorMod(bucket, buckets.length);
+            if (buckets[slot] != bucket) {
+                if (counts[slot] > 0 && buckets[slot] > bucket) {
+                    return;     // 이미 더 새 버킷이 쓴 칸 (창 밖의 늦은 기록)
+                }
+                buckets[slot] = bucket;
+                counts[slot] = 0;
+            }
+            counts[slot]++;
+            latest = Math.max(latest, bucket);
+        }
+
+        long count(int untilBucket) {
+            long total = 0;
+            for (int slot = 0; slot < buckets.length; slot++) {
+                int bucket = buckets[slot];
+                if (counts[slot] > 0 && bucket <= untilBucket && bucket > untilBucket - buckets.length) {
+                    total += counts[slot];
+                }
+            }
+            return total;
+        }
+    }
+}
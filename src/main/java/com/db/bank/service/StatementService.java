@@ -0,0 +1,400 @@
+package com.db.bank.service;
+
+import com.db.bank.apiPayload.exception.AccountException;
+import com.db.bank.apiPayload.exception.StatementException;
+import com.db.bank.domain.entity.Account;
+import com.db.bank.domain.entity.StatementFile;
+import com.db.bank.repository.AccountRepository;
+import com.db.bank.repository.StatementFileRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 월별 계좌 명세서 (미리 만들어 둔 압축 파일을 그대로 내려줌)
+ * - 생성: 계좌-월의 로그를 시간순으로 한 번 읽어서 일자별 gzip 멤버로 이어 씀
+ *   파일 = [헤더 멤버][1일 멤버][2일 멤버]... → 통째로도, 헤더 + 특정 일자 멤버만 잘라서도 올바른 gzip
+ *   같은 이름의 .idx 파일에 "멤버 시작위치 길이 행수" 를 기록
+ * - 재생성: 월별 (로그 수, 최대 log_id) 를 statement_file 과 비교해서 달라진 계좌-월만 다시 만듦
+ * - 조회: 파일 범위를 FileChannel.transferTo 로 응답에 바로 넘김 (압축을 풀거나 힙에 올리지 않음)
+ */
+@Slf4j
+@Service
+public class StatementService {
+
+    static final String HEADER = "log_id,transaction_id,action,before_balance,after_balance,created_at";
+
+    private static final String HEADER_KEY = "header";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // 월 안에서 계좌별 로그 수 / 최대 log_id (변경 감지용)
+    private static final String SIGNATURE_SQL =
+            "SELECT account_num, COUNT(*), MAX(log_id) FROM `log` " +
+            "WHERE created_at >= ? AND created_at < ? GROUP BY account_num";
+
+    private static final String LOG_SQL =
+            "SELECT log_id, transaction_id, action, before_balance, after_balance, created_at FROM `log` " +
+            "WHERE account_num = ? AND created_at >= ? AND created_at < ? " +
+            "ORDER BY created_at, log_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StatementFileRepository statementFileRepository;
+    private final AccountRepository accountRepository;
+    private final boolean enabled;
+    private final Path directory;
+
+    public StatementService(
+            DataSource dataSource,
+            StatementFileRepository statementFileRepository,
+            AccountRepository accountRepository,
+            @Value("${bank.statement.enabled:true}") boolean enabled,
+            @Value("${bank.statement.dir:./data/statements}") String directory,
+            @Value("${bank.statement.fetch-size:-2147483648}") int fetchSize
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.statementFileRepository = statementFileRepository;
+        this.accountRepository = accountRepository;
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ================== 1. 생성 ==================
+
+    /**
+     * 한 달치 명세서 갱신 (달라진 계좌-월만)
+     * - 계좌 하나가 실패해도 나머지는 계속 만듦
+     * @return 새로 만든 파일 수
+     */
+    public int generateMonth(YearMonth month) {
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+
+        Map<String, StatementFile> existing = statementFileRepository.findByStatementMonth(month.toString()).stream()
+                .collect(Collectors.toMap(StatementFile::getAccountNum, Function.identity()));
+        List<Signature> signatures = jdbcTemplate.query(SIGNATURE_SQL,
+                (rs, rowNum) -> new Signature(rs.getString(1), rs.getLong(2), rs.getLong(3)),
+                start, end);
+
+        int generated = 0;
+        for (Signature signature : signatures) {
+            StatementFile current = existing.get(signature.accountNum());
+            if (current != null
+                    && current.getRowCount() == signature.rowCount()
+                    && current.getLastLogId() == signature.lastLogId()) {
+                continue;
+            }
+            try {
+                write(signature.accountNum(), month, start, end, current);
+                generated++;
+            } catch (IOException | RuntimeException e) {
+                log.error("[명세서 생성 실패] accountNum={}, month={}", signature.accountNum(), month, e);
+            }
+        }
+        return generated;
+    }
+
+    private void write(String accountNum, YearMonth month, LocalDateTime start, LocalDateTime end,
+                       StatementFile previous) throws IOException {
+        int generation = previous == null ? 1 : previous.getGeneration() + 1;
+        Path accountDir = directory.resolve(accountNum);
+        Files.createDirectories(accountDir);
+        Path file = accountDir.resolve(fileName(month, generation));
+        Path index = accountDir.resolve(indexName(month, generation));
+        Path tmpFile = accountDir.resolve(fileName(month, generation) + ".tmp");
+        Path tmpIndex = accountDir.resolve(indexName(month, generation) + ".tmp");
+
+        // 1. 임시 파일에 쓰고
+        MemberWriter writer;
+        try (OutputStream fileOut = Files.newOutputStream(tmpFile)) {
+            writer = new MemberWriter(new BufferedOutputStream(fileOut, BUFFER_SIZE));
+            jdbcTemplate.query(LOG_SQL, rs -> {
+                try {
+                    writer.row(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, accountNum, start, end);
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.write(tmpIndex, writer.indexLines(), StandardCharsets.UTF_8);
+
+        // 2. 완성된 뒤에 이름을 바꿔서 보이게 함
+        Files.move(tmpFile, file, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(tmpIndex, index, StandardCopyOption.ATOMIC_MOVE);
+
+        StatementFile statement = previous != null ? previous : StatementFile.builder()
+                .accountNum(accountNum)
+                .statementMonth(month.toString())
+                .build();
+        statement.setGeneration(generation);
+        statement.setFilePath(file.toString());
+        statement.setIndexPath(index.toString());
+        statement.setRowCount(writer.rowCount);
+        statement.setLastLogId(writer.lastLogId);
+        statement.setOpeningBalance(writer.opening);
+        statement.setClosingBalance(writer.closing);
+        statement.setSizeBytes(Files.size(file));
+        statement.setGeneratedAt(LocalDateTime.now());
+        statementFileRepository.save(statement);
+
+        // 3. 두 세대 전 파일 삭제 (바로 이전 세대는 목록을 먼저 읽은 요청이 아직 열 수 있으므로 남겨 둠)
+        if (generation > 2) {
+            Files.deleteIfExists(accountDir.resolve(fileName(month, generation - 2)));
+            Files.deleteIfExists(accountDir.resolve(indexName(month, generation - 2)));
+        }
+    }
+
+    private static String fileName(YearMonth month, int generation) {
+        return month + "." + generation + ".csv.gz";
+    }
+
+    private static String indexName(YearMonth month, int generation) {
+        return month + "." + generation + ".idx";
+    }
+
+    // ================== 2. 조회 ==================
+
+    // 2-1. 계좌별 명세서 목록
+    @Transactional(readOnly = true)
+    public List<StatementFile> getStatements(Long userId, String accountNum) {
+        checkOwner(userId, accountNum);
+        return statementFileRepository.findByAccountNumOrderByStatementMonthDesc(accountNum);
+    }
+
+    /**
+     * 2-2. 명세서 내려받기
+     * - day 가 없으면 파일 전체, 있으면 헤더 + 그 일자 멤버만 (거래가 없는 날은 헤더만)
+     */
+    @Transactional(readOnly = true)
+    public StatementDownload openStatement(Long userId, String accountNum, YearMonth month, Integer day) {
+        checkOwner(userId, accountNum);
+        StatementFile statement = statementFileRepository.findByAccountNumAndStatementMonth(accountNum, month.toString())
+                .orElseThrow(() -> new StatementException.StatementNonExistsException(
+                        "명세서가 없습니다. accountNum=" + accountNum + ", month=" + month));
+
+        List<long[]> ranges = new ArrayList<>();
+        if (day == null) {
+            ranges.add(new long[]{0, statement.getSizeBytes()});
+        } else {
+            if (day < 1 || day > month.lengthOfMonth()) {
+                throw new StatementException.InvalidStatementDayException("명세서 월에 없는 일자입니다. month=" + month + ", day=" + day);
+            }
+            Map<String, long[]> index = readIndex(Path.of(statement.getIndexPath()), accountNum, month);
+            ranges.add(index.get(HEADER_KEY));
+            if (index.containsKey(String.valueOf(day))) {
+                ranges.add(index.get(String.valueOf(day)));
+            }
+        }
+
+        long contentLength = 0;
+        for (long[] range : ranges) {
+            contentLength += range[1];
+        }
+        String fileName = accountNum + "_" + (day == null ? month.toString() : month.atDay(day).toString()) + ".csv.gz";
+        Path file = Path.of(statement.getFilePath());
+        return new StatementDownload(fileName, contentLength, out -> transfer(file, ranges, out));
+    }
+
+    // .idx 한 줄 = "<멤버 키> <시작 위치> <길이> <행 수>"
+    private Map<String, long[]> readIndex(Path index, String accountNum, YearMonth month) {
+        try {
+            Map<String, long[]> ranges = new HashMap<>();
+            for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+                String[] parts = line.split(" ");
+                ranges.put(parts[0], new long[]{Long.parseLong(parts[1]), Long.parseLong(parts[2])});
+            }
+            return ranges;
+        } catch (NoSuchFileException e) {
+            throw new StatementException.StatementNonExistsException(
+                    "명세서 파일이 없습니다. accountNum=" + accountNum + ", month=" + month);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 응답 스트림으로 파일 범위를 그대로 전송 (커널/다이렉트 버퍼 복사, 힙에 올리지 않음)
+    private static void transfer(Path file, List<long[]> ranges, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            for (long[] range : ranges) {
+                long position = range[0];
+                long remaining = range[1];
+                while (remaining > 0) {
+                    long sent = channel.transferTo(position, remaining, target);
+                    if (sent <= 0) {
+                        throw new IOException("명세서 파일이 인덱스보다 짧습니다. file=" + file);
+                    }
+                    position += sent;
+                    remaining -= sent;
+                }
+            }
+        }
+        out.flush();
+    }
+
+    private void checkOwner(Long userId, String accountNum) {
+        Account account = accountRepository.findByAccountNum(accountNum)
+                .orElseThrow(() -> new AccountException.AccountNonExistsException("계좌를 찾을 수 없습니다. accountNum=" + accountNum));
+        if (!account.getUser().getId().equals(userId)) {
+            throw new AccountException.UnauthorizedAccountAccessException("해당 계좌에 대한 조회 권한이 없습니다.");
+        }
+    }
+
+    private record Signature(String accountNum, long rowCount, long lastLogId) {
+    }
+
+    // 내려받기 응답 (파일 이름 / 길이 / 본문)
+    @Getter
+    @AllArgsConstructor
+    public static class StatementDownload {
+        private final String fileName;
+        private final long contentLength;
+        private final StreamingResponseBody body;
+    }
+
+    // ================== 3. 파일 쓰기 ==================
+
+    /**
+     * 일자가 바뀔 때마다 gzip 멤버를 닫고 새로 시작
+     * - 멤버 위치는 압축 후 바이트 기준 (CountingOutputStream)
+     */
+    private static final class MemberWriter {
+
+        private final CountingOutputStream out;
+        private final List<String> index = new ArrayList<>();
+
+        private GZIPOutputStream member;
+        private Writer text;
+        private String memberKey;
+        private long memberStart;
+        private long memberRows;
+
+        private long rowCount;
+        private long lastLogId;
+        private BigDecimal opening = BigDecimal.ZERO;
+        private BigDecimal closing = BigDecimal.ZERO;
+
+        private MemberWriter(OutputStream target) throws IOException {
+            this.out = new CountingOutputStream(target);
+            begin(HEADER_KEY);
+            text.write(HEADER);
+            text.write('\n');
+        }
+
+        private void row(ResultSet rs) throws SQLException, IOException {
+            LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+            String day = String.valueOf(createdAt.getDayOfMonth());
+            if (!day.equals(memberKey)) {
+                end();
+                begin(day);
+            }
+
+            long logId = rs.getLong("log_id");
+            BigDecimal before = rs.getBigDecimal("before_balance");
+            BigDecimal after = rs.getBigDecimal("after_balance");
+            text.write(logId + "," + rs.getLong("transaction_id") + "," + rs.getString("action") + ","
+                    + before.toPlainString() + "," + after.toPlainString() + "," + createdAt + "\n");
+
+            if (rowCount == 0) {
+                opening = before;
+            }
+            closing = after;
+            rowCount++;
+            memberRows++;
+            lastLogId = Math.max(lastLogId, logId);
+        }
+
+        private void begin(String key) throws IOException {
+            memberKey = key;
+            memberStart = out.count;
+            memberRows = 0;
+            member = new GZIPOutputStream(out, BUFFER_SIZE);
+            text = new BufferedWriter(new OutputStreamWriter(member, StandardCharsets.UTF_8));
+        }
+
+        // close 로 Deflater 까지 정리 (아래 스트림은 CountingOutputStream 이 닫지 않음)
+        private void end() throws IOException {
+            text.close();
+            index.add(memberKey + " " + memberStart + " " + (out.count - memberStart) + " " + memberRows);
+        }
+
+        private void finish() throws IOException {
+            end();
+            out.flush();
+        }
+
+        private List<String> indexLines() {
+            return index;
+        }
+    }
+
+    // 쓴 바이트 수를 세는 스트림 (close 는 전달하지 않음 → 멤버를 닫아도 파일은 열려 있음)
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
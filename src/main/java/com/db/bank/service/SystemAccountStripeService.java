@@ -0,0 +1,128 @@
+package com.db.bank.service;
+
+import com.db.bank.apiPayload.exception.AccountException;
+import com.db.bank.domain.entity.Account;
+import com.db.bank.domain.enums.account.AccountType;
+import com.db.bank.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.db.bank.domain.enums.account.AccountType.EXTERNAL_IN;
+import static com.db.bank.domain.enums.account.AccountType.EXTERNAL_OUT;
+
+/**
+ * 시스템 계좌(EXTERNAL_IN / EXTERNAL_OUT) 분할(stripe) 관리
+ * - 모든 입금/출금이 시스템 계좌 한 행을 잠그지 않도록 N개의 하위 계좌로 나눔
+ * - 상대 계좌번호 해시로 stripe 를 고르고, 그 stripe 에만 금액을 누적
+ * - 주기적으로 stripe 잔액을 부모 계좌에 합산(fold)하고 stripe 는 0으로 되돌림
+ * - 시스템 계좌 잔액 = 시드 금액 + 지금까지 들어온(EXTERNAL_IN)/나간(EXTERNAL_OUT) 총액
+ * - bank.system-account.stripes = 0 이면 사용하지 않음 (기존 동작)
+ */
+@Service
+@RequiredArgsConstructor
+public class SystemAccountStripeService {
+
+    private final AccountRepository accountRepository;
+
+    @Value("${bank.system-account.stripes:0}")
+    private int stripeCount;
+
+    public boolean isEnabled() {
+        return stripeCount > 0;
+    }
+
+    // 상대 계좌번호 기준 stripe 번호
+    public int stripeFor(String counterpartyAccountNum) {
+        return Math.floorMod(counterpartyAccountNum.hashCode(), stripeCount);
+    }
+
+    /**
+     * 입금/출금 금액을 stripe 하나에 누적
+     * - 호출 측 트랜잭션 안에서 stripe 한 행만 잠금 (부모 계좌는 잠그지 않음)
+     */
+    @Transactional
+    public void accumulate(AccountType accountType, String counterpartyAccountNum, BigDecimal amount) {
+        int stripeNo = stripeFor(counterpartyAccountNum);
+        Account stripe = accountRepository.findStripeForUpdate(accountType, stripeNo)
+                .orElseThrow(() -> new AccountException.AccountNonExistsException(
+                        accountType + " stripe 계좌가 없습니다. stripeNo=" + stripeNo));
+        stripe.setBalance(stripe.getBalance().add(amount));
+    }
+
+    /**
+     * stripe 잔액을 부모 계좌로 합산
+     * - 부모 → stripe(번호 순) 순서로 잠금. 입금/출금은 부모를 잠그지 않으므로 순환 대기가 생기지 않음
+     */
+    @Transactional
+    public void foldStripes() {
+        fold(EXTERNAL_IN);
+        fold(EXTERNAL_OUT);
+    }
+
+    private void fold(AccountType accountType) {
+        Account parent = accountRepository.findSystemParentForUpdate(accountType)
+                .orElseThrow(() -> new AccountException.AccountNonExistsException(accountType + " 계좌가 없습니다."));
+
+        BigDecimal sum = BigDecimal.ZERO;
+        for (Account stripe : accountRepository.findAllStripesForUpdate(accountType)) {
+            if (stripe.getBalance().signum() == 0) {
+                continue;
+            }
+            sum = sum.add(stripe.getBalance());
+            stripe.setBalance(BigDecimal.ZERO);
+        }
+        if (sum.signum() != 0) {
+            parent.setBalance(parent.getBalance().add(sum));
+        }
+    }
+
+    /**
+     * 기동 시 stripe 하위 계좌 생성 (없는 번호만)
+     * - 계좌번호: 부모계좌번호-NN (예: 999-000-03)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void ensureStripes() {
+        if (!isEnabled()) {
+            return;
+        }
+        ensureStripes(EXTERNAL_IN);
+        ensureStripes(EXTERNAL_OUT);
+    }
+
+    private void ensureStripes(AccountType accountType) {
+        Account parent = accountRepository.findByAccountTypeAndStripeNoIsNull(accountType)
+                .orElseThrow(() -> new AccountException.AccountNonExistsException(accountType + " 계좌가 없습니다."));
+
+        List<Account> existing = accountRepository.findAllByAccountTypeAndStripeNoIsNotNull(accountType);
+        Set<Integer> existingNos = new HashSet<>();
+        for (Account stripe : existing) {
+            existingNos.add(stripe.getStripeNo());
+        }
+
+        for (int stripeNo = 0; stripeNo < stripeCount; stripeNo++) {
+            if (existingNos.contains(stripeNo)) {
+                continue;
+            }
+            Account stripe = Account.builder()
+                    .accountNum(String.format("%s-%02d", parent.getAccountNum(), stripeNo))
+                    .balance(BigDecimal.ZERO)
+                    .accountType(accountType)
+                    .stripeNo(stripeNo)
+                    .createdAt(LocalDateTime.now())
+                    .user(parent.getUser())
+                    .build();
+            accountRepository.save(stripe);
+        }
+    }
+}
@@ -2,22 +2,52 @@ package com.db.bank.service;
 
 
 import com.db.bank.apiPayload.exception.AccountException;
+import com.db.bank.apiPayload.exception.IdempotencyException;
+import com.db.bank.apiPayload.exception.TransactionException;
 import com.db.bank.apiPayload.exception.UserException;
 import com.db.bank.domain.entity.Account;
+import com.db.bank.domain.entity.Log;
+import com.db.bank.domain.entity.Posting;
 import com.db.bank.domain.entity.Transaction;
 import com.db.bank.domain.entity.User;
+import com.db.bank.domain.enums.account.AccountLockMode;
+import com.db.bank.domain.enums.idempotency.IdempotencyStatus;
+import com.db.bank.domain.enums.log.Action;
+import com.db.bank.domain.enums.posting.PostingDirection;
 import com.db.bank.domain.enums.transaction.TransactionStatus;
 import com.db.bank.domain.enums.transaction.TransactionType;
 import com.db.bank.repository.AccountRepository;
+import com.db.bank.repository.IdempotencyRecordRepository;
 import com.db.bank.repository.TransactionRepository;
 import com.db.bank.repository.UserRepository;
+import com.db.bank.repository.projection.TransactionHistoryRow;
+import com.db.bank.service.ledger.LedgerEngine;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.db.bank.domain.enums.account.AccountType.EXTERNAL_IN;
 import static com.db.bank.domain.enums.account.AccountType.EXTERNAL_OUT;
@@ -31,13 +61,39 @@ public class TransactionService {
     private final UserRepository userRepository;
     private final LogService logService;
     private final AbnTransferService abnTransferService;
+    private final LockRetryExecutor lockRetryExecutor;
+    private final SystemAccountStripeService systemAccountStripeService;
+    private final AbnPostCheckDispatcher abnPostCheckDispatcher;
+    private final LedgerEngine ledgerEngine;
+    private final PostingService postingService;
+    private final TransferMetrics transferMetrics;
+    private final DailyOutflowService dailyOutflowService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    // 커서 조회 한 페이지 최대 건수
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    // 일괄 이체 한 번에 처리할 수 있는 최대 건수
+    @Value("${bank.transfer.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    // 잠금 방식 (배포 단위 기본값 + 작업 종류별 지정)
+    @Value("${bank.transfer.lock-mode.deposit:${bank.transfer.lock-mode.default:PESSIMISTIC}}")
+    private AccountLockMode depositLockMode;
+
+    @Value("${bank.transfer.lock-mode.withdraw:${bank.transfer.lock-mode.default:PESSIMISTIC}}")
+    private AccountLockMode withdrawLockMode;
+
+    @Value("${bank.transfer.lock-mode.transfer:${bank.transfer.lock-mode.default:PESSIMISTIC}}")
+    private AccountLockMode transferLockMode;
+
     private Account getExternalInAccount() {
-        return accountRepository.findByAccountType(EXTERNAL_IN)
+        return accountRepository.findByAccountTypeAndStripeNoIsNull(EXTERNAL_IN)
                 .orElseThrow(() -> new AccountException.AccountNonExistsException("EXTERNAL_IN 계좌가 없습니다."));
     }
 
     private Account getExternalOutAccount() {
-        return accountRepository.findByAccountType(EXTERNAL_OUT)
+        return accountRepository.findByAccountTypeAndStripeNoIsNull(EXTERNAL_OUT)
                 .orElseThrow(() -> new AccountException.AccountNonExistsException("EXTERNAL_OUT 계좌가 없습니다."));
     }
     // ================== 1. 공통 유효성 체크 ==================
@@ -48,6 +104,54 @@ public class TransactionService {
         }
     }
 
+    /**
+     * 여러 계좌를 계좌번호 오름차순으로 잠금 (canonical lock order)
+     * - 모든 이체 경로가 같은 순서로 잠그므로 잠금 순환(교착)이 생기지 않음
+     * - 존재하지 않는 계좌는 결과 Map 에 없음
+     */
+    private Map<String, Account> lockAccountsInOrder(Collection<String> accountNums) {
+        TreeSet<String> sorted = new TreeSet<>();
+        for (String accountNum : accountNums) {
+            if (accountNum != null) {
+                sorted.add(accountNum);
+            }
+        }
+        return accountRepository.findAllByAccountNumInForUpdate(sorted).stream()
+                .collect(Collectors.toMap(Account::getAccountNum, Function.identity()));
+    }
+
+    // 잠금 방식에 따라 계좌 한 개 조회
+    private Optional<Account> loadAccount(String accountNum, AccountLockMode lockMode) {
+        return lockMode == AccountLockMode.OPTIMISTIC
+                ? accountRepository.findByAccountNum(accountNum)
+                : accountRepository.findByAccountNumForUpdate(accountNum);
+    }
+
+    /**
+     * OPTIMISTIC 모드: 잔액 변경 직후 version 조건부 UPDATE 를 바로 실행
+     * - 충돌(다른 트랜잭션이 먼저 수정)이면 여기서 OptimisticLockingFailureException → LockRetryExecutor 가 재시도
+     * - 거래/로그 INSERT 의 FK 검사(S 잠금) 뒤에 X 잠금으로 올리는 순서를 피해서 교착을 줄임
+     */
+    private void flushIfOptimistic(AccountLockMode lockMode) {
+        if (lockMode == AccountLockMode.OPTIMISTIC) {
+            accountRepository.flush();
+        }
+    }
+
+    /**
+     * Idempotency-Key 요청이면 거래를 만드는 트랜잭션 안에서 키 행을 IN_PROGRESS → APPLIED 로
+     * - 검증이 모두 끝난 뒤 호출 (업무 오류로 실패한 건의 키가 APPLIED 로 남지 않게)
+     * - 행이 이미 APPLIED 거나 멈춘 키로 넘겨받혀 없어졌으면 이 이체는 롤백 (키 하나로 한 번만 반영)
+     */
+    private void claimIdempotency(Long idempotencyId) {
+        if (idempotencyId == null) {
+            return;
+        }
+        if (idempotencyRecordRepository.transition(idempotencyId, IdempotencyStatus.IN_PROGRESS, IdempotencyStatus.APPLIED) != 1) {
+            throw new IdempotencyException.RequestInProgressException("같은 Idempotency-Key 요청이 처리 중입니다.");
+        }
+    }
+
     private User loadUser(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new UserException.UserNonExistsException("사용자를 찾을 수 없습니다. id=" + userId));
@@ -57,22 +161,43 @@ public class TransactionService {
 
 
     //입금: fromAccount: null / toAccount
-    @Transactional
     public Transaction deposit(
             Long userId,
             String toAccountNum,
             BigDecimal amount,
             String memo
+    ) {
+        // 원장 엔진 모드: 메모리 샤드에서 처리하고 DB 반영은 write-behind
+        if (ledgerEngine.isEnabled()) {
+            return ledgerEngine.deposit(userId, toAccountNum, amount, memo);
+        }
+        Timer.Sample total = transferMetrics.start();
+        try {
+            return lockRetryExecutor.execute(() -> doDeposit(userId, toAccountNum, amount, memo));
+        } finally {
+            transferMetrics.stopPhase(total, "deposit", TransferMetrics.PHASE_TOTAL);
+        }
+    }
+
+    private Transaction doDeposit(
+            Long userId,
+            String toAccountNum,
+            BigDecimal amount,
+            String memo
     ) {
         validateAmount(amount);
         User actor = loadUser(userId);
 
-        // 잠금 걸고 계좌 조회
-        Account toAccount = accountRepository.findByAccountNumForUpdate(toAccountNum)
+        // 잠금 걸고 계좌 조회 (OPTIMISTIC 이면 일반 조회)
+        Timer.Sample phase = transferMetrics.start();
+        Account toAccount = loadAccount(toAccountNum, depositLockMode)
                 .orElseThrow(() -> new AccountException.AccountNonExistsException("입금 계좌를 찾을 수 없습니다. accountNum=" + toAccountNum));
 
         Account externalInAccount = getExternalInAccount();
+        transferMetrics.stopPhase(phase, "deposit", TransferMetrics.PHASE_LOCK);
 
+        phase = transferMetrics.start();
+        claimIdempotency(IdempotencyContext.current());
         BigDecimal before = toAccount.getBalance();
         BigDecimal after = before.add(amount);
         toAccount.setBalance(after);
@@ -84,12 +209,27 @@ public class TransactionService {
                 .amount(amount)
                 .status(TransactionStatus.SUCCESS)
                 .memo(memo)
+                .idempotencyId(IdempotencyContext.current())
                 .build();
 
+        // 분개: 잔액과 같은 UPDATE 에 seq 증가가 실리도록 flush 전에 생성
+        List<Posting> postings = List.of(
+                postingService.newSystemPosting(tx, externalInAccount, PostingDirection.DEBIT, amount),
+                postingService.newPosting(tx, toAccount, PostingDirection.CREDIT, amount)
+        );
+        flushIfOptimistic(depositLockMode);
+
+        // stripe 모드: EXTERNAL_IN 부모 대신 stripe 하나에만 누적 (부모 행은 잠그지 않음)
+        if (systemAccountStripeService.isEnabled()) {
+            systemAccountStripeService.accumulate(EXTERNAL_IN, toAccountNum, amount);
+        }
+
         tx = transactionRepository.save(tx);
+        postingService.recordPostings(postings);
 
         // 로그 기록
         logService.logDeposit(tx, toAccount, before, after, actor);
+        transferMetrics.stopPhase(phase, "deposit", TransferMetrics.PHASE_WRITE);
 
         return tx;
     }
@@ -101,19 +241,37 @@ public class TransactionService {
      * - fromAccountNum 계좌에서 amount 만큼 출금
      * - 출금은 반드시 자신의 계좌에서만 가능 (소유자 검증)
      */
-    @Transactional
     public Transaction withdraw(
             Long userId,
             String fromAccountNum,
             BigDecimal amount,
             String memo
+    ) {
+        if (ledgerEngine.isEnabled()) {
+            return ledgerEngine.withdraw(userId, fromAccountNum, amount, memo);
+        }
+        Timer.Sample total = transferMetrics.start();
+        try {
+            return lockRetryExecutor.execute(() -> doWithdraw(userId, fromAccountNum, amount, memo));
+        } finally {
+            transferMetrics.stopPhase(total, "withdraw", TransferMetrics.PHASE_TOTAL);
+        }
+    }
+
+    private Transaction doWithdraw(
+            Long userId,
+            String fromAccountNum,
+            BigDecimal amount,
+            String memo
     ) {
         validateAmount(amount);
         User actor = loadUser(userId);
 
-        Account fromAccount = accountRepository.findByAccountNumForUpdate(fromAccountNum)
+        Timer.Sample phase = transferMetrics.start();
+        Account fromAccount = loadAccount(fromAccountNum, withdrawLockMode)
                 .orElseThrow(() -> new AccountException.AccountNonExistsException("출금 계좌를 찾을 수 없습니다. accountNum=" + fromAccountNum));
         Account externalOutAccount = getExternalOutAccount();
+        transferMetrics.stopPhase(phase, "withdraw", TransferMetrics.PHASE_LOCK);
 
         // 소유자 검증
         if (!fromAccount.getUser().getId().equals(userId)) {
@@ -125,6 +283,8 @@ public class TransactionService {
             throw new AccountException.InsufficientBalanceException("잔액이 부족합니다.");
         }
 
+        phase = transferMetrics.start();
+        claimIdempotency(IdempotencyContext.current());
         BigDecimal after = before.subtract(amount);
         fromAccount.setBalance(after);
 
@@ -135,13 +295,28 @@ public class TransactionService {
                 .amount(amount)
                 .status(TransactionStatus.SUCCESS)
                 .memo(memo)
+                .idempotencyId(IdempotencyContext.current())
                 .build();
 
+        List<Posting> postings = List.of(
+                postingService.newPosting(tx, fromAccount, PostingDirection.DEBIT, amount),
+                postingService.newSystemPosting(tx, externalOutAccount, PostingDirection.CREDIT, amount)
+        );
+        flushIfOptimistic(withdrawLockMode);
+
+        if (systemAccountStripeService.isEnabled()) {
+            systemAccountStripeService.accumulate(EXTERNAL_OUT, fromAccountNum, amount);
+        }
+
         tx = transactionRepository.save(tx);
+        postingService.recordPostings(postings);
+        dailyOutflowService.record(fromAccount, amount);
 
         // 로그 기록
         logService.logWithdraw(tx, fromAccount, before, after, actor);
-        abnTransferService.postCheckAbnTransfer(tx);
+        transferMetrics.stopPhase(phase, "withdraw", TransferMetrics.PHASE_WRITE);
+        // 이상거래 사후 검사는 커밋 이후 비동기로 (잠금 보유 시간에서 제외)
+        abnPostCheckDispatcher.dispatchAfterCommit(tx);
         return tx;
     }
 
@@ -151,8 +326,8 @@ public class TransactionService {
      * 계좌 이체
      * - fromAccountNum -> toAccountNum 으로 amount 만큼 보냄
      * - 출금 계좌는 반드시 자신의 계좌여야 함 (소유자 검증)
+     * - 교착 상태/잠금 대기 초과 시 LockRetryExecutor 가 새 트랜잭션으로 재시도
      */
-    @Transactional
     public Transaction transfer(
             Long userId,
             String fromAccountNum,
@@ -160,7 +335,34 @@ public class TransactionService {
             BigDecimal amount,
             String memo
     ) {
-        return doTransfer(userId, fromAccountNum, toAccountNum, amount, memo);
+        if (ledgerEngine.isEnabled()) {
+            return ledgerEngine.transfer(userId, fromAccountNum, toAccountNum, amount, memo);
+        }
+        Timer.Sample total = transferMetrics.start();
+        try {
+            return lockRetryExecutor.execute(() -> doTransfer(userId, fromAccountNum, toAccountNum, amount, memo, transferLockMode));
+        } finally {
+            transferMetrics.stopPhase(total, "transfer", TransferMetrics.PHASE_TOTAL);
+        }
+    }
+
+    /**
+     * 예약이체 재시도용 이체
+     * - 결과 거래를 실행 기록(FK)에 저장해야 하므로, 원장 엔진 모드에서는 DB 반영까지 기다린 뒤 저장된 거래를 반환
+     */
+    public Transaction transferForScheduleRetry(
+            Long userId,
+            String fromAccountNum,
+            String toAccountNum,
+            BigDecimal amount,
+            String memo
+    ) {
+        if (ledgerEngine.isEnabled()) {
+            Long transactionId = ledgerEngine.transferAndAwaitPersisted(userId, fromAccountNum, toAccountNum, amount, memo);
+            return transactionRepository.findById(transactionId)
+                    .orElseThrow(() -> new TransactionException.TransactionNonExistsException("존재하지 않는 트랜잭션"));
+        }
+        return transfer(userId, fromAccountNum, toAccountNum, amount, memo);
     }
 
     @Transactional(noRollbackFor = AccountException.InsufficientBalanceException.class)
@@ -171,15 +373,21 @@ public class TransactionService {
             BigDecimal amount,
             String memo
     ) {
-
-        return doTransfer(userId, fromAccountNum, toAccountNum, amount, memo);
+        // 원장 엔진 모드: 바깥 트랜잭션의 스냅샷에서는 새 행이 안 보일 수 있으므로 참조(id)만 사용
+        if (ledgerEngine.isEnabled()) {
+            Long transactionId = ledgerEngine.transferAndAwaitPersisted(userId, fromAccountNum, toAccountNum, amount, memo);
+            return transactionRepository.getReferenceById(transactionId);
+        }
+        // 바깥 트랜잭션 안에서 실행되어 재시도가 불가능하므로 항상 비관적 잠금
+        return doTransfer(userId, fromAccountNum, toAccountNum, amount, memo, AccountLockMode.PESSIMISTIC);
     }
     private Transaction doTransfer(
             Long userId,
             String fromAccountNum,
             String toAccountNum,
             BigDecimal amount,
-            String memo
+            String memo,
+            AccountLockMode lockMode
     ) {
         validateAmount(amount);
         if (fromAccountNum.equals(toAccountNum)) {
@@ -189,11 +397,25 @@ public class TransactionService {
         User actor = loadUser(userId);
 
         // 잠금 걸고 두 계좌 조회
-        Account fromAccount = accountRepository.findByAccountNumForUpdate(fromAccountNum)
-                .orElseThrow(() -> new AccountException.AccountNonExistsException("출금 계좌를 찾을 수 없습니다. accountNum=" + fromAccountNum));
+        // 호출 순서(from → to)가 아니라 항상 계좌번호 오름차순으로 잠가서 A→B / B→A 동시 이체의 교착을 막음
+        // OPTIMISTIC 이면 잠금 없이 조회하고 반영 시점의 version 조건부 UPDATE 로 충돌 확인
+        Timer.Sample phase = transferMetrics.start();
+        List<String> accountNums = List.of(fromAccountNum, toAccountNum);
+        Map<String, Account> locked = lockMode == AccountLockMode.OPTIMISTIC
+                ? accountRepository.findAllByAccountNumIn(accountNums).stream()
+                        .collect(Collectors.toMap(Account::getAccountNum, Function.identity()))
+                : lockAccountsInOrder(accountNums);
+        transferMetrics.stopPhase(phase, "transfer", TransferMetrics.PHASE_LOCK);
+
+        Account fromAccount = locked.get(fromAccountNum);
+        if (fromAccount == null) {
+            throw new AccountException.AccountNonExistsException("출금 계좌를 찾을 수 없습니다. accountNum=" + fromAccountNum);
+        }
 
-        Account toAccount = accountRepository.findByAccountNumForUpdate(toAccountNum)
-                .orElseThrow(() -> new AccountException.AccountNonExistsException("입금 계좌를 찾을 수 없습니다. accountNum=" + toAccountNum));
+        Account toAccount = locked.get(toAccountNum);
+        if (toAccount == null) {
+            throw new AccountException.AccountNonExistsException("입금 계좌를 찾을 수 없습니다. accountNum=" + toAccountNum);
+        }
 
         // 소유자 검증 (fromAccount 만)
         if (!fromAccount.getUser().getId().equals(userId)) {
@@ -204,8 +426,12 @@ public class TransactionService {
         if (fromBefore.compareTo(amount) < 0) {
             throw new AccountException.InsufficientBalanceException("잔액이 부족합니다.");
         }
+        phase = transferMetrics.start();
         abnTransferService.preCheckAbnTransfer(fromAccount, toAccount, amount);
+        transferMetrics.stopPhase(phase, "transfer", TransferMetrics.PHASE_ABN_PRE_CHECK);
 
+        phase = transferMetrics.start();
+        claimIdempotency(IdempotencyContext.current());
         BigDecimal toBefore = toAccount.getBalance();
 
         BigDecimal fromAfter = fromBefore.subtract(amount);
@@ -221,22 +447,254 @@ public class TransactionService {
                 .amount(amount)
                 .status(TransactionStatus.SUCCESS)
                 .memo(memo)
+                .idempotencyId(IdempotencyContext.current())
                 .build();
 
+        List<Posting> postings = List.of(
+                postingService.newPosting(tx, fromAccount, PostingDirection.DEBIT, amount),
+                postingService.newPosting(tx, toAccount, PostingDirection.CREDIT, amount)
+        );
+        flushIfOptimistic(lockMode);
+
         tx = transactionRepository.save(tx);
-        abnTransferService.postCheckAbnTransfer(tx);
+        postingService.recordPostings(postings);
+        // 하루 출금 합계도 같은 트랜잭션에서 (다음 한도 검사가 바로 읽음)
+        dailyOutflowService.record(fromAccount, amount);
+        abnPostCheckDispatcher.dispatchAfterCommit(tx);
         // 로그 기록 (보낸 쪽 / 받은 쪽 따로)
         logService.logTransferDebit(tx, fromAccount, fromBefore, fromAfter, actor);
         logService.logTransferCredit(tx, toAccount, toBefore, toAfter, actor);
+        transferMetrics.stopPhase(phase, "transfer", TransferMetrics.PHASE_WRITE);
 
         return tx;
     }
 
+    // ================== 4-1. 일괄 이체 ==================
+
+    /**
+     * 일괄 이체 (월말 정산 등)
+     * - 관련된 모든 계좌를 계좌번호 오름차순으로 한 번에 잠금 (건마다 잠금 조회 X)
+     * - 거래/로그는 모아서 saveAll 로 저장
+     * - atomic = true  → 한 건이라도 실패하면 예외를 던져 전체 롤백
+     * - atomic = false → 실패한 건은 결과에만 남기고 나머지는 반영
+     */
+    @Transactional
+    public List<TransferOutcome> transferBatch(
+            Long userId,
+            List<TransferCommand> commands,
+            boolean atomic
+    ) {
+        if (commands == null || commands.isEmpty()) {
+            throw new AccountException.InvalidAccountArgumentException("일괄 이체 항목이 비어 있습니다.");
+        }
+        if (commands.size() > maxBatchSize) {
+            throw new AccountException.InvalidAccountArgumentException("일괄 이체는 최대 " + maxBatchSize + "건까지 가능합니다.");
+        }
+        for (TransferCommand command : commands) {
+            if (!userId.equals(command.getUserId())) {
+                throw new AccountException.UnauthorizedAccountAccessException("일괄 이체 요청자와 항목의 사용자가 다릅니다.");
+            }
+        }
+        if (ledgerEngine.isEnabled()) {
+            return applyTransfersOnLedger(commands, atomic);
+        }
+        return applyTransfers(commands, atomic);
+    }
+
+    /**
+     * 원장 엔진 모드 일괄 이체
+     * - 샤드마다 따로 반영되므로 전체 원자성(atomic)은 보장할 수 없음 → 건별 결과 모드만 지원
+     */
+    private List<TransferOutcome> applyTransfersOnLedger(List<TransferCommand> commands, boolean atomic) {
+        if (atomic) {
+            throw new AccountException.InvalidAccountArgumentException("원장 엔진 모드에서는 atomic 일괄 이체를 지원하지 않습니다.");
+        }
+        List<TransferOutcome> outcomes = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            TransferCommand command = commands.get(i);
+            try {
+                Transaction tx = ledgerEngine.transfer(command.getUserId(), command.getFromAccountNum(),
+                        command.getToAccountNum(), command.getAmount(), command.getMemo());
+                outcomes.add(TransferOutcome.success(i, tx));
+            } catch (AccountException | TransactionException e) {
+                outcomes.add(TransferOutcome.failure(i, e));
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * 그룹 커밋 (TransferGroupCommitExecutor 에서 호출)
+     * - 여러 사용자의 이체를 트랜잭션 하나로 반영, 업무 오류는 그 건만 실패로 남김
+     * - 교착/잠금 대기 초과 시 그룹 전체를 새 트랜잭션으로 재시도
+     * - SQL 은 콜백 안에서 모두 flush → 콜백에서 난 예외는 롤백이 확실함
+     *   committing 은 콜백이 끝나 커밋을 시작하면 true (그 뒤의 예외는 커밋됐을 수 있음: 커밋 응답 유실, afterCommit 등)
+     */
+    public List<TransferOutcome> transferGroup(List<TransferCommand> commands, AtomicBoolean committing) {
+        return lockRetryExecutor.execute(() -> {
+            committing.set(false);
+            List<TransferOutcome> outcomes = applyTransfers(commands, false);
+            transactionRepository.flush();
+            committing.set(true);
+            return outcomes;
+        });
+    }
+
+    private List<TransferOutcome> applyTransfers(List<TransferCommand> commands, boolean atomic) {
+        Map<Long, User> actors = new HashMap<>();
+        for (TransferCommand command : commands) {
+            actors.computeIfAbsent(command.getUserId(), this::loadUser);
+        }
+
+        // 관련 계좌 전체를 계좌번호 오름차순으로 한 번에 잠금
+        List<String> accountNums = new ArrayList<>();
+        for (TransferCommand command : commands) {
+            accountNums.add(command.getFromAccountNum());
+            accountNums.add(command.getToAccountNum());
+        }
+        Timer.Sample phase = transferMetrics.start();
+        Map<String, Account> accounts = lockAccountsInOrder(accountNums);
+        transferMetrics.stopPhase(phase, "batch", TransferMetrics.PHASE_LOCK);
+
+        // 이번 배치에서 이미 빠져나간 금액 (일일 한도 체크에 합산)
+        Map<String, BigDecimal> pendingOutflow = new HashMap<>();
+
+        List<TransferOutcome> outcomes = new ArrayList<>(commands.size());
+        List<Transaction> txs = new ArrayList<>();
+        List<Log> logs = new ArrayList<>();
+        List<Posting> postings = new ArrayList<>();
+
+        for (int i = 0; i < commands.size(); i++) {
+            TransferCommand command = commands.get(i);
+            try {
+                Transaction tx = applyTransfer(command, actors.get(command.getUserId()), accounts, pendingOutflow, logs, postings);
+                txs.add(tx);
+                outcomes.add(TransferOutcome.success(i, tx));
+            } catch (AccountException | TransactionException | IdempotencyException e) {
+                if (atomic) {
+                    throw e;
+                }
+                outcomes.add(TransferOutcome.failure(i, e));
+            }
+        }
+
+        phase = transferMetrics.start();
+        transactionRepository.saveAll(txs);
+        logService.recordLogs(logs);
+        postingService.recordPostings(postings);
+        dailyOutflowService.recordAll(txs);
+        transferMetrics.stopPhase(phase, "batch", TransferMetrics.PHASE_WRITE);
+        for (Transaction tx : txs) {
+            abnPostCheckDispatcher.dispatchAfterCommit(tx);
+        }
+        return outcomes;
+    }
+
+    // 이미 잠근 계좌 위에서 한 건 반영 (검증이 모두 끝난 뒤에만 잔액을 바꿈)
+    private Transaction applyTransfer(
+            TransferCommand command,
+            User actor,
+            Map<String, Account> accounts,
+            Map<String, BigDecimal> pendingOutflow,
+            List<Log> logs,
+            List<Posting> postings
+    ) {
+        BigDecimal amount = command.getAmount();
+        validateAmount(amount);
+        if (command.getFromAccountNum() == null || command.getFromAccountNum().equals(command.getToAccountNum())) {
+            throw new AccountException.InvalidAccountArgumentException("출금 계좌와 입금 계좌가 같을 수 없습니다.");
+        }
+
+        Account fromAccount = accounts.get(command.getFromAccountNum());
+        if (fromAccount == null) {
+            throw new AccountException.AccountNonExistsException("출금 계좌를 찾을 수 없습니다. accountNum=" + command.getFromAccountNum());
+        }
+        Account toAccount = accounts.get(command.getToAccountNum());
+        if (toAccount == null) {
+            throw new AccountException.AccountNonExistsException("입금 계좌를 찾을 수 없습니다. accountNum=" + command.getToAccountNum());
+        }
+
+        if (!fromAccount.getUser().getId().equals(command.getUserId())) {
+            throw new AccountException.UnauthorizedAccountAccessException("해당 출금 계좌는 이 사용자의 계좌가 아닙니다.");
+        }
+
+        BigDecimal fromBefore = fromAccount.getBalance();
+        if (fromBefore.compareTo(amount) < 0) {
+            throw new AccountException.InsufficientBalanceException("잔액이 부족합니다.");
+        }
+        BigDecimal pending = pendingOutflow.getOrDefault(fromAccount.getAccountNum(), BigDecimal.ZERO);
+        Timer.Sample phase = transferMetrics.start();
+        abnTransferService.preCheckAbnTransfer(fromAccount, toAccount, amount, pending);
+        transferMetrics.stopPhase(phase, "batch", TransferMetrics.PHASE_ABN_PRE_CHECK);
+
+        claimIdempotency(command.getIdempotencyId());
+        BigDecimal toBefore = toAccount.getBalance();
+        BigDecimal fromAfter = fromBefore.subtract(amount);
+        BigDecimal toAfter = toBefore.add(amount);
+
+        fromAccount.setBalance(fromAfter);
+        toAccount.setBalance(toAfter);
+        pendingOutflow.put(fromAccount.getAccountNum(), pending.add(amount));
+
+        Transaction tx = Transaction.builder()
+                .fromAccount(fromAccount)
+                .toAccount(toAccount)
+                .type(TransactionType.TRANSFER)
+                .amount(amount)
+                .status(TransactionStatus.SUCCESS)
+                .memo(command.getMemo())
+                .idempotencyId(command.getIdempotencyId())
+                .build();
+
+        logs.add(logService.newLog(tx, fromAccount, fromBefore, fromAfter, Action.TRANSFER_DEBIT, actor));
+        logs.add(logService.newLog(tx, toAccount, toBefore, toAfter, Action.TRANSFER_CREDIT, actor));
+        postings.add(postingService.newPosting(tx, fromAccount, PostingDirection.DEBIT, amount));
+        postings.add(postingService.newPosting(tx, toAccount, PostingDirection.CREDIT, amount));
+        return tx;
+    }
+
+    // 일괄 이체 한 건의 요청
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    public static class TransferCommand {
+        private final Long userId;
+        private final String fromAccountNum;
+        private final String toAccountNum;
+        private final BigDecimal amount;
+        private final String memo;
+        // 그룹 커밋: 요청 스레드의 Idempotency-Key 행 id (워커 스레드에서 거래에 저장)
+        private final Long idempotencyId;
+    }
+
+    // 일괄 이체 한 건의 결과 (성공 시 transaction, 실패 시 errorType/errorMessage + 원래 예외)
+    @Getter
+    @AllArgsConstructor
+    public static class TransferOutcome {
+        private final int index;
+        private final Transaction transaction;
+        private final String errorType;
+        private final String errorMessage;
+        private final RuntimeException error;
+
+        public static TransferOutcome success(int index, Transaction transaction) {
+            return new TransferOutcome(index, transaction, null, null, null);
+        }
+
+        public static TransferOutcome failure(int index, RuntimeException e) {
+            return new TransferOutcome(index, null, e.getClass().getSimpleName(), e.getMessage(), e);
+        }
+
+        public boolean isSuccess() {
+            return transaction != null;
+        }
+    }
+
     // ================== 5. 조회용 메서드 ==================
 
-    // 5-1. 내가 보낸 거래 내역 (fromAccount 기준)
+    // 5-1. 내가 보낸 거래 내역 (fromAccount 기준, 응답 컬럼만 프로젝션으로 조회)
     @Transactional(readOnly = true)
-    public Page<Transaction> getSentTransactions(
+    public Page<TransactionHistoryRow> getSentTransactions(
             Long userId,
             Long fromAccountId,
             Pageable pageable
@@ -249,12 +707,12 @@ public class TransactionService {
             throw new AccountException.UnauthorizedAccountAccessException("해당 계좌에 대한 조회 권한이 없습니다.");
         }
 
-        return transactionRepository.findByFromAccountIdOrderByCreatedAtDesc(fromAccountId, pageable);
+        return transactionRepository.findSentHistory(fromAccountId, pageable);
     }
 
     // 5-2. 내가 받은 거래 내역 (toAccount 기준)
     @Transactional(readOnly = true)
-    public Page<Transaction> getReceivedTransactions(
+    public Page<TransactionHistoryRow> getReceivedTransactions(
             Long userId,
             Long toAccountId,
             Pageable pageable
@@ -266,6 +724,95 @@ public class TransactionService {
             throw new AccountException.UnauthorizedAccountAccessException("해당 계좌에 대한 조회 권한이 없습니다.");
         }
 
-        return transactionRepository.findByToAccountIdOrderByCreatedAtDesc(toAccountId, pageable);
+        return transactionRepository.findReceivedHistory(toAccountId, pageable);
+    }
+
+    // ================== 6. 커서(keyset) 거래 내역 ==================
+
+    /**
+     * 보낸 거래 내역 (커서 방식)
+     * - OFFSET/COUNT 없이 (createdAt, id) 기준으로 이어 읽음 → 깊은 페이지도 첫 페이지와 같은 비용
+     * - cursor 가 null 이면 첫 페이지
+     */
+    @Transactional(readOnly = true)
+    public TransactionSlice getSentTransactionsByCursor(Long userId, Long fromAccountId, String cursor, int size) {
+        String accountNum = ownedAccountNum(userId, fromAccountId);
+        int pageSize = cursorPageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<TransactionHistoryRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findSentFirst(accountNum, limit);
+        } else {
+            CursorKey key = decodeCursor(cursor);
+            rows = transactionRepository.findSentAfter(accountNum, key.createdAt(), key.id(), limit);
+        }
+        return toSlice(rows, pageSize);
+    }
+
+    // 받은 거래 내역 (커서 방식)
+    @Transactional(readOnly = true)
+    public TransactionSlice getReceivedTransactionsByCursor(Long userId, Long toAccountId, String cursor, int size) {
+        String accountNum = ownedAccountNum(userId, toAccountId);
+        int pageSize = cursorPageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<TransactionHistoryRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findReceivedFirst(accountNum, limit);
+        } else {
+            CursorKey key = decodeCursor(cursor);
+            rows = transactionRepository.findReceivedAfter(accountNum, key.createdAt(), key.id(), limit);
+        }
+        return toSlice(rows, pageSize);
+    }
+
+    private String ownedAccountNum(Long userId, Long accountId) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountException.AccountNonExistsException("계좌를 찾을 수 없습니다. id=" + accountId));
+        if (!account.getUser().getId().equals(userId)) {
+            throw new AccountException.UnauthorizedAccountAccessException("해당 계좌에 대한 조회 권한이 없습니다.");
+        }
+        return account.getAccountNum();
+    }
+
+    private int cursorPageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+    }
+
+    // size + 1 건을 읽어서 다음 페이지가 있는지 판단 (COUNT 대신)
+    private TransactionSlice toSlice(List<TransactionHistoryRow> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new TransactionSlice(rows, null);
+        }
+        List<TransactionHistoryRow> page = rows.subList(0, pageSize);
+        return new TransactionSlice(page, encodeCursor(page.get(pageSize - 1)));
+    }
+
+    // 커서 = base64url("<createdAt>|<id>") : 클라이언트는 내용을 해석하지 않고 그대로 돌려보냄
+    private static String encodeCursor(TransactionHistoryRow last) {
+        String raw = last.createdAt() + "|" + last.transactionId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static CursorKey decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new CursorKey(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new TransactionException.InvalidCursorException("거래 조회 커서가 올바르지 않습니다. cursor=" + cursor);
+        }
+    }
+
+    private record CursorKey(LocalDateTime createdAt, Long id) {
+    }
+
+    // 커서 조회 결과 (nextCursor 가 null 이면 마지막 페이지)
+    @Getter
+    @AllArgsConstructor
+    public static class TransactionSlice {
+        private final List<TransactionHistoryRow> transactions;
+        private final String nextCursor;
     }
 }
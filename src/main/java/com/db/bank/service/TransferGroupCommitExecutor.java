@@ -0,0 +1,290 @@
+package com.db.bank.service;
+
+import com.db.bank.apiPayload.exception.TransactionException;
+import com.db.bank.domain.entity.Transaction;
+import com.db.bank.service.ledger.LedgerEngine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이체 그룹 커밋 실행기 (bank.transfer.group-commit.enabled=true 일 때만 동작)
+ * - window-ms 동안 들어온 이체(최대 max-batch 건)를 모아 DB 트랜잭션 하나로 반영 → 커밋(fsync) 횟수를 줄임
+ * - 그룹 안의 계좌는 일괄 이체와 같은 방식으로 계좌번호 오름차순으로 한 번에 잠금
+ * - 잔액 부족/한도 초과 등 업무 오류는 그 건만 실패 처리 (그룹 전체는 커밋)
+ * - 그룹 트랜잭션이 커밋 전에 실패하면(롤백 확실) 각 건을 개별 이체로 다시 실행해서 다른 요청에 영향이 없게 함
+ * - 커밋 중이나 커밋 이후(afterCommit 등)에 실패하면 반영됐을 수 있음 → 다시 실행하지 않고 모두 "처리 중"으로 응답
+ * - timeout-ms 안에 결과가 없을 때: 아직 그룹에 들어가지 않은 요청은 취소하고 실패로 응답,
+ *   이미 그룹에 들어간 요청은 반영될 수 있으므로 실패가 아닌 "처리 중"(OutcomePendingException)으로 응답
+ * - window-ms 를 늘리면 처리량↑ / 응답 지연↑ → 아래 지표로 확인하면서 조정
+ *   bank.transfer.group.size    : 그룹당 건수
+ *   bank.transfer.group.wait    : 요청이 그룹에 묶이기까지 기다린 시간 (추가 지연)
+ *   bank.transfer.group.commit  : 그룹 트랜잭션 실행 시간
+ *   bank.transfer.group.fallback: 개별 실행으로 되돌린 그룹 수
+ */
+@Slf4j
+@Component
+public class TransferGroupCommitExecutor {
+
+    private final TransactionService transactionService;
+    private final LedgerEngine ledgerEngine;
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final int workers;
+    private final long timeoutMs;
+    private final BlockingQueue<Pending> queue;
+
+    private final DistributionSummary groupSize;
+    private final Timer waitTimer;
+    private final Timer commitTimer;
+    private final Counter fallbackCounter;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    public TransferGroupCommitExecutor(
+            TransactionService transactionService,
+            LedgerEngine ledgerEngine,
+            MeterRegistry meterRegistry,
+            @Value("${bank.transfer.group-commit.enabled:false}") boolean enabled,
+            @Value("${bank.transfer.group-commit.window-ms:2}") long windowMs,
+            @Value("${bank.transfer.group-commit.max-batch:64}") int maxBatch,
+            @Value("${bank.transfer.group-commit.workers:2}") int workers,
+            @Value("${bank.transfer.group-commit.queue-capacity:10000}") int queueCapacity,
+            @Value("${bank.transfer.group-commit.timeout-ms:5000}") long timeoutMs
+    ) {
+        this.transactionService = transactionService;
+        this.ledgerEngine = ledgerEngine;
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.workers = Math.max(1, workers);
+        this.timeoutMs = timeoutMs;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+
+        this.groupSize = DistributionSummary.builder("bank.transfer.group.size")
+                .description("그룹 커밋 한 번에 묶인 이체 수")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("bank.transfer.group.wait")
+                .description("이체 요청이 그룹에 묶이기까지 기다린 시간")
+                .register(meterRegistry);
+        this.commitTimer = Timer.builder("bank.transfer.group.commit")
+                .description("그룹 트랜잭션 실행 시간 (잠금 + 반영 + 커밋)")
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("bank.transfer.group.fallback")
+                .description("그룹 실패로 건별 실행으로 되돌린 횟수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(this::run, "transfer-group-commit-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread thread : threads) {
+            thread.join(timeoutMs);
+        }
+    }
+
+    /**
+     * 이체 (컨트롤러에서 호출)
+     * - 그룹 커밋이 꺼져 있거나 원장 엔진 모드면 TransactionService.transfer 그대로
+     */
+    public Transaction transfer(
+            Long userId,
+            String fromAccountNum,
+            String toAccountNum,
+            BigDecimal amount,
+            String memo
+    ) {
+        if (!enabled || ledgerEngine.isEnabled()) {
+            return transactionService.transfer(userId, fromAccountNum, toAccountNum, amount, memo);
+        }
+
+        TransactionService.TransferCommand command = TransactionService.TransferCommand.builder()
+                .userId(userId)
+                .fromAccountNum(fromAccountNum)
+                .toAccountNum(toAccountNum)
+                .amount(amount)
+                .memo(memo)
+                .idempotencyId(IdempotencyContext.current())
+                .build();
+        Pending pending = new Pending(command, System.nanoTime(), new CompletableFuture<>());
+        try {
+            if (!queue.offer(pending, timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new TransactionException.TransferQueueFullException("이체 대기열이 가득 찼습니다.");
+            }
+            return pending.result().get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw giveUp(pending, "이체 처리 시간이 초과되었습니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw giveUp(pending, "이체 처리 대기 중 중단되었습니다.");
+        }
+    }
+
+    /**
+     * 기다리기를 포기한 요청
+     * - 워커가 아직 가져가지 않았으면 취소 → 반영되지 않음이 확실하므로 실패로 응답
+     * - 이미 그룹에 들어갔으면 커밋될 수 있음 → 결과 미확정으로 응답 (실패로 알리지 않음)
+     */
+    private TransactionException giveUp(Pending pending, String message) {
+        if (pending.cancel()) {
+            queue.remove(pending);
+            return new TransactionException.TransferQueueFullException(message);
+        }
+        return new TransactionException.OutcomePendingException("이체가 처리 중입니다. 거래 내역에서 결과를 확인해 주세요.");
+    }
+
+    private void run() {
+        List<Pending> group = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+
+                // 첫 요청 기준 window 동안 또는 max-batch 가 찰 때까지 모음
+                long deadline = System.nanoTime() + windowNanos;
+                while (group.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        queue.drainTo(group, maxBatch - group.size());
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<Pending> group) {
+        // 호출자가 이미 취소한 요청은 빼고, 나머지는 이 시점부터 취소할 수 없게 표시
+        group.removeIf(pending -> !pending.claim());
+        if (group.isEmpty()) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        for (Pending pending : group) {
+            waitTimer.record(startedAt - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+        groupSize.record(group.size());
+
+        List<TransactionService.TransferCommand> commands = new ArrayList<>(group.size());
+        for (Pending pending : group) {
+            commands.add(pending.command());
+        }
+
+        List<TransactionService.TransferOutcome> outcomes;
+        AtomicBoolean committing = new AtomicBoolean();
+        try {
+            outcomes = commitTimer.record(() -> transactionService.transferGroup(commands, committing));
+        } catch (RuntimeException e) {
+            if (committing.get()) {
+                // 커밋을 시작한 뒤의 실패 → 반영됐을 수 있으므로 다시 실행하지 않음 (이중 출금 방지)
+                log.error("[그룹 커밋] 커밋 결과 미확정 groupSize={}", group.size(), e);
+                for (Pending pending : group) {
+                    pending.result().completeExceptionally(
+                            new TransactionException.OutcomePendingException("이체가 처리 중입니다. 거래 내역에서 결과를 확인해 주세요."));
+                }
+                return;
+            }
+            // 롤백된 그룹 → 건별로 다시 실행 (실패 원인이 된 요청만 실패)
+            fallbackCounter.increment();
+            for (Pending pending : group) {
+                TransactionService.TransferCommand c = pending.command();
+                try {
+                    pending.result().complete(IdempotencyContext.call(c.getIdempotencyId(), () -> transactionService.transfer(
+                            c.getUserId(), c.getFromAccountNum(), c.getToAccountNum(), c.getAmount(), c.getMemo())));
+                } catch (RuntimeException itemError) {
+                    pending.result().completeExceptionally(itemError);
+                }
+            }
+            return;
+        }
+
+        // 커밋이 끝난 뒤에 각 호출자에게 자기 결과 전달
+        for (TransactionService.TransferOutcome outcome : outcomes) {
+            Pending pending = group.get(outcome.getIndex());
+            if (outcome.isSuccess()) {
+                pending.result().complete(outcome.getTransaction());
+            } else {
+                pending.result().completeExceptionally(outcome.getError());
+            }
+        }
+    }
+
+    private static final int QUEUED = 0;
+    private static final int CLAIMED = 1;
+    private static final int CANCELLED = 2;
+
+    // QUEUED → CLAIMED(워커가 그룹에 넣음) 또는 CANCELLED(호출자가 포기) 중 먼저 바꾼 쪽만 성공
+    private record Pending(
+            TransactionService.TransferCommand command,
+            long enqueuedAt,
+            CompletableFuture<Transaction> result,
+            AtomicInteger state
+    ) {
+        Pending(TransactionService.TransferCommand command, long enqueuedAt, CompletableFuture<Transaction> result) {
+            this(command, enqueuedAt, result, new AtomicInteger(QUEUED));
+        }
+
+        boolean claim() {
+            return state.compareAndSet(QUEUED, CLAIMED);
+        }
+
+        boolean cancel() {
+            return state.compareAndSet(QUEUED, CANCELLED);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.db.bank.service;
+
+import com.db.bank.domain.enums.abnTransfer.RuleCode;
+import com.db.bank.domain.enums.abnTransfer.RulePhase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 거래 처리 단계별 지표 (/actuator/prometheus)
+ * - bank.transfer.phase{operation, phase} : 단계별 소요 시간
+ *     operation = deposit / withdraw / transfer / batch
+ *     phase     = lock(계좌 조회·잠금 대기) / abn_pre_check / write(잔액·거래·분개·로그 반영) / abn_post_check / total(재시도 포함)
+ *     INSERT/UPDATE 는 JDBC batch 로 커밋 시점에 나가므로, total - (lock + abn_pre_check + write) ≈ flush + 커밋 시간
+ * - bank.abn.query{query}  : 이상거래 검사 쿼리별 소요 시간
+ * - bank.abn.rule.hits{rule}: 규칙별 적발 수
+ * - bank.abn.rule{rule, phase, outcome} : 규칙별 실행 시간 (outcome = pass / hit / error)
+ * - bank.abn.rule.timeouts{rule, phase}  : 시간 예산을 넘긴 횟수 (POST_COMMIT 은 결과를 버림)
+ * - bank.log.insert{mode}  : 로그 저장 호출 소요 시간 (single / batch)
+ * - 히스토그램 버킷은 application.yml 의 management.metrics.distribution 에서 켬 (서버 측 분위수 계산)
+ */
+@Component
+public class TransferMetrics {
+
+    public static final String PHASE_LOCK = "lock";
+    public static final String PHASE_ABN_PRE_CHECK = "abn_pre_check";
+    public static final String PHASE_WRITE = "write";
+    public static final String PHASE_ABN_POST_CHECK = "abn_post_check";
+    public static final String PHASE_TOTAL = "total";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<RuleCode, Counter> ruleHits = new EnumMap<>(RuleCode.class);
+
+    public TransferMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        // 한 번도 적발되지 않은 규칙도 0 으로 보이도록 미리 등록
+        for (RuleCode rule : RuleCode.values()) {
+            ruleHits.put(rule, Counter.builder("bank.abn.rule.hits")
+                    .description("이상거래 규칙별 적발 수")
+                    .tag("rule", rule.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stopPhase(Timer.Sample sample, String operation, String phase) {
+        sample.stop(timer("bank.transfer.phase", "거래 처리 단계별 소요 시간", "operation", operation, "phase", phase));
+    }
+
+    public void stopAbnQuery(Timer.Sample sample, String query) {
+        sample.stop(timer("bank.abn.query", "이상거래 검사 쿼리 소요 시간", "query", query));
+    }
+
+    public void stopLogInsert(Timer.Sample sample, String mode) {
+        sample.stop(timer("bank.log.insert", "거래 로그 INSERT 소요 시간", "mode", mode));
+    }
+
+    public void ruleHit(RuleCode rule) {
+        ruleHits.get(rule).increment();
+    }
+
+    public void stopRule(Timer.Sample sample, RuleCode rule, RulePhase phase, String outcome) {
+        sample.stop(timer("bank.abn.rule", "이상거래 규칙별 실행 시간",
+                "rule", rule.name(), "phase", phase.name(), "outcome", outcome));
+    }
+
+    public void ruleTimeout(RuleCode rule, RulePhase phase) {
+        String key = rule.name() + "|" + phase.name();
+        counters.computeIfAbsent(key, k -> Counter.builder("bank.abn.rule.timeouts")
+                .description("시간 예산을 넘긴 이상거래 규칙 실행 수")
+                .tags("rule", rule.name(), "phase", phase.name())
+                .register(meterRegistry)).increment();
+    }
+
+    // 태그 조합마다 한 번만 빌드 (호출마다 builder 를 만들지 않음)
+    private Timer timer(String name, String description, String... tags) {
+        return timers.computeIfAbsent(name + String.join("|", tags), key -> Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry));
+    }
+}
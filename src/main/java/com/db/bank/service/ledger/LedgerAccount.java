@@ -0,0 +1,53 @@
+package com.db.bank.service.ledger;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 샤드가 메모리에 들고 있는 계좌 상태
+ * - 해당 샤드의 writer 스레드만 읽고 씀 (동기화 없음)
+ */
+@Getter
+@Setter
+class LedgerAccount {
+
+    private final Long accountId;
+    private final String accountNum;
+    private final Long ownerUserId;
+    private BigDecimal balance;
+
+    // 일일 이체 한도 (없으면 null), 오늘 나간 금액
+    private BigDecimal dailyLimit;
+    private LocalDate outflowDay;
+    private BigDecimal outflowToday = BigDecimal.ZERO;
+
+    LedgerAccount(Long accountId, String accountNum, Long ownerUserId, BigDecimal balance) {
+        this.accountId = accountId;
+        this.accountNum = accountNum;
+        this.ownerUserId = ownerUserId;
+        this.balance = balance;
+    }
+
+    void debit(BigDecimal amount) {
+        balance = balance.subtract(amount);
+        outflowToday = outflowToday.add(amount);
+    }
+
+    void credit(BigDecimal amount) {
+        balance = balance.add(amount);
+    }
+
+    // 저널에 남지 못한 출금 되돌리기 (출금 / 이체 출금 쪽)
+    void refund(BigDecimal amount) {
+        balance = balance.add(amount);
+        outflowToday = outflowToday.subtract(amount);
+    }
+
+    // 저널에 남지 못한 입금 되돌리기 (입금 / 이체 입금 쪽)
+    void revertCredit(BigDecimal amount) {
+        balance = balance.subtract(amount);
+    }
+}
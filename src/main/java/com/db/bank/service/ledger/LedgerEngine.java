@@ -0,0 +1,766 @@
+package com.db.bank.service.ledger;
+
+import com.db.bank.apiPayload.exception.AccountException;
+import com.db.bank.apiPayload.exception.TransactionException;
+import com.db.bank.domain.entity.Account;
+import com.db.bank.domain.entity.Transaction;
+import com.db.bank.domain.entity.TransferLimit;
+import com.db.bank.domain.enums.abnTransfer.RuleCode;
+import com.db.bank.domain.enums.transaction.TransactionStatus;
+import com.db.bank.domain.enums.transaction.TransactionType;
+import com.db.bank.domain.enums.transferLimit.TransferStatus;
+import com.db.bank.repository.AccountRepository;
+import com.db.bank.repository.TransferLimitRepository;
+import com.db.bank.service.AbnAlertSink;
+import com.db.bank.service.DailyOutflowService;
+import com.db.bank.service.IdempotencyContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.db.bank.domain.enums.account.AccountType.EXTERNAL_IN;
+import static com.db.bank.domain.enums.account.AccountType.EXTERNAL_OUT;
+
+/**
+ * 메모리 원장 엔진 (bank.ledger.engine.enabled=true 일 때만 동작)
+ *
+ * 1. 계좌를 계좌번호 해시로 샤드에 나누고, 샤드마다 writer 스레드 하나가 명령을 순서대로 처리
+ * 2. 처리가 끝난 거래는 저널(append-only 파일)에 fsync 한 뒤 응답 → DB 행 잠금 없이 처리
+ * 3. Transaction / Log / 잔액은 write-behind 스레드가 묶어서 DB에 반영 (LedgerPersister)
+ * 4. 재시작 시: DB 체크포인트 이후 저널 기록을 먼저 DB에 반영하고, 계좌는 처음 쓸 때 DB에서 읽음
+ * 5. DB 에 반영할 수 없는 기록(계좌 없음, 제약 위반, 계속 실패)은 dead 파일로 보내고 다음 기록으로 넘어감
+ *
+ * 샤드 간 이체 (3단계)
+ * - 0단계: 입금 샤드에서 입금 계좌 확인 (메모리에 올려 둠, 샤드 계좌는 내려가지 않으므로 2단계에서 없어지지 않음)
+ * - 1단계: 출금 샤드에서 검증 + 출금 (메모리)
+ * - 2단계: 입금 샤드에서 입금 + 저널 기록 → 기록이 fsync 되면 완료
+ * - 업무 검증은 출금 전에 끝나므로 출금 후 되돌리기(refund)는 저널 기록 실패 / 종료 중일 때만 생김
+ * - 저널에는 완료된 거래만 기록 → 1단계만 끝나고 종료되면 저널에 흔적이 없으므로 재시작 시 자연히 취소됨
+ * - 입금된 돈을 쓰는 다음 명령은 같은 입금 샤드에서 저널 append 이후에 처리되므로,
+ *   저널(FIFO)에는 항상 원인 거래가 먼저 기록됨
+ *
+ * 저널 기록 실패
+ * - 메모리에 반영한 입금/출금을 같은 샤드 writer 스레드에서 되돌림 → 돈이 메모리에만 생기거나 사라지지 않음
+ * - 저널은 첫 실패 이후 기록을 받지 않고(fail-stop), 엔진은 새 명령을 거절 → 재시작 시 저널 + DB 로 복구
+ * - 되돌리기 전까지 다른 명령이 본 잔액은 저널 기록에 남을 수 있지만, DB 잔액/로그는 증감을 반영 순서대로 다시 계산하므로 섞이지 않음
+ *
+ * 응답 대기 시간 초과 (command-timeout-ms)
+ * - 샤드가 아직 실행하지 않은 명령은 취소 → 반영되지 않음이 확실하므로 LedgerUnavailableException
+ * - 이미 실행이 시작된 명령은 반영될 수 있음 → 실패가 아닌 OutcomePendingException (결과는 거래 내역으로 확인)
+ */
+@Slf4j
+@Service
+@DependsOn("idGeneratorInitializer")
+public class LedgerEngine {
+
+    private final AccountRepository accountRepository;
+    private final DailyOutflowService dailyOutflowService;
+    private final TransferLimitRepository transferLimitRepository;
+    private final AbnAlertSink abnAlertSink;
+    private final LedgerPersister ledgerPersister;
+    private final ObjectMapper objectMapper;
+
+    @Value("${bank.ledger.engine.enabled:false}")
+    private boolean enabled;
+
+    @Value("${bank.ledger.engine.shards:4}")
+    private int shardCount;
+
+    @Value("${bank.ledger.engine.journal-dir:./data/ledger}")
+    private String journalDir;
+
+    @Value("${bank.ledger.engine.segment-bytes:67108864}")
+    private long segmentBytes;
+
+    @Value("${bank.ledger.engine.max-in-flight:10000}")
+    private int maxInFlight;
+
+    @Value("${bank.ledger.engine.max-unflushed:100000}")
+    private int maxUnflushed;
+
+    @Value("${bank.ledger.engine.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${bank.ledger.engine.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    @Value("${bank.ledger.engine.command-timeout-ms:5000}")
+    private long commandTimeoutMs;
+
+    @Value("${bank.ledger.engine.max-flush-attempts:3}")
+    private int maxFlushAttempts;
+
+    private LedgerShard[] shards;
+    private LedgerJournal journal;
+    private Semaphore inFlight;
+    private final BlockingQueue<LedgerRecord> unflushed = new LinkedBlockingQueue<>();
+
+    // Idempotency-Key 로 들어와 아직 DB 에 반영되지 않은 명령의 키 행 id
+    // (샤드 큐 대기 / 실행 중 / 저널 대기 / write-behind 묶음 모두 포함, 멈춘 키 넘겨받기 전 확인)
+    private final Set<Long> pendingIdempotency = ConcurrentHashMap.newKeySet();
+    private Thread flusher;
+    private volatile boolean running;
+    private volatile boolean accepting;
+
+    // 저널에 기록된 마지막 seq / DB 반영(또는 dead 처리)이 끝난 마지막 seq
+    private volatile long durableSeq;
+    private volatile long flushedSeq;
+
+    // 저널 기록 실패 → 메모리와 저널이 어긋났으므로 재시작(저널+DB 복구) 전까지 새 명령 거절
+    private volatile boolean journalFailed;
+
+    // 시스템 계좌 (입금/출금 상대편) - 응답용 id / 계좌번호만 사용
+    private Account externalIn;
+    private Account externalOut;
+
+    public LedgerEngine(
+            AccountRepository accountRepository,
+            DailyOutflowService dailyOutflowService,
+            TransferLimitRepository transferLimitRepository,
+            AbnAlertSink abnAlertSink,
+            LedgerPersister ledgerPersister,
+            ObjectMapper objectMapper
+    ) {
+        this.accountRepository = accountRepository;
+        this.dailyOutflowService = dailyOutflowService;
+        this.transferLimitRepository = transferLimitRepository;
+        this.abnAlertSink = abnAlertSink;
+        this.ledgerPersister = ledgerPersister;
+        this.objectMapper = objectMapper;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ================== 1. 시작 / 종료 ==================
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        externalIn = accountRepository.findByAccountTypeAndStripeNoIsNull(EXTERNAL_IN)
+                .orElseThrow(() -> new AccountException.AccountNonExistsException("EXTERNAL_IN 계좌가 없습니다."));
+        externalOut = accountRepository.findByAccountTypeAndStripeNoIsNull(EXTERNAL_OUT)
+                .orElseThrow(() -> new AccountException.AccountNonExistsException("EXTERNAL_OUT 계좌가 없습니다."));
+
+        // 1) 복구: 체크포인트 이후 저널 기록을 DB에 먼저 반영 (이후 계좌 상태는 DB가 기준)
+        journal = new LedgerJournal(Path.of(journalDir), segmentBytes, flushBatchSize, objectMapper, records -> {
+            unflushed.addAll(records);
+            durableSeq = records.get(records.size() - 1).getSeq();
+        });
+        List<LedgerRecord> replay = journal.open(ledgerPersister.loadCheckpoint());
+        while (!replay.isEmpty()) {
+            List<LedgerRecord> batch = replay.subList(0, Math.min(flushBatchSize, replay.size()));
+            int done = persistOrIsolate(batch);
+            if (done == 0 && !ledgerPersister.databaseAvailable()) {
+                throw new IllegalStateException("원장 저널 복구 중 DB 에 연결할 수 없습니다.");
+            }
+            batch.subList(0, done).clear();
+        }
+
+        // 2) 샤드 / 저널 / write-behind 스레드 시작
+        inFlight = new Semaphore(maxInFlight);
+        shards = new LedgerShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new LedgerShard(i, this::loadAccount);
+        }
+        running = true;
+        accepting = true;
+        journal.start();
+        flusher = new Thread(this::flushLoop, "ledger-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!enabled || shards == null) {
+            return;
+        }
+        // 새 명령을 막고, 받아 둔 명령이 끝날 때까지 기다린 뒤 샤드 → 저널 → write-behind 순서로 비움
+        // (샤드 간 이체 2단계 / 되돌리기 명령이 종료된 샤드에 막혀 출금만 반영된 채 남지 않게)
+        accepting = false;
+        if (!inFlight.tryAcquire(maxInFlight, commandTimeoutMs, TimeUnit.MILLISECONDS)) {
+            log.warn("[원장 엔진] 종료 대기 시간 초과: 처리 중인 명령 {}건", maxInFlight - inFlight.availablePermits());
+        }
+        for (LedgerShard shard : shards) {
+            shard.shutdown(commandTimeoutMs);
+        }
+        journal.close();
+        running = false;
+        flusher.join();
+    }
+
+    // ================== 2. 명령 (TransactionService 에서 위임) ==================
+
+    public Transaction deposit(Long userId, String toAccountNum, BigDecimal amount, String memo) {
+        validateAmount(amount);
+        Long idempotencyId = IdempotencyContext.current();
+        CompletableFuture<LedgerRecord> result = admit();
+        trackPending(idempotencyId, result);
+        AtomicBoolean claimed = new AtomicBoolean();
+        LedgerShard shard = shardOf(toAccountNum);
+        shard.submit(result, claimed, () -> {
+            checkJournal();
+            LedgerAccount to = shard.account(toAccountNum);
+            if (to == null) {
+                throw new AccountException.AccountNonExistsException("입금 계좌를 찾을 수 없습니다. accountNum=" + toAccountNum);
+            }
+            BigDecimal before = to.getBalance();
+            to.credit(amount);
+
+            LedgerRecord record = LedgerRecord.builder()
+                    .type(TransactionType.DEPOSIT)
+                    .actorUserId(userId)
+                    .fromAccountId(externalIn.getId())
+                    .fromAccountNum(externalIn.getAccountNum())
+                    .toAccountId(to.getAccountId())
+                    .toAccountNum(toAccountNum)
+                    .amount(amount)
+                    .memo(memo)
+                    .toBefore(before)
+                    .toAfter(to.getBalance())
+                    .createdAt(LocalDateTime.now())
+                    .idempotencyId(idempotencyId)
+                    .build();
+            journalAndComplete(record, result, shard, () -> to.revertCredit(amount));
+        });
+        return toTransaction(await(result, claimed));
+    }
+
+    public Transaction withdraw(Long userId, String fromAccountNum, BigDecimal amount, String memo) {
+        validateAmount(amount);
+        Long idempotencyId = IdempotencyContext.current();
+        CompletableFuture<LedgerRecord> result = admit();
+        trackPending(idempotencyId, result);
+        AtomicBoolean claimed = new AtomicBoolean();
+        LedgerShard shard = shardOf(fromAccountNum);
+        shard.submit(result, claimed, () -> {
+            checkJournal();
+            LedgerAccount from = requireSource(shard, fromAccountNum, userId, amount);
+            BigDecimal before = from.getBalance();
+            refreshDaily(from);
+            from.debit(amount);
+
+            LedgerRecord record = LedgerRecord.builder()
+                    .type(TransactionType.WITHDRAWAL)
+                    .actorUserId(userId)
+                    .fromAccountId(from.getAccountId())
+                    .fromAccountNum(fromAccountNum)
+                    .toAccountId(externalOut.getId())
+                    .toAccountNum(externalOut.getAccountNum())
+                    .amount(amount)
+                    .memo(memo)
+                    .fromBefore(before)
+                    .fromAfter(from.getBalance())
+                    .createdAt(LocalDateTime.now())
+                    .idempotencyId(idempotencyId)
+                    .build();
+            journalAndComplete(record, result, shard, () -> from.refund(amount));
+        });
+        return toTransaction(await(result, claimed));
+    }
+
+    public Transaction transfer(Long userId, String fromAccountNum, String toAccountNum, BigDecimal amount, String memo) {
+        AtomicBoolean claimed = new AtomicBoolean();
+        return toTransaction(await(submitTransfer(userId, fromAccountNum, toAccountNum, amount, memo, null, claimed), claimed));
+    }
+
+    /**
+     * 이체 후 DB 반영까지 기다림 → 저장된 transaction_id 반환
+     * - 예약이체 실행 기록처럼 거래 행을 FK로 참조해야 하는 경로용
+     * - 실행이 시작된 뒤에는 실패로 돌려주지 않음 (예약이체가 실패로 기록되면 다시 실행되어 이중 이체)
+     *   → 결과가 나올 때까지, 그리고 write-behind 가 DB 에 반영할 때까지 시간 제한 없이 기다림
+     * - 기록이 dead 로 빠지면 IllegalStateException (수동 복구 대상, 실패로 기록해 다시 실행하면 안 됨)
+     */
+    public Long transferAndAwaitPersisted(Long userId, String fromAccountNum, String toAccountNum, BigDecimal amount, String memo) {
+        CompletableFuture<Long> persisted = new CompletableFuture<>();
+        AtomicBoolean claimed = new AtomicBoolean();
+        CompletableFuture<LedgerRecord> result = submitTransfer(userId, fromAccountNum, toAccountNum, amount, memo, persisted, claimed);
+        try {
+            await(result, claimed);
+        } catch (TransactionException.OutcomePendingException e) {
+            awaitDone(result);
+        }
+        return awaitDone(persisted);
+    }
+
+    private CompletableFuture<LedgerRecord> submitTransfer(
+            Long userId,
+            String fromAccountNum,
+            String toAccountNum,
+            BigDecimal amount,
+            String memo,
+            CompletableFuture<Long> persisted,
+            AtomicBoolean claimed
+    ) {
+        validateAmount(amount);
+        if (fromAccountNum == null || toAccountNum == null || fromAccountNum.equals(toAccountNum)) {
+            throw new AccountException.InvalidAccountArgumentException("출금 계좌와 입금 계좌가 같을 수 없습니다.");
+        }
+        Long idempotencyId = IdempotencyContext.current();
+        CompletableFuture<LedgerRecord> result = admit();
+        trackPending(idempotencyId, result);
+        LedgerShard fromShard = shardOf(fromAccountNum);
+        LedgerShard toShard = shardOf(toAccountNum);
+
+        if (fromShard == toShard) {
+            // 같은 샤드: 한 명령 안에서 검증 + 출금 + 입금 (시작되기 전까지만 취소 가능)
+            fromShard.submit(result, claimed, () -> {
+                checkJournal();
+                LedgerAccount from = requireSource(fromShard, fromAccountNum, userId, amount);
+                LedgerAccount to = requireTarget(fromShard, toAccountNum);
+                checkDailyLimit(from, amount);
+                LedgerRecord record = debit(from, userId, toAccountNum, amount, memo, idempotencyId, persisted);
+                credit(fromShard, to, record, result, () -> from.refund(amount));
+            });
+            return result;
+        }
+
+        // 0단계: 입금 샤드에서 입금 계좌 확인 (이 단계가 시작되기 전까지만 취소 가능)
+        toShard.submit(result, claimed, () -> {
+            checkJournal();
+            LedgerAccount to = requireTarget(toShard, toAccountNum);
+
+            // 1단계: 출금 샤드
+            fromShard.submit(result, () -> {
+                checkJournal();
+                LedgerAccount from = requireSource(fromShard, fromAccountNum, userId, amount);
+                checkDailyLimit(from, amount);
+                LedgerRecord record = debit(from, userId, toAccountNum, amount, memo, idempotencyId, persisted);
+
+                // 2단계: 입금 샤드 (저널 기록 실패 / 종료 중이면 출금 샤드에서 되돌림)
+                CompletableFuture<LedgerRecord> creditStep = new CompletableFuture<>();
+                creditStep.whenComplete((r, e) -> {
+                    if (e == null) {
+                        result.complete(r);
+                        return;
+                    }
+                    fromShard.submit(new CompletableFuture<>(), () -> from.refund(amount));
+                    result.completeExceptionally(e);
+                });
+                toShard.submit(creditStep, () -> credit(toShard, to, record, creditStep, () -> { }));
+            });
+        });
+        return result;
+    }
+
+    // 출금 쪽 반영 + 기록 생성 (출금 계좌 샤드의 writer 스레드에서 실행)
+    private LedgerRecord debit(
+            LedgerAccount from,
+            Long userId,
+            String toAccountNum,
+            BigDecimal amount,
+            String memo,
+            Long idempotencyId,
+            CompletableFuture<Long> persisted
+    ) {
+        BigDecimal fromBefore = from.getBalance();
+        from.debit(amount);
+
+        return LedgerRecord.builder()
+                .type(TransactionType.TRANSFER)
+                .actorUserId(userId)
+                .fromAccountId(from.getAccountId())
+                .fromAccountNum(from.getAccountNum())
+                .toAccountNum(toAccountNum)
+                .amount(amount)
+                .memo(memo)
+                .fromBefore(fromBefore)
+                .fromAfter(from.getBalance())
+                .createdAt(LocalDateTime.now())
+                .idempotencyId(idempotencyId)
+                .persisted(persisted)
+                .build();
+    }
+
+    /**
+     * 입금 쪽 반영 + 저널 기록 (입금 계좌 샤드의 writer 스레드에서 실행)
+     * - 저널 기록 실패 시 입금을 되돌리고 undoDebit 실행 (같은 샤드 이체의 출금 되돌리기)
+     */
+    private void credit(LedgerShard shard, LedgerAccount to, LedgerRecord record,
+                        CompletableFuture<LedgerRecord> result, Runnable undoDebit) {
+        record.setToAccountId(to.getAccountId());
+        record.setToBefore(to.getBalance());
+        to.credit(record.getAmount());
+        record.setToAfter(to.getBalance());
+        journalAndComplete(record, result, shard, () -> {
+            to.revertCredit(record.getAmount());
+            undoDebit.run();
+        });
+    }
+
+    // ================== 3. 샤드 내부 검증 ==================
+
+    // 출금 계좌 조회 + 소유자 + 잔액 검증 (writer 스레드)
+    private LedgerAccount requireSource(LedgerShard shard, String accountNum, Long userId, BigDecimal amount) {
+        LedgerAccount from = shard.account(accountNum);
+        if (from == null) {
+            throw new AccountException.AccountNonExistsException("출금 계좌를 찾을 수 없습니다. accountNum=" + accountNum);
+        }
+        if (!from.getOwnerUserId().equals(userId)) {
+            throw new AccountException.UnauthorizedAccountAccessException("해당 출금 계좌는 이 사용자의 계좌가 아닙니다.");
+        }
+        if (from.getBalance().compareTo(amount) < 0) {
+            throw new AccountException.InsufficientBalanceException("잔액이 부족합니다.");
+        }
+        return from;
+    }
+
+    // 입금 계좌 조회 (writer 스레드)
+    private LedgerAccount requireTarget(LedgerShard shard, String accountNum) {
+        LedgerAccount to = shard.account(accountNum);
+        if (to == null) {
+            throw new AccountException.AccountNonExistsException("입금 계좌를 찾을 수 없습니다. accountNum=" + accountNum);
+        }
+        return to;
+    }
+
+    // 받아 둔 뒤 저널 기록이 실패한 명령은 실행하지 않음 (writer 스레드)
+    private void checkJournal() {
+        if (journalFailed) {
+            throw new TransactionException.LedgerUnavailableException("원장 저널 기록에 실패했습니다. 재시작이 필요합니다.");
+        }
+    }
+
+    /**
+     * 일일 이체 한도 (AbnTransferService.preCheckAbnTransfer 와 같은 규칙)
+     * - 오늘 나간 금액은 메모리에서 누적 (DB 합계 조회 X), 날짜가 바뀌면 DB에서 다시 읽음
+     */
+    private void checkDailyLimit(LedgerAccount from, BigDecimal amount) {
+        refreshDaily(from);
+        if (from.getDailyLimit() != null
+                && from.getOutflowToday().add(amount).compareTo(from.getDailyLimit()) > 0) {
+            abnAlertSink.submit(
+                    from.getAccountNum(),
+                    RuleCode.DAILY_TOTAL_EXCEEDED,
+                    "일일 이체 한도 초과"
+            );
+            throw new TransactionException.IllegalTransferException("일일 이체 한도 초과");
+        }
+    }
+
+    private void refreshDaily(LedgerAccount account) {
+        LocalDate today = LocalDate.now();
+        if (today.equals(account.getOutflowDay())) {
+            return;
+        }
+        Account entity = accountRepository.findByAccountNum(account.getAccountNum())
+                .orElseThrow(() -> new AccountException.AccountNonExistsException("계좌를 찾을 수 없습니다. accountNum=" + account.getAccountNum()));
+        BigDecimal sent = dailyOutflowService.getOutflow(account.getAccountNum(), today);
+
+        account.setDailyLimit(transferLimitRepository.findOneByAccountAndStatus(entity, TransferStatus.ACTIVE)
+                .map(TransferLimit::getDailyLimitAmt)
+                .orElse(null));
+        account.setOutflowDay(today);
+        account.setOutflowToday(sent);
+    }
+
+    // 샤드 메모리에 없는 계좌를 DB에서 읽음 (writer 스레드, 계좌당 한 번)
+    private LedgerAccount loadAccount(String accountNum) {
+        return accountRepository.findByAccountNum(accountNum)
+                .map(a -> new LedgerAccount(a.getId(), a.getAccountNum(), a.getUser().getId(), a.getBalance()))
+                .orElse(null);
+    }
+
+    // ================== 4. 저널 / write-behind ==================
+
+    /**
+     * 저널에 기록하고 fsync 되면 result 완료
+     * - 실패하면 undo(메모리 반영 되돌리기)를 같은 샤드 writer 스레드에서 실행한 뒤 실패 응답
+     */
+    private void journalAndComplete(LedgerRecord record, CompletableFuture<LedgerRecord> result,
+                                    LedgerShard shard, Runnable undo) {
+        journal.append(record).whenComplete((r, e) -> {
+            if (e == null) {
+                result.complete(r);
+                return;
+            }
+            journalFailed = true;
+            log.error("[원장 저널 기록 실패] 메모리 반영 되돌림 type={} from={} to={} amount={}",
+                    record.getType(), record.getFromAccountNum(), record.getToAccountNum(), record.getAmount(), e);
+            shard.submit(result, () -> {
+                undo.run();
+                result.completeExceptionally(e);
+            });
+        });
+    }
+
+    /**
+     * write-behind 루프
+     * - flush-interval-ms 동안 모은 기록(최대 flush-batch-size)을 DB 트랜잭션 하나로 반영
+     * - 실패하면 반영된 앞쪽 기록만 빼고 남은 기록을 재시도 (순서 유지, 저널에 남아 있으므로 유실 없음)
+     * - 반영할 수 없는 기록 하나가 뒤 기록을 계속 막지 않도록 persistOrIsolate 에서 dead 처리
+     */
+    private void flushLoop() {
+        List<LedgerRecord> batch = new ArrayList<>(flushBatchSize);
+        while (running || !unflushed.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    LedgerRecord first = unflushed.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    unflushed.drainTo(batch, flushBatchSize - 1);
+                }
+                int done = persistOrIsolate(batch);
+                batch.subList(0, done).clear();
+                if (!batch.isEmpty()) {
+                    Thread.sleep(Math.max(flushIntervalMs, 100));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("[원장 write-behind 실패] batchSize={}", batch.size(), e);
+                try {
+                    Thread.sleep(Math.max(flushIntervalMs, 100));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 묶음 반영, 반영(또는 dead 처리)이 끝난 앞쪽 기록 수를 돌려줌 (AbnAlertSink.writeOrIsolate 와 같은 방식)
+     * - DB 에 닿지 않으면 0 (기록 잘못이 아니므로 횟수는 세지 않음)
+     * - DB 는 정상이면 한 건씩 다시 반영해서 문제 있는 기록만 골라냄, 순서를 지키기 위해 보류한 기록에서 멈춤
+     * - 계좌 없음 / 제약 위반이거나 max-flush-attempts 번 실패한 기록은 dead
+     */
+    private int persistOrIsolate(List<LedgerRecord> batch) {
+        try {
+            persisted(batch, ledgerPersister.persist(batch));
+            return batch.size();
+        } catch (RuntimeException e) {
+            if (!ledgerPersister.databaseAvailable()) {
+                log.warn("[원장 write-behind] DB 반영 실패 (DB 연결 불가), {}건 보류", batch.size(), e);
+                return 0;
+            }
+            log.warn("[원장 write-behind] 묶음 반영 실패, 한 건씩 다시 반영. size={}", batch.size(), e);
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            LedgerRecord record = batch.get(i);
+            try {
+                persisted(List.of(record), ledgerPersister.persist(List.of(record)));
+            } catch (RuntimeException e) {
+                record.setFlushAttempts(record.getFlushAttempts() + 1);
+                boolean permanent = e instanceof DataIntegrityViolationException || e instanceof AccountException;
+                if (!permanent && record.getFlushAttempts() < maxFlushAttempts) {
+                    log.warn("[원장 write-behind] 반영 실패, 보류 seq={} attempts={}", record.getSeq(), record.getFlushAttempts(), e);
+                    return i;
+                }
+                if (!dead(record, e)) {
+                    return i;
+                }
+            }
+        }
+        return batch.size();
+    }
+
+    /**
+     * 반영할 수 없는 기록 → dead 파일에 남긴 뒤 체크포인트를 넘김 (수동 복구 대상)
+     * - 메모리 잔액에는 반영된 거래이므로 DB 와 어긋남 → 복구 전까지 Idempotency-Key 는 넘겨받지 못하게 pending 유지
+     * - DB 반영을 기다리는 호출자(예약이체)에는 TransactionException 이 아닌 예외로 알림 (실패로 기록되어 다시 실행되지 않게)
+     * - dead 파일 기록이나 체크포인트 저장에 실패하면 false → 다음에 다시 시도 (dead 파일에 같은 seq 가 두 번 남을 수 있음)
+     */
+    private boolean dead(LedgerRecord record, RuntimeException cause) {
+        try {
+            journal.dead(record);
+            ledgerPersister.skip(record.getSeq());
+        } catch (IOException | RuntimeException e) {
+            log.error("[원장 write-behind] dead 처리 실패, 보류 seq={}", record.getSeq(), e);
+            return false;
+        }
+        log.error("[원장 write-behind] 반영할 수 없는 기록 → dead. seq={} type={} from={} to={} amount={}",
+                record.getSeq(), record.getType(), record.getFromAccountNum(), record.getToAccountNum(),
+                record.getAmount(), cause);
+        journal.release(record.getSeq());
+        flushedSeq = record.getSeq();
+        if (record.getPersisted() != null) {
+            record.getPersisted().completeExceptionally(new IllegalStateException(
+                    "원장 기록을 DB 에 반영하지 못했습니다. seq=" + record.getSeq()));
+        }
+        return true;
+    }
+
+    // DB 반영이 끝난 기록: 기다리는 호출자에 transaction_id 전달, pending 키 해제, 저널 세그먼트 정리
+    private void persisted(List<LedgerRecord> records, List<Long> ids) {
+        for (int i = 0; i < records.size(); i++) {
+            LedgerRecord record = records.get(i);
+            if (record.getPersisted() != null) {
+                record.getPersisted().complete(ids.get(i));
+            }
+            if (record.getIdempotencyId() != null) {
+                pendingIdempotency.remove(record.getIdempotencyId());
+            }
+        }
+        journal.release(records.get(records.size() - 1).getSeq());
+        flushedSeq = records.get(records.size() - 1).getSeq();
+    }
+
+    /**
+     * 받아 둔 명령이 모두 끝나고 DB 반영(또는 dead 처리)까지 끝났는지 (스트레스 테스트 / 운영 점검용)
+     * - 명령 결과는 기록이 DB 반영 대기열에 들어간 뒤에 완료되므로, 처리 중인 명령이 없으면 저널 마지막 seq 까지만 보면 됨
+     */
+    public boolean isDrained() {
+        return inFlight.availablePermits() == maxInFlight && flushedSeq >= durableSeq;
+    }
+
+    /**
+     * 이 Idempotency-Key 행으로 들어온 명령이 아직 DB 에 반영되지 않았는지 (멈춘 키 넘겨받기 전 확인)
+     * - 요청 스레드에서 샤드에 넣기 전에 등록 → 큐 대기 / 실행 중 / 저널 대기 / write-behind 재시도 중인 묶음까지 포함
+     * - 반영되지 않고 끝난 명령(업무 오류, 취소)은 바로, 반영된 명령은 DB 커밋 후에 빠짐
+     */
+    public boolean hasPending(Long idempotencyId) {
+        return pendingIdempotency.contains(idempotencyId);
+    }
+
+    private void trackPending(Long idempotencyId, CompletableFuture<LedgerRecord> result) {
+        if (idempotencyId == null) {
+            return;
+        }
+        pendingIdempotency.add(idempotencyId);
+        result.whenComplete((r, e) -> {
+            if (e != null) {
+                pendingIdempotency.remove(idempotencyId);
+            }
+        });
+    }
+
+    // ================== 5. 공통 ==================
+
+    private LedgerShard shardOf(String accountNum) {
+        return shards[Math.floorMod(accountNum.hashCode(), shards.length)];
+    }
+
+    /**
+     * 유입량 제한
+     * - 저널 기록 실패 이후에는 모두 거절
+     * - 처리 중인 명령 수가 max-in-flight 를 넘거나, DB 반영 대기 기록이 max-unflushed 를 넘으면 거절
+     */
+    private CompletableFuture<LedgerRecord> admit() {
+        if (!accepting) {
+            throw new TransactionException.LedgerUnavailableException("원장 엔진이 종료 중입니다.");
+        }
+        if (journalFailed) {
+            throw new TransactionException.LedgerUnavailableException("원장 저널 기록에 실패했습니다. 재시작이 필요합니다.");
+        }
+        if (unflushed.size() >= maxUnflushed) {
+            throw new TransactionException.LedgerUnavailableException("DB 반영 대기 거래가 너무 많습니다.");
+        }
+        try {
+            if (!inFlight.tryAcquire(commandTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new TransactionException.LedgerUnavailableException("처리 중인 거래가 너무 많습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionException.LedgerUnavailableException("거래 처리 대기 중 중단되었습니다.");
+        }
+        CompletableFuture<LedgerRecord> result = new CompletableFuture<>();
+        result.whenComplete((r, e) -> inFlight.release());
+        return result;
+    }
+
+    private LedgerRecord await(CompletableFuture<LedgerRecord> result, AtomicBoolean claimed) {
+        try {
+            return result.get(commandTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (TimeoutException e) {
+            throw giveUp(result, claimed, "거래 처리 시간이 초과되었습니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw giveUp(result, claimed, "거래 처리 대기 중 중단되었습니다.");
+        }
+    }
+
+    /**
+     * 기다리기를 포기한 명령
+     * - 샤드가 아직 꺼내지 않았으면 취소 (in-flight 도 반환) → 반영되지 않음
+     * - 이미 실행 중이면 저널에 기록될 수 있으므로 결과 미확정으로 응답
+     */
+    private TransactionException giveUp(CompletableFuture<LedgerRecord> result, AtomicBoolean claimed, String message) {
+        if (claimed.compareAndSet(false, true)) {
+            TransactionException cancelled = new TransactionException.LedgerUnavailableException(message);
+            result.completeExceptionally(cancelled);
+            return cancelled;
+        }
+        return new TransactionException.OutcomePendingException("거래가 처리 중입니다. 거래 내역에서 결과를 확인해 주세요.");
+    }
+
+    // 시간 제한 없이 결과를 기다림 (실행이 시작된 명령 / 이미 반영된 거래의 DB 반영)
+    private <T> T awaitDone(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionException.OutcomePendingException("거래가 처리 중입니다. 거래 내역에서 결과를 확인해 주세요.");
+        }
+    }
+
+    private RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+
+    private void validateAmount(BigDecimal amount) {
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new AccountException.InvalidAccountAmountException("거래 금액은 0보다 커야 합니다.");
+        }
+    }
+
+    /**
+     * 응답용 Transaction (아직 DB에 저장 전이라 id 는 null)
+     * - 계좌는 id / 계좌번호만 채운 객체
+     */
+    private Transaction toTransaction(LedgerRecord record) {
+        return Transaction.builder()
+                .fromAccount(Account.builder()
+                        .id(record.getFromAccountId())
+                        .accountNum(record.getFromAccountNum())
+                        .build())
+                .toAccount(Account.builder()
+                        .id(record.getToAccountId())
+                        .accountNum(record.getToAccountNum())
+                        .build())
+                .type(record.getType())
+                .amount(record.getAmount())
+                .status(TransactionStatus.SUCCESS)
+                .memo(record.getMemo())
+                .createdAt(record.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,285 @@
+package com.db.bank.service.ledger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 원장 엔진 append-only 저널
+ * - 샤드들이 넘긴 완료 거래를 저널 스레드 하나가 받은 순서대로 seq 를 붙여 파일 끝에 씀
+ * - 모아서 쓰고 fsync 는 한 번만 (group commit) → fsync 가 끝난 뒤에 호출자에게 성공 응답
+ * - 세그먼트 파일(ledger-<첫 seq>.journal) 단위로 교체, DB 반영이 끝난 세그먼트는 삭제
+ * - 쓰기 실패 시 세그먼트를 묶음 쓰기 전 크기로 잘라냄 → 실패 응답을 받은 거래가 재시작 때 되살아나지 않음
+ * - 한 번 실패하면 이후 기록은 모두 쓰지 않고 실패 처리 (fail-stop)
+ *   실패한 거래가 메모리 잔액에 남아 있던 동안 계산된 변경 전/후 잔액이 저널에 들어가지 않게 → 재시작으로 복구
+ */
+@Slf4j
+class LedgerJournal {
+
+    private static final String PREFIX = "ledger-";
+    private static final String SUFFIX = ".journal";
+    private static final String DEAD = "ledger.dead";
+
+    private final Path dir;
+    private final long segmentBytes;
+    private final int maxBatch;
+    private final ObjectMapper objectMapper;
+    private final Consumer<List<LedgerRecord>> onDurable;
+
+    private final BlockingQueue<Append> queue = new LinkedBlockingQueue<>();
+
+    // 닫힌 세그먼트: 마지막 seq → 파일
+    private final TreeMap<Long, Path> closedSegments = new TreeMap<>();
+
+    private FileChannel channel;
+    private Path currentSegment;
+    private long nextSeq;
+    private boolean failed;
+    private volatile boolean running;
+    private Thread thread;
+
+    LedgerJournal(Path dir, long segmentBytes, int maxBatch, ObjectMapper objectMapper,
+                  Consumer<List<LedgerRecord>> onDurable) {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.maxBatch = maxBatch;
+        this.objectMapper = objectMapper;
+        this.onDurable = onDurable;
+    }
+
+    /**
+     * 저널 열기 (재시작 복구)
+     * - 기존 세그먼트를 seq 순서로 읽어서 checkpointSeq 이후 기록만 돌려줌 (DB에 아직 반영 안 된 것)
+     * - 마지막 줄이 끝까지 쓰이지 않았으면(쓰는 도중 종료) 그 줄은 버림 → fsync 전이라 응답도 안 나간 거래
+     * - 이후 기록은 새 세그먼트에 이어서 씀
+     */
+    List<LedgerRecord> open(long checkpointSeq) {
+        List<LedgerRecord> unflushed = new ArrayList<>();
+        long lastSeq = checkpointSeq;
+        try {
+            Files.createDirectories(dir);
+            List<Path> segments;
+            try (Stream<Path> files = Files.list(dir)) {
+                segments = files
+                        .filter(p -> p.getFileName().toString().startsWith(PREFIX)
+                                && p.getFileName().toString().endsWith(SUFFIX))
+                        .sorted()
+                        .toList();
+            }
+            for (Path segment : segments) {
+                long segmentLast = -1;
+                try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        LedgerRecord record;
+                        try {
+                            record = objectMapper.readValue(line, LedgerRecord.class);
+                        } catch (IOException e) {
+                            break;
+                        }
+                        segmentLast = record.getSeq();
+                        lastSeq = Math.max(lastSeq, record.getSeq());
+                        if (record.getSeq() > checkpointSeq) {
+                            unflushed.add(record);
+                        }
+                    }
+                }
+                if (segmentLast < 0) {
+                    // 기록 없이 만들어지기만 한 세그먼트
+                    Files.deleteIfExists(segment);
+                } else {
+                    closedSegments.put(segmentLast, segment);
+                }
+            }
+            nextSeq = lastSeq + 1;
+            openSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("원장 저널을 열 수 없습니다. dir=" + dir, e);
+        }
+        return unflushed;
+    }
+
+    void start() {
+        running = true;
+        thread = new Thread(this::run, "ledger-journal");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // 샤드 writer 스레드에서 호출 → 저널 큐에 넣고 바로 반환 (fsync 완료 시 future 완료)
+    CompletableFuture<LedgerRecord> append(LedgerRecord record) {
+        CompletableFuture<LedgerRecord> durable = new CompletableFuture<>();
+        queue.add(new Append(record, durable));
+        return durable;
+    }
+
+    private void run() {
+        List<Append> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Append first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Append> batch) {
+        if (failed) {
+            for (Append append : batch) {
+                append.durable().completeExceptionally(new IllegalStateException("원장 저널이 이전 기록 실패로 중지되었습니다."));
+            }
+            return;
+        }
+        List<LedgerRecord> records = new ArrayList<>(batch.size());
+        long firstSeq = nextSeq;
+        long sizeBefore = -1;
+        try {
+            sizeBefore = channel.size();
+            StringBuilder lines = new StringBuilder();
+            for (Append append : batch) {
+                append.record().setSeq(nextSeq++);
+                lines.append(objectMapper.writeValueAsString(append.record())).append('\n');
+                records.add(append.record());
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            // 디스크 기록 실패 → 이번 묶음은 모두 실패 처리 (메모리 잔액은 이미 바뀌었으므로 호출자에게 알려야 함)
+            // 일부만 써진 줄이 open() 에서 다시 반영되지 않도록 묶음 이전 크기로 되돌림
+            nextSeq = firstSeq;
+            failed = true;
+            truncate(sizeBefore);
+            for (Append append : batch) {
+                append.durable().completeExceptionally(new UncheckedIOException("원장 저널 기록 실패", e));
+            }
+            return;
+        }
+
+        // DB 반영 대기열로 넘긴 뒤 응답
+        onDurable.accept(records);
+        for (Append append : batch) {
+            append.durable().complete(append.record());
+        }
+
+        try {
+            if (channel.size() >= segmentBytes) {
+                rotate();
+            }
+        } catch (IOException e) {
+            log.error("[원장 저널] 세그먼트 교체 실패: {}", currentSegment, e);
+        }
+    }
+
+    private void truncate(long size) {
+        if (size < 0) {
+            return;
+        }
+        try {
+            channel.truncate(size);
+            channel.force(false);
+        } catch (IOException e) {
+            log.error("[원장 저널] 실패한 묶음 되돌리기 실패: {} size={}", currentSegment, size, e);
+        }
+    }
+
+    private void rotate() throws IOException {
+        channel.close();
+        synchronized (closedSegments) {
+            closedSegments.put(nextSeq - 1, currentSegment);
+        }
+        openSegment();
+    }
+
+    private void openSegment() throws IOException {
+        currentSegment = dir.resolve(String.format("%s%020d%s", PREFIX, nextSeq, SUFFIX));
+        channel = FileChannel.open(currentSegment,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * DB 반영이 끝난 세그먼트 삭제 (write-behind 스레드에서 호출)
+     * - 세그먼트의 마지막 seq 가 flushedSeq 이하이면 더 이상 복구에 필요 없음
+     */
+    void release(long flushedSeq) {
+        synchronized (closedSegments) {
+            Iterator<Map.Entry<Long, Path>> it = closedSegments.headMap(flushedSeq, true).entrySet().iterator();
+            while (it.hasNext()) {
+                Path segment = it.next().getValue();
+                try {
+                    Files.deleteIfExists(segment);
+                    it.remove();
+                } catch (IOException e) {
+                    log.warn("[원장 저널] 세그먼트 삭제 실패: {}", segment, e);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * DB 에 반영할 수 없는 기록을 dead 파일(ledger.dead)에 한 줄 추가 (write-behind 스레드에서 호출)
+     * - 체크포인트를 넘기기 전에 fsync → 수동 복구용 기록이 사라지지 않음
+     */
+    void dead(LedgerRecord record) throws IOException {
+        byte[] line = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+        try (FileChannel dead = FileChannel.open(dir.resolve(DEAD),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                dead.write(buffer);
+            }
+            dead.force(false);
+        }
+    }
+
+    // 큐에 남은 기록을 모두 쓴 뒤 종료
+    void close() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join();
+        }
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.warn("[원장 저널] 닫기 실패: {}", currentSegment, e);
+        }
+    }
+
+    private record Append(LedgerRecord record, CompletableFuture<LedgerRecord> durable) {
+    }
+}
@@ -0,0 +1,195 @@
+package com.db.bank.service.ledger;
+
+import com.db.bank.apiPayload.exception.AccountException;
+import com.db.bank.domain.entity.Account;
+import com.db.bank.domain.entity.LedgerCheckpoint;
+import com.db.bank.domain.entity.Log;
+import com.db.bank.domain.entity.Posting;
+import com.db.bank.domain.entity.Transaction;
+import com.db.bank.domain.entity.User;
+import com.db.bank.domain.enums.account.AccountType;
+import com.db.bank.domain.enums.log.Action;
+import com.db.bank.domain.enums.posting.PostingDirection;
+import com.db.bank.domain.enums.transaction.TransactionStatus;
+import com.db.bank.domain.enums.transaction.TransactionType;
+import com.db.bank.repository.AccountRepository;
+import com.db.bank.repository.LedgerCheckpointRepository;
+import com.db.bank.repository.TransactionRepository;
+import com.db.bank.repository.UserRepository;
+import com.db.bank.service.AbnPostCheckDispatcher;
+import com.db.bank.service.DailyOutflowService;
+import com.db.bank.service.LogService;
+import com.db.bank.service.PostingService;
+import com.db.bank.service.SystemAccountStripeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 원장 엔진 write-behind: 저널 기록 묶음을 DB 트랜잭션 하나로 반영
+ * - 계좌는 계좌번호 IN 조회 한 번, 잔액은 기록 순서대로 증감 반영
+ * - 로그의 변경 전/후 잔액도 이 반영 순서의 DB 잔액으로 매김 (샤드 메모리 값은 쓰지 않음)
+ *   → 저널에 남지 못하고 되돌려진 출금이 다른 거래의 로그 잔액에 섞여 들어가지 않음
+ * - 거래/로그/분개는 saveAll, 체크포인트(last_seq)도 같은 트랜잭션에서 갱신 → 두 번 반영되지 않음
+ */
+@Component
+@RequiredArgsConstructor
+public class LedgerPersister {
+
+    static final int CHECKPOINT_ID = 1;
+
+    private final AccountRepository accountRepository;
+    private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
+    private final LedgerCheckpointRepository ledgerCheckpointRepository;
+    private final LogService logService;
+    private final PostingService postingService;
+    private final SystemAccountStripeService systemAccountStripeService;
+    private final AbnPostCheckDispatcher abnPostCheckDispatcher;
+    private final DailyOutflowService dailyOutflowService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public long loadCheckpoint() {
+        return ledgerCheckpointRepository.findById(CHECKPOINT_ID)
+                .map(LedgerCheckpoint::getLastSeq)
+                .orElse(0L);
+    }
+
+    /**
+     * 기록 순서대로 반영하고, 각 기록의 transaction_id 를 같은 순서로 돌려줌
+     */
+    @Transactional
+    public List<Long> persist(List<LedgerRecord> records) {
+        // 1. 관련 계좌 / 사용자 한 번에 조회
+        Set<String> accountNums = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (LedgerRecord record : records) {
+            accountNums.add(record.getFromAccountNum());
+            accountNums.add(record.getToAccountNum());
+            userIds.add(record.getActorUserId());
+        }
+        Map<String, Account> accounts = accountRepository.findAllByAccountNumIn(accountNums).stream()
+                .collect(Collectors.toMap(Account::getAccountNum, Function.identity()));
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        // 2. 거래/로그/분개 생성 + 잔액 증감 반영
+        // 잔액은 증감으로 반영 (샤드 간 이체는 완료 순서와 적용 순서가 달라서 절대값을 쓰면 안 됨)
+        // 분개의 seq / balance_after 는 이 반영 순서를 기준으로 매김
+        List<Transaction> txs = new ArrayList<>(records.size());
+        List<Log> logs = new ArrayList<>();
+        List<Posting> postings = new ArrayList<>();
+
+        for (LedgerRecord record : records) {
+            Account from = require(accounts, record.getFromAccountNum());
+            Account to = require(accounts, record.getToAccountNum());
+            User actor = users.get(record.getActorUserId());
+
+            Transaction tx = Transaction.builder()
+                    .fromAccount(from)
+                    .toAccount(to)
+                    .type(record.getType())
+                    .amount(record.getAmount())
+                    .status(TransactionStatus.SUCCESS)
+                    .memo(record.getMemo())
+                    .createdAt(record.getCreatedAt())
+                    .idempotencyId(record.getIdempotencyId())
+                    .build();
+            txs.add(tx);
+
+            BigDecimal amount = record.getAmount();
+            BigDecimal fromBefore = from.getBalance();
+            BigDecimal toBefore = to.getBalance();
+            if (record.getType() == TransactionType.DEPOSIT) {
+                to.setBalance(toBefore.add(amount));
+                logs.add(logService.newLog(tx, to, toBefore, to.getBalance(), Action.DEPOSIT, actor));
+                postings.add(postingService.newSystemPosting(tx, from, PostingDirection.DEBIT, amount));
+                postings.add(postingService.newPosting(tx, to, PostingDirection.CREDIT, amount));
+                accumulateStripe(AccountType.EXTERNAL_IN, to.getAccountNum(), amount);
+            } else if (record.getType() == TransactionType.WITHDRAWAL) {
+                from.setBalance(fromBefore.subtract(amount));
+                logs.add(logService.newLog(tx, from, fromBefore, from.getBalance(), Action.WITHDRAW, actor));
+                postings.add(postingService.newPosting(tx, from, PostingDirection.DEBIT, amount));
+                postings.add(postingService.newSystemPosting(tx, to, PostingDirection.CREDIT, amount));
+                accumulateStripe(AccountType.EXTERNAL_OUT, from.getAccountNum(), amount);
+            } else {
+                from.setBalance(fromBefore.subtract(amount));
+                to.setBalance(toBefore.add(amount));
+                logs.add(logService.newLog(tx, from, fromBefore, from.getBalance(), Action.TRANSFER_DEBIT, actor));
+                logs.add(logService.newLog(tx, to, toBefore, to.getBalance(), Action.TRANSFER_CREDIT, actor));
+                postings.add(postingService.newPosting(tx, from, PostingDirection.DEBIT, amount));
+                postings.add(postingService.newPosting(tx, to, PostingDirection.CREDIT, amount));
+            }
+        }
+
+        transactionRepository.saveAll(txs);
+        logService.recordLogs(logs);
+        postingService.recordPostings(postings);
+        // 하루 출금 합계 (입금은 출금 계좌가 시스템 계좌라 제외됨)
+        dailyOutflowService.recordAll(txs);
+
+        // 3. 체크포인트
+        saveCheckpoint(records.get(records.size() - 1).getSeq());
+
+        // 4. 이상거래 사후 검사 (커밋 이후)
+        List<Long> ids = new ArrayList<>(txs.size());
+        for (Transaction tx : txs) {
+            if (tx.getType() != TransactionType.DEPOSIT) {
+                abnPostCheckDispatcher.dispatchAfterCommit(tx);
+            }
+            ids.add(tx.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * 반영하지 않고 체크포인트만 넘김 (dead 파일로 보낸 기록)
+     */
+    @Transactional
+    public void skip(long seq) {
+        saveCheckpoint(seq);
+    }
+
+    public boolean databaseAvailable() {
+        try {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void saveCheckpoint(long lastSeq) {
+        LedgerCheckpoint checkpoint = ledgerCheckpointRepository.findById(CHECKPOINT_ID)
+                .orElseGet(() -> LedgerCheckpoint.builder().id(CHECKPOINT_ID).build());
+        checkpoint.setLastSeq(lastSeq);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        ledgerCheckpointRepository.save(checkpoint);
+    }
+
+    private Account require(Map<String, Account> accounts, String accountNum) {
+        Account account = accounts.get(accountNum);
+        if (account == null) {
+            throw new AccountException.AccountNonExistsException("원장 반영 대상 계좌가 없습니다. accountNum=" + accountNum);
+        }
+        return account;
+    }
+
+    private void accumulateStripe(AccountType type, String counterpartyAccountNum, BigDecimal amount) {
+        if (systemAccountStripeService.isEnabled()) {
+            systemAccountStripeService.accumulate(type, counterpartyAccountNum, amount);
+        }
+    }
+}
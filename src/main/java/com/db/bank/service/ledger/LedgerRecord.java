@@ -0,0 +1,63 @@
+package com.db.bank.service.ledger;
+
+import com.db.bank.domain.enums.transaction.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 원장 엔진이 처리를 끝낸 거래 한 건 (저널 한 줄 = JSON 한 건)
+ * - 양쪽 계좌, 금액만으로 Transaction + Log 를 만들 수 있음
+ * - 변경 전/후 잔액은 샤드 메모리에서 본 값 (참고용, 로그 잔액은 LedgerPersister 가 반영 순서대로 다시 계산)
+ * - 입금: from = EXTERNAL_IN, 출금: to = EXTERNAL_OUT (시스템 계좌 쪽 잔액은 null)
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerRecord {
+
+    // 저널 순번 (저널 스레드가 기록 순서대로 부여)
+    private long seq;
+
+    private TransactionType type;
+
+    private Long actorUserId;
+
+    private Long fromAccountId;
+
+    private String fromAccountNum;
+
+    private Long toAccountId;
+
+    private String toAccountNum;
+
+    private BigDecimal amount;
+
+    private String memo;
+
+    private BigDecimal fromBefore;
+
+    private BigDecimal fromAfter;
+
+    private BigDecimal toBefore;
+
+    private BigDecimal toAfter;
+
+    private LocalDateTime createdAt;
+
+    // 요청의 Idempotency-Key 행 id (없으면 null), 거래 행에 그대로 저장
+    private Long idempotencyId;
+
+    // DB 반영 후 transaction_id 를 받아야 하는 호출자용 (저널에는 기록하지 않음)
+    @JsonIgnore
+    private transient CompletableFuture<Long> persisted;
+
+    // write-behind 한 건씩 반영에서 실패한 횟수 (max-flush-attempts 에 닿으면 dead)
+    @JsonIgnore
+    private transient int flushAttempts;
+}
@@ -0,0 +1,86 @@
+package com.db.bank.service.ledger;
+
+import com.db.bank.apiPayload.exception.TransactionException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 원장 샤드 하나
+ * - writer 스레드 한 개가 들어온 명령을 순서대로 실행 (LMAX 방식 single writer)
+ * - 계좌 상태는 이 스레드만 만지므로 잠금이 필요 없음
+ * - 큐는 무제한: 샤드 간 이체 2단계 명령이 다른 샤드 큐에서 막히면 교착이 생길 수 있음
+ *   (유입량 제한은 LedgerEngine 의 in-flight 세마포어가 담당)
+ */
+class LedgerShard {
+
+    private final int shardNo;
+    private final ExecutorService writer;
+    private final Map<String, LedgerAccount> accounts = new HashMap<>();
+    private final Function<String, LedgerAccount> loader;
+
+    LedgerShard(int shardNo, Function<String, LedgerAccount> loader) {
+        this.shardNo = shardNo;
+        this.loader = loader;
+        this.writer = new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "ledger-shard-" + shardNo);
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    int getShardNo() {
+        return shardNo;
+    }
+
+    /**
+     * writer 스레드에서 command 실행
+     * - command 가 던진 예외는 result 로 전달 (writer 스레드는 계속 동작)
+     */
+    void submit(CompletableFuture<?> result, Runnable command) {
+        submit(result, null, command);
+    }
+
+    /**
+     * 취소할 수 있는 명령
+     * - 실행 직전에 claimed 를 false → true 로 바꿈, 호출자가 먼저 바꿨으면(취소) 실행하지 않음
+     * - 호출자 쪽에서 바꾸기에 실패하면 이미 실행이 시작된 것 → 결과가 반영될 수 있음
+     */
+    void submit(CompletableFuture<?> result, AtomicBoolean claimed, Runnable command) {
+        try {
+            writer.execute(() -> {
+                if (claimed != null && !claimed.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    command.run();
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new TransactionException.LedgerUnavailableException("원장 엔진이 종료 중입니다."));
+        }
+    }
+
+    // writer 스레드 전용: 메모리에 없으면 DB에서 한 번 읽어 옴 (없는 계좌면 null)
+    LedgerAccount account(String accountNum) {
+        return accounts.computeIfAbsent(accountNum, loader);
+    }
+
+    void shutdown(long timeoutMs) throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,59 @@
+package com.db.bank.service.rule;
+
+import com.db.bank.domain.entity.TransferLimit;
+import com.db.bank.domain.enums.abnTransfer.RuleCode;
+import com.db.bank.domain.enums.abnTransfer.RulePhase;
+import com.db.bank.domain.enums.transferLimit.TransferStatus;
+import com.db.bank.repository.TransferLimitRepository;
+import com.db.bank.service.DailyOutflowService;
+import com.db.bank.service.TransferMetrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * 일일 이체 한도 (커밋 전, 적발 시 이체 차단)
+ * - 오늘 나간 금액(account_daily_outflow PK 조회) + 같은 배치에서 먼저 나간 금액 + 이번 금액 > 한도
+ */
+@Component
+@Order(100)
+@RequiredArgsConstructor
+public class DailyLimitRule implements TransferRule {
+
+    private final DailyOutflowService dailyOutflowService;
+    private final TransferLimitRepository transferLimitRepository;
+    private final TransferMetrics transferMetrics;
+
+    @Override
+    public RuleCode code() {
+        return RuleCode.DAILY_TOTAL_EXCEEDED;
+    }
+
+    @Override
+    public RulePhase phase() {
+        return RulePhase.PRE_COMMIT;
+    }
+
+    @Override
+    public Optional<String> evaluate(TransferRuleContext context) {
+        Timer.Sample query = transferMetrics.start();
+        BigDecimal today = dailyOutflowService.getOutflow(context.getFromAccountNum(), context.getAt().toLocalDate());
+        transferMetrics.stopAbnQuery(query, "daily_outflow");
+
+        query = transferMetrics.start();
+        Optional<TransferLimit> limitOpt =
+                transferLimitRepository.findOneByAccountAndStatus(context.getFromAccount(), TransferStatus.ACTIVE);
+        transferMetrics.stopAbnQuery(query, "transfer_limit");
+
+        if (limitOpt.isPresent()
+                && today.add(context.getPendingAmount()).add(context.getAmount())
+                        .compareTo(limitOpt.get().getDailyLimitAmt()) > 0) {
+            return Optional.of("일일 이체 한도 초과");
+        }
+        return Optional.empty();
+    }
+}
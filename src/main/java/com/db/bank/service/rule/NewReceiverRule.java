@@ -0,0 +1,57 @@
+package com.db.bank.service.rule;
+
+import com.db.bank.domain.enums.abnTransfer.RuleCode;
+import com.db.bank.domain.enums.abnTransfer.RulePhase;
+import com.db.bank.repository.TransactionRepository;
+import com.db.bank.service.KnownPayeeService;
+import com.db.bank.service.TransferMetrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * 처음 보내는 수취인 (커밋 후, 경고)
+ * - known_payee PK 조회, 행이 없을 때만 이력 COUNT 로 판단하고 행을 채움
+ */
+@Component
+@Order(200)
+@RequiredArgsConstructor
+public class NewReceiverRule implements TransferRule {
+
+    private final KnownPayeeService knownPayeeService;
+    private final TransactionRepository transactionRepository;
+    private final TransferMetrics transferMetrics;
+
+    @Override
+    public RuleCode code() {
+        return RuleCode.NEW_RECEIVER;
+    }
+
+    @Override
+    public RulePhase phase() {
+        return RulePhase.POST_COMMIT;
+    }
+
+    @Override
+    public Optional<String> evaluate(TransferRuleContext context) {
+        String fromAcc = context.getFromAccountNum();
+        String toAcc = context.getToAccountNum();
+
+        Timer.Sample query = transferMetrics.start();
+        Optional<Boolean> known = knownPayeeService.isFirstTransfer(context.getTransactionId(), fromAcc, toAcc);
+        boolean newReceiver;
+        if (known.isPresent()) {
+            newReceiver = known.get();
+            transferMetrics.stopAbnQuery(query, "known_payee");
+        } else {
+            Long history = transactionRepository.countHistoryBetweenAccountsUntil(fromAcc, toAcc, context.getAt());
+            transferMetrics.stopAbnQuery(query, "receiver_history_count");
+            newReceiver = history == 1;
+            knownPayeeService.remember(fromAcc, toAcc, newReceiver ? context.getTransactionId() : null, context.getAt());
+        }
+        return newReceiver ? Optional.of("처음 보내는 수취인 계좌") : Optional.empty();
+    }
+}
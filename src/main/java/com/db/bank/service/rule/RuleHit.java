@@ -0,0 +1,14 @@
+package com.db.bank.service.rule;
+
+import com.db.bank.domain.enums.abnTransfer.RuleCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 적발된 규칙 + 상세 메시지
+@Getter
+@AllArgsConstructor
+public class RuleHit {
+
+    private final RuleCode ruleCode;
+    private final String detailMessage;
+}
@@ -0,0 +1,62 @@
+package com.db.bank.service.rule;
+
+import com.db.bank.domain.enums.abnTransfer.RuleCode;
+import com.db.bank.domain.enums.abnTransfer.RulePhase;
+import com.db.bank.repository.TransactionRepository;
+import com.db.bank.service.SameTransferWindow;
+import com.db.bank.service.TransferMetrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * 최근 10분 내 동일 거래(보낸 계좌 + 받는 계좌 + 금액) 3건 이상 (커밋 후)
+ * - 메모리 카운터로 답할 수 있으면 DB COUNT 생략
+ */
+@Component
+@Order(100)
+@RequiredArgsConstructor
+public class SameTransferRule implements TransferRule {
+
+    private final SameTransferWindow sameTransferWindow;
+    private final TransactionRepository transactionRepository;
+    private final TransferMetrics transferMetrics;
+
+    @Override
+    public RuleCode code() {
+        return RuleCode.MULTI_TRANSFER_SAME_ACCOUNT;
+    }
+
+    @Override
+    public RulePhase phase() {
+        return RulePhase.POST_COMMIT;
+    }
+
+    @Override
+    public Optional<String> evaluate(TransferRuleContext context) {
+        Timer.Sample query = transferMetrics.start();
+        OptionalLong windowCount = sameTransferWindow.isReady()
+                ? sameTransferWindow.countUntil(context.getFromAccountNum(), context.getToAccountNum(),
+                        context.getAmount(), context.getAt())
+                : OptionalLong.empty();
+        long count;
+        if (windowCount.isPresent()) {
+            count = windowCount.getAsLong();
+            transferMetrics.stopAbnQuery(query, "same_transfer_window");
+        } else {
+            count = transactionRepository.sameTransferUntil(
+                    context.getFromAccountNum(),
+                    context.getToAccountNum(),
+                    context.getAmount(),
+                    context.getAt().minusMinutes(10),
+                    context.getAt()
+            );
+            transferMetrics.stopAbnQuery(query, "same_transfer_count");
+        }
+        return count >= 3 ? Optional.of("10분내 동일거래 3건 이상") : Optional.empty();
+    }
+}
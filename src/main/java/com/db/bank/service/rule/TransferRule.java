@@ -0,0 +1,32 @@
+package com.db.bank.service.rule;
+
+import com.db.bank.domain.enums.abnTransfer.RuleCode;
+import com.db.bank.domain.enums.abnTransfer.RulePhase;
+
+import java.util.Optional;
+
+/**
+ * 이상거래 규칙 SPI
+ * - 스프링 빈으로 등록하면 TransferRuleRegistry 가 모음 (AbnTransferService 수정 없이 추가)
+ * - PRE_COMMIT 규칙은 잠금을 잡은 호출 스레드에서 순서대로, POST_COMMIT 규칙은 abnRuleExecutor 에서 병렬로 실행
+ * - POST_COMMIT 규칙은 다른 스레드에서 돌기 때문에 context 의 값만 쓰고, DB 는 리포지토리 호출 단위로 읽음
+ */
+public interface TransferRule {
+
+    RuleCode code();
+
+    RulePhase phase();
+
+    /**
+     * @return 적발이면 상세 메시지, 아니면 empty
+     */
+    Optional<String> evaluate(TransferRuleContext context);
+
+    /**
+     * 규칙별 시간 예산 (ms), 0 이하면 bank.abn.rules.timeout-ms 기본값
+     * - bank.abn.rules.timeout-ms.<RULE_CODE> 설정이 있으면 그 값이 우선
+     */
+    default long timeoutMs() {
+        return 0;
+    }
+}
@@ -0,0 +1,51 @@
+package com.db.bank.service.rule;
+
+import com.db.bank.domain.entity.Account;
+import com.db.bank.domain.entity.Transaction;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 규칙 검사 입력
+ * - PRE_COMMIT: fromAccount(잠근 엔티티) / pendingAmount 사용, transactionId 는 null
+ * - POST_COMMIT: 저장된 거래의 값, 기준 시각은 거래 생성 시각 (커밋 이후에 검사해도 같은 결과)
+ */
+@Getter
+@Builder
+public class TransferRuleContext {
+
+    private final Long transactionId;
+    private final String fromAccountNum;
+    private final String toAccountNum;
+    private final BigDecimal amount;
+    private final LocalDateTime at;
+
+    // PRE_COMMIT 전용
+    private final Account fromAccount;
+    @Builder.Default
+    private final BigDecimal pendingAmount = BigDecimal.ZERO;
+
+    public static TransferRuleContext preCommit(Account from, Account to, BigDecimal amount, BigDecimal pendingAmount) {
+        return TransferRuleContext.builder()
+                .fromAccountNum(from.getAccountNum())
+                .toAccountNum(to.getAccountNum())
+                .amount(amount)
+                .at(LocalDateTime.now())
+                .fromAccount(from)
+                .pendingAmount(pendingAmount)
+                .build();
+    }
+
+    public static TransferRuleContext postCommit(Transaction tx) {
+        return TransferRuleContext.builder()
+                .transactionId(tx.getId())
+                .fromAccountNum(tx.getFromAccount().getAccountNum())
+                .toAccountNum(tx.getToAccount().getAccountNum())
+                .amount(tx.getAmount())
+                .at(tx.getCreatedAt() != null ? tx.getCreatedAt() : LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.db.bank.service.rule;
+
+import com.db.bank.domain.enums.abnTransfer.RulePhase;
+import com.db.bank.service.TransferMetrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 이상거래 규칙 실행기
+ * - PRE_COMMIT : 호출 스레드(이체 트랜잭션 안)에서 순서대로, 첫 적발에서 멈춤
+ *                중간에 끊을 수 없으므로 시간 예산을 넘기면 timeouts 지표만 올림
+ * - POST_COMMIT: abnRuleExecutor 에서 규칙마다 병렬 실행, 예산 안에 끝난 규칙의 결과만 모음
+ *                예산을 넘긴 규칙은 결과를 버림 (실행 중인 작업은 끝까지 돌고, 실행기 크기로 개수가 제한됨)
+ *                실행기 큐가 가득 차서 거절된 규칙은 실행하지 않고 예산 초과와 같이 timeouts 지표만 올림
+ * - 규칙 하나가 예외를 던져도 다른 규칙은 계속 실행
+ */
+@Slf4j
+@Component
+public class TransferRuleEngine {
+
+    private final TransferRuleRegistry registry;
+    private final TaskExecutor abnRuleExecutor;
+    private final TransferMetrics transferMetrics;
+    private final Environment environment;
+    private final long defaultTimeoutMs;
+
+    public TransferRuleEngine(
+            TransferRuleRegistry registry,
+            @Qualifier("abnRuleExecutor") TaskExecutor abnRuleExecutor,
+            TransferMetrics transferMetrics,
+            Environment environment,
+            @Value("${bank.abn.rules.timeout-ms.default:200}") long defaultTimeoutMs
+    ) {
+        this.registry = registry;
+        this.abnRuleExecutor = abnRuleExecutor;
+        this.transferMetrics = transferMetrics;
+        this.environment = environment;
+        this.defaultTimeoutMs = defaultTimeoutMs;
+    }
+
+    // ================== 1. 커밋 전 (차단) ==================
+
+    public Optional<RuleHit> runPreCommit(TransferRuleContext context) {
+        for (TransferRule rule : registry.rules(RulePhase.PRE_COMMIT)) {
+            long started = System.nanoTime();
+            Optional<RuleHit> hit = evaluate(rule, context);
+            if (System.nanoTime() - started > TimeUnit.MILLISECONDS.toNanos(timeoutMs(rule))) {
+                transferMetrics.ruleTimeout(rule.code(), rule.phase());
+            }
+            if (hit.isPresent()) {
+                return hit;
+            }
+        }
+        return Optional.empty();
+    }
+
+    // ================== 2. 커밋 후 (참고, 병렬) ==================
+
+    public List<RuleHit> runPostCommit(TransferRuleContext context) {
+        List<TransferRule> rules = registry.rules(RulePhase.POST_COMMIT);
+        if (rules.isEmpty()) {
+            return List.of();
+        }
+
+        long started = System.nanoTime();
+        List<CompletableFuture<Optional<RuleHit>>> futures = new ArrayList<>(rules.size());
+        for (TransferRule rule : rules) {
+            try {
+                futures.add(CompletableFuture.supplyAsync(() -> evaluate(rule, context), abnRuleExecutor));
+            } catch (RejectedExecutionException e) {
+                // 호출 스레드에서 대신 실행하면 예산 없이 돌게 됨 → 건너뜀
+                transferMetrics.ruleTimeout(rule.code(), rule.phase());
+                futures.add(null);
+            }
+        }
+
+        // 규칙마다 자기 예산까지 기다림 (모두 같은 시점에 시작했으므로 전체 대기는 가장 긴 예산 정도)
+        List<RuleHit> hits = new ArrayList<>();
+        for (int i = 0; i < rules.size(); i++) {
+            TransferRule rule = rules.get(i);
+            if (futures.get(i) == null) {
+                continue;
+            }
+            long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMs(rule)) - (System.nanoTime() - started);
+            try {
+                futures.get(i).get(Math.max(0, remaining), TimeUnit.NANOSECONDS).ifPresent(hits::add);
+            } catch (TimeoutException e) {
+                futures.get(i).cancel(false);
+                transferMetrics.ruleTimeout(rule.code(), rule.phase());
+            } catch (ExecutionException e) {
+                log.error("[ABN RULE] {} failed", rule.code(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return hits;
+    }
+
+    // ================== 3. 공통 ==================
+
+    // 규칙 한 번 실행 + 소요 시간 / 적발 지표
+    private Optional<RuleHit> evaluate(TransferRule rule, TransferRuleContext context) {
+        Timer.Sample sample = transferMetrics.start();
+        String outcome = "error";
+        try {
+            Optional<RuleHit> hit = rule.evaluate(context).map(message -> new RuleHit(rule.code(), message));
+            outcome = hit.isPresent() ? "hit" : "pass";
+            if (hit.isPresent()) {
+                transferMetrics.ruleHit(rule.code());
+            }
+            return hit;
+        } finally {
+            transferMetrics.stopRule(sample, rule.code(), rule.phase(), outcome);
+        }
+    }
+
+    private long timeoutMs(TransferRule rule) {
+        long fallback = rule.timeoutMs() > 0 ? rule.timeoutMs() : defaultTimeoutMs;
+        return environment.getProperty("bank.abn.rules.timeout-ms." + rule.code().name(), Long.class, fallback);
+    }
+}
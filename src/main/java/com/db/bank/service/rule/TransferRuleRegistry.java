@@ -0,0 +1,36 @@
+package com.db.bank.service.rule;
+
+import com.db.bank.domain.enums.abnTransfer.RulePhase;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 등록된 TransferRule 빈을 단계별로 나눠 보관
+ * - 같은 단계 안의 순서는 @Order (PRE_COMMIT 은 앞 규칙이 적발하면 뒤 규칙은 실행하지 않음)
+ */
+@Component
+public class TransferRuleRegistry {
+
+    private final Map<RulePhase, List<TransferRule>> rulesByPhase = new EnumMap<>(RulePhase.class);
+
+    public TransferRuleRegistry(List<TransferRule> rules) {
+        for (RulePhase phase : RulePhase.values()) {
+            rulesByPhase.put(phase, new ArrayList<>());
+        }
+        List<TransferRule> sorted = new ArrayList<>(rules);
+        AnnotationAwareOrderComparator.sort(sorted);
+        for (TransferRule rule : sorted) {
+            rulesByPhase.get(rule.phase()).add(rule);
+        }
+        rulesByPhase.replaceAll((phase, list) -> List.copyOf(list));
+    }
+
+    public List<TransferRule> rules(RulePhase phase) {
+        return rulesByPhase.get(phase);
+    }
+}
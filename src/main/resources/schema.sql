@@ -17,6 +17,30 @@ VALUES
     ('DAILY_LIMIT_EXCEEDED', '일일 한도 초과'),
     ('RETRY_FAILED', '재시도 실패');
 
+-- pooled id 할당 테이블 (transaction / log / scheduled_transfer_run / abntransfer / posting)
+-- 기존 IDENTITY 로 쌓인 행과 겹치지 않도록 MAX(id) + allocationSize 이후부터 시작
+-- (pooled optimizer 는 next_val - 49 ~ next_val 구간을 한 번에 가져감)
+-- spring.sql.init.mode=never 일 때는 IdGeneratorInitializer 가 기동 시 같은 INSERT 를 실행함
+CREATE TABLE IF NOT EXISTS id_generator (
+    gen_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+);
+INSERT INTO id_generator (gen_name, next_val)
+SELECT 'transaction', COALESCE(MAX(transaction_id), 0) + 51 FROM `transaction`
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+INSERT INTO id_generator (gen_name, next_val)
+SELECT 'log', COALESCE(MAX(log_id), 0) + 51 FROM `log`
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+INSERT INTO id_generator (gen_name, next_val)
+SELECT 'scheduled_transfer_run', COALESCE(MAX(run_id), 0) + 51 FROM `SCHEDULED_TRANSFER_RUN`
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+INSERT INTO id_generator (gen_name, next_val)
+SELECT 'abntransfer', COALESCE(MAX(alert_id), 0) + 51 FROM `abntransfer`
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+INSERT INTO id_generator (gen_name, next_val)
+SELECT 'posting', COALESCE(MAX(posting_id), 0) + 51 FROM `posting`
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
 -- 시스템 입금 전용 계좌
 INSERT IGNORE INTO account (account_num, balance, account_type, created_at, user_id)
 VALUES ('999-000', 10000000, 'EXTERNAL_IN', NOW(), 1);
@@ -121,6 +145,10 @@ ALTER TABLE `SCHEDULED_TRANSFER_RUN`
     ADD CONSTRAINT `UQ_run_txn_out` UNIQUE (`txn_out_id`),
 ADD CONSTRAINT `UQ_run_txn_in` UNIQUE (`txn_in_id`);
 
+-- transaction: Idempotency-Key 행 하나에는 거래 하나만 (키 없는 요청의 NULL 은 여러 개 허용)
+ALTER TABLE `transaction`
+    ADD CONSTRAINT `uk_tx_idem` UNIQUE (`idem_id`);
+
 -- ========================================
 -- 4. CHECK 제약조건
 -- ========================================
@@ -177,6 +205,7 @@ ALTER TABLE `log`
 
 -- 기본 인덱스
 CREATE INDEX ix_account_user ON `Account`(`user_id`);
+CREATE INDEX ix_account_type_stripe ON `Account`(`account_type`, `stripe_no`);
 CREATE INDEX ix_tx_from_time ON `transaction`(`from_account_num`, `created_at`);
 CREATE INDEX ix_tx_to_time ON `transaction`(`to_account_num`, `created_at`);
 CREATE INDEX ix_tx_status_time ON `transaction`(`status`, `created_at`);
@@ -0,0 +1,190 @@
+package com.db.bank.repository;
+
+import com.db.bank.domain.entity.Account;
+import com.db.bank.domain.entity.Log;
+import com.db.bank.domain.entity.Transaction;
+import com.db.bank.domain.entity.User;
+import com.db.bank.domain.enums.account.AccountType;
+import com.db.bank.domain.enums.log.Action;
+import com.db.bank.domain.enums.transaction.TransactionStatus;
+import com.db.bank.domain.enums.transaction.TransactionType;
+import com.db.bank.repository.projection.LogHistoryRow;
+import com.db.bank.repository.projection.TransactionHistoryRow;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내역 조회 프로젝션 쿼리 검사 (내장 H2)
+ * - 페이지 하나를 읽는 데 SQL 한 번만 나가는지 (계좌 / 거래 / 사용자 엔티티를 추가로 읽지 않는지)
+ * - 전체 건수보다 큰 페이지는 COUNT 도 생략됨 → 정확히 한 번
+ * - 꽉 찬 페이지는 Page 응답의 totalElements 때문에 COUNT 한 번이 더 나감
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:projection;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class HistoryProjectionQueryTest {
+
+    private static final int TRANSFERS = 3;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LogRepository logRepository;
+
+    private Statistics statistics;
+    private User owner;
+    private Account from;
+    private Account to;
+
+    @BeforeEach
+    void setUp() {
+        owner = em.persist(User.builder().name("owner").userId("projection-owner").password("pw").build());
+        from = em.persist(account("100-000-000001"));
+        to = em.persist(account("100-000-000002"));
+
+        LocalDateTime base = LocalDateTime.now().minusMinutes(10);
+        for (int i = 0; i < TRANSFERS; i++) {
+            BigDecimal amount = BigDecimal.valueOf(1000L * (i + 1));
+            Transaction tx = em.persist(Transaction.builder()
+                    .fromAccount(from)
+                    .toAccount(to)
+                    .type(TransactionType.TRANSFER)
+                    .status(TransactionStatus.SUCCESS)
+                    .amount(amount)
+                    .memo("transfer-" + i)
+                    .build());
+            em.persist(log(tx, from, Action.TRANSFER_DEBIT, amount, base.plusMinutes(i)));
+            em.persist(log(tx, to, Action.TRANSFER_CREDIT, amount, base.plusMinutes(i)));
+        }
+        em.flush();
+        em.clear();
+
+        statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void sentHistoryPageIsOneStatement() {
+        Page<TransactionHistoryRow> page = transactionRepository.findSentHistory(from.getId(), PageRequest.of(0, 20));
+
+        assertThat(page.getContent()).hasSize(TRANSFERS);
+        assertThat(page.getTotalElements()).isEqualTo(TRANSFERS);
+        TransactionHistoryRow row = page.getContent().get(0);
+        assertThat(row.fromAccountId()).isEqualTo(from.getId());
+        assertThat(row.toAccountId()).isEqualTo(to.getId());
+        assertSingleStatement();
+    }
+
+    @Test
+    void receivedHistoryPageIsOneStatement() {
+        Page<TransactionHistoryRow> page = transactionRepository.findReceivedHistory(to.getId(), PageRequest.of(0, 20));
+
+        assertThat(page.getContent()).hasSize(TRANSFERS);
+        assertSingleStatement();
+    }
+
+    @Test
+    void fullHistoryPageAddsOnlyCount() {
+        Page<TransactionHistoryRow> page = transactionRepository.findSentHistory(from.getId(), PageRequest.of(0, 2));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(TRANSFERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void cursorPageIsOneStatement() {
+        List<TransactionHistoryRow> rows = transactionRepository.findSentFirst(from.getAccountNum(), Limit.of(TRANSFERS + 1));
+
+        assertThat(rows).hasSize(TRANSFERS);
+        assertThat(rows.get(0).createdAt()).isAfterOrEqualTo(rows.get(TRANSFERS - 1).createdAt());
+        assertSingleStatement();
+    }
+
+    @Test
+    void logPagesAreOneStatementEach() {
+        PageRequest pageable = PageRequest.of(0, 20);
+        LocalDateTime now = LocalDateTime.now();
+
+        Page<LogHistoryRow> byAccount = logRepository.findHistoryByAccount(from.getAccountNum(), pageable);
+        assertThat(byAccount.getContent()).hasSize(TRANSFERS)
+                .allSatisfy(row -> {
+                    assertThat(row.accountNum()).isEqualTo(from.getAccountNum());
+                    assertThat(row.actorUserId()).isEqualTo(owner.getId());
+                    assertThat(row.transactionId()).isNotNull();
+                });
+        assertSingleStatement();
+
+        statistics.clear();
+        assertThat(logRepository.findHistoryByActorUser(owner.getId(), pageable).getContent()).hasSize(TRANSFERS * 2);
+        assertSingleStatement();
+
+        statistics.clear();
+        assertThat(logRepository.findHistoryByAccountAndPeriod(to.getAccountNum(), now.minusHours(1), now, pageable)
+                .getContent()).hasSize(TRANSFERS);
+        assertSingleStatement();
+
+        statistics.clear();
+        assertThat(logRepository.findHistoryByAction(Action.TRANSFER_CREDIT, pageable).getContent()).hasSize(TRANSFERS);
+        assertSingleStatement();
+    }
+
+    private void assertSingleStatement() {
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityFetchCount()).isZero();
+    }
+
+    private Account account(String accountNum) {
+        return Account.builder()
+                .accountNum(accountNum)
+                .balance(new BigDecimal("100000"))
+                .accountType(AccountType.NORMAL)
+                .createdAt(LocalDateTime.now())
+                .user(owner)
+                .build();
+    }
+
+    private Log log(Transaction tx, Account account, Action action, BigDecimal amount, LocalDateTime createdAt) {
+        return Log.builder()
+                .transaction(tx)
+                .account(account)
+                .actorUser(owner)
+                .beforeBalance(account.getBalance())
+                .afterBalance(action == Action.TRANSFER_DEBIT
+                        ? account.getBalance().subtract(amount)
+                        : account.getBalance().add(amount))
+                .action(action)
+                .createdAt(createdAt)
+                .build();
+    }
+}
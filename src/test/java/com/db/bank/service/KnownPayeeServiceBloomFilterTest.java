@@ -0,0 +1,56 @@
+package com.db.bank.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 아는 수취인 Bloom filter 검사 (Spring 컨텍스트 없이)
+ * - 크기: m = -n·ln(p) / (ln 2)² 를 64비트 단위로 올림, k = m/n·ln 2
+ * - 넣은 값은 항상 있다고 나옴 (false negative 없음), 오탐률은 목표 근처
+ */
+class KnownPayeeServiceBloomFilterTest {
+
+    @Test
+    void sizesBitsAndHashesFromExpectedInsertions() {
+        KnownPayeeService.BloomFilter filter = new KnownPayeeService.BloomFilter(1000, 0.01);
+
+        assertThat(filter.bitCount).isEqualTo(9600);   // m = 9586 → 150 words
+        assertThat(filter.hashCount).isEqualTo(7);
+    }
+
+    @Test
+    void clampsDegenerateSettings() {
+        KnownPayeeService.BloomFilter filter = new KnownPayeeService.BloomFilter(0, 0.9);
+
+        assertThat(filter.bitCount).isEqualTo(64);     // n = 1, p = 0.5 → m = 2
+        assertThat(filter.hashCount).isEqualTo(1);
+    }
+
+    @Test
+    void hasNoFalseNegativesAndKeepsFalsePositiveRateNearTarget() {
+        int n = 10_000;
+        KnownPayeeService.BloomFilter filter = new KnownPayeeService.BloomFilter(n, 0.01);
+        SplittableRandom random = new SplittableRandom(42);
+        long[] inserted = new long[n];
+        for (int i = 0; i < n; i++) {
+            inserted[i] = random.nextLong();
+            filter.put(inserted[i]);
+        }
+
+        for (long hash : inserted) {
+            assertThat(filter.mightContain(hash)).isTrue();
+        }
+
+        int probes = 100_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(random.nextLong())) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+}
@@ -0,0 +1,179 @@
+package com.db.bank.service;
+
+import com.db.bank.domain.entity.Account;
+import com.db.bank.domain.entity.Transaction;
+import com.db.bank.domain.enums.transaction.TransactionStatus;
+import com.db.bank.domain.enums.transaction.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 동일 거래 메모리 카운터 검사 (Spring 컨텍스트 없이)
+ * - Ring: 칸 재사용, 늦은 기록 무시, 창 경계
+ * - Segment: 창 밖 기록 무시, 가득 찼을 때 만료 키 정리, 정리해도 가득 차면 overflowUntil 까지 empty
+ * - 기동 채우기 중에 record() 와 채우기 쿼리가 같은 거래를 두 번 세지 않는지
+ */
+class SameTransferWindowTest {
+
+    private static final String FROM = "100-000-000001";
+    private static final String TO = "100-000-000002";
+    private static final BigDecimal AMOUNT = new BigDecimal("10000");
+
+    // ================== 1. Ring ==================
+
+    @Test
+    void ringReusesSlotForNewerBucket() {
+        SameTransferWindow.Ring ring = new SameTransferWindow.Ring(3);
+        ring.add(10);
+        ring.add(10);
+        ring.add(13);       // 10 과 같은 칸 → 10 의 건수는 지워짐
+
+        assertThat(ring.count(13)).isEqualTo(1);
+        assertThat(ring.count(12)).isZero();
+    }
+
+    @Test
+    void ringIgnoresLateRecordForOverwrittenSlot() {
+        SameTransferWindow.Ring ring = new SameTransferWindow.Ring(3);
+        ring.add(13);
+        ring.add(10);       // 더 새 버킷이 쓴 칸 → 무시
+
+        assertThat(ring.count(13)).isEqualTo(1);
+        assertThat(ring.count(10)).isZero();
+    }
+
+    @Test
+    void ringCountsOnlyBucketsInsideWindow() {
+        SameTransferWindow.Ring ring = new SameTransferWindow.Ring(3);
+        ring.add(5);
+        ring.add(6);
+        ring.add(7);
+
+        assertThat(ring.count(7)).isEqualTo(3);
+        assertThat(ring.count(8)).isEqualTo(2);     // 5 는 창 밖
+        assertThat(ring.count(6)).isEqualTo(2);     // 7 은 until 이후
+        assertThat(ring.count(10)).isZero();
+    }
+
+    // ================== 2. Segment ==================
+
+    @Test
+    void segmentIgnoresRecordOlderThanWindow() {
+        SameTransferWindow.Segment segment = new SameTransferWindow.Segment(4, 3);
+        segment.add(1L, 7, 10);     // 7 <= 10 - 3
+
+        assertThat(segment.count(1L, 10, 10)).isEqualTo(OptionalLong.of(0));
+    }
+
+    @Test
+    void segmentSweepsExpiredKeysWhenFull() {
+        SameTransferWindow.Segment segment = new SameTransferWindow.Segment(2, 3);
+        segment.add(1L, 0, 0);
+        segment.add(2L, 0, 0);
+
+        segment.add(3L, 5, 5);      // 가득 참 → 1, 2 는 창 밖이라 정리되고 3 이 들어감
+
+        assertThat(segment.count(3L, 5, 5)).isEqualTo(OptionalLong.of(1));
+        assertThat(segment.count(1L, 5, 5)).isEqualTo(OptionalLong.of(0));
+    }
+
+    @Test
+    void segmentReportsUnknownUntilOverflowExpires() {
+        SameTransferWindow.Segment segment = new SameTransferWindow.Segment(2, 3);
+        segment.add(1L, 5, 5);
+        segment.add(2L, 5, 5);
+
+        segment.add(3L, 5, 5);      // 정리해도 가득 참 → 3 은 버려짐
+
+        assertThat(segment.count(3L, 5, 5)).isEmpty();
+        assertThat(segment.count(3L, 5, 8)).isEmpty();
+        assertThat(segment.count(3L, 5, 9)).isEqualTo(OptionalLong.of(0));
+        assertThat(segment.count(1L, 5, 5)).isEqualTo(OptionalLong.of(1));
+    }
+
+    // ================== 3. 기동 채우기 ==================
+
+    @Test
+    void recordBeforeWarmUpRowIsCountedOnce() {
+        Transaction tx = transfer(1L);
+        WarmUpJdbcTemplate jdbcTemplate = new WarmUpJdbcTemplate(tx);
+        SameTransferWindow window = window(jdbcTemplate);
+        jdbcTemplate.beforeRows = () -> window.record(tx);
+
+        window.warmUp();
+
+        assertThat(window.isReady()).isTrue();
+        assertThat(window.countUntil(FROM, TO, AMOUNT, LocalDateTime.now())).isEqualTo(OptionalLong.of(1));
+    }
+
+    @Test
+    void recordAfterWarmUpRowIsCountedOnce() {
+        Transaction tx = transfer(1L);
+        WarmUpJdbcTemplate jdbcTemplate = new WarmUpJdbcTemplate(tx);
+        SameTransferWindow window = window(jdbcTemplate);
+        jdbcTemplate.afterRows = () -> window.record(tx);
+
+        window.warmUp();
+        window.record(transfer(2L));    // 채우기가 끝난 뒤에는 그대로 셈
+
+        assertThat(window.countUntil(FROM, TO, new BigDecimal("10000.00"), LocalDateTime.now()))
+                .isEqualTo(OptionalLong.of(2));
+    }
+
+    private static SameTransferWindow window(JdbcTemplate jdbcTemplate) {
+        return new SameTransferWindow(jdbcTemplate, true, 600, 10, 1000);
+    }
+
+    private static Transaction transfer(Long id) {
+        return Transaction.builder()
+                .id(id)
+                .fromAccount(Account.builder().accountNum(FROM).build())
+                .toAccount(Account.builder().accountNum(TO).build())
+                .type(TransactionType.TRANSFER)
+                .status(TransactionStatus.SUCCESS)
+                .amount(AMOUNT)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    // 채우기 쿼리 결과로 거래 한 건을 돌려줌 (앞뒤로 동시에 커밋된 record() 를 끼워 넣음)
+    private static final class WarmUpJdbcTemplate extends JdbcTemplate {
+
+        private final Transaction row;
+        private Runnable beforeRows = () -> { };
+        private Runnable afterRows = () -> { };
+
+        WarmUpJdbcTemplate(Transaction row) {
+            this.row = row;
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch, Object... args) {
+            beforeRows.run();
+            try {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong("transaction_id")).thenReturn(row.getId());
+                when(rs.getString("from_account_num")).thenReturn(row.getFromAccount().getAccountNum());
+                when(rs.getString("to_account_num")).thenReturn(row.getToAccount().getAccountNum());
+                when(rs.getBigDecimal("amount")).thenReturn(row.getAmount());
+                when(rs.getTimestamp("created_at")).thenReturn(Timestamp.valueOf(row.getCreatedAt()));
+                rch.processRow(rs);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            afterRows.run();
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.db.bank.stress;
+
+import com.db.bank.domain.entity.Account;
+import com.db.bank.domain.entity.User;
+import com.db.bank.domain.enums.account.AccountType;
+import com.db.bank.domain.enums.scheduledTransaction.Frequency;
+import com.db.bank.repository.UserRepository;
+import com.db.bank.service.AccountService;
+import com.db.bank.service.ScheduledTransactionService;
+import com.db.bank.service.TransactionService;
+import com.db.bank.service.ledger.LedgerEngine;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 돈 보존 동시성 스트레스 테스트 (./gradlew stressTest, 일반 test 에서는 제외)
+ * - 여러 스레드가 이체 / 입금 / 출금 / 예약이체 실행(runDueSchedules)을 임의 계좌 쌍으로 동시에 호출
+ * - 라운드가 끝날 때마다 검사
+ *   1) 일반 계좌 잔액 합 = 시작 합 + 성공한 입금 합 - 성공한 출금 합 (이체/예약이체는 합을 바꾸지 않음)
+ *   2) 계좌별 로그 체인: 분개 seq 순서로 로그를 따라가면 before = 직전 after, 마지막 after = 현재 잔액
+ * - 업무 오류(잔액 부족 등)와 재시도 소진은 롤백된 것으로 보고 합계에 넣지 않음
+ * - 조절: -Pstress.threads / rounds / ops-per-thread / accounts / schedules / lock-mode
+ * - 처리 방식: -Pstress.ledger-engine / group-commit / stripes (모드별 실행은 ./gradlew stressTestAllModes)
+ *   원장 엔진 모드는 write-behind 가 DB 에 반영할 때까지 기다린 뒤 검사
+ */
+@Tag("stress")
+@ActiveProfiles("stress")
+@SpringBootTest(properties = {
+        "bank.transfer.lock-mode.default=${stress.lock-mode:PESSIMISTIC}",
+        "bank.ledger.engine.enabled=${stress.ledger-engine:false}",
+        "bank.transfer.group-commit.enabled=${stress.group-commit:false}",
+        "bank.system-account.stripes=${stress.stripes:0}"
+})
+class MoneyConservationStressTest {
+
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("100000");
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ScheduledTransactionService scheduledTransactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LedgerEngine ledgerEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${stress.threads:16}")
+    private int threads;
+
+    @Value("${stress.rounds:5}")
+    private int rounds;
+
+    @Value("${stress.ops-per-thread:200}")
+    private int opsPerThread;
+
+    @Value("${stress.accounts:40}")
+    private int accountCount;
+
+    @Value("${stress.schedules:20}")
+    private int scheduleCount;
+
+    @Test
+    void moneyIsConservedUnderConcurrentLoad() throws Exception {
+        // 1. 사용자 / 계좌 / 예약이체 준비
+        User user = userRepository.save(User.builder()
+                .userId("stress_user")
+                .name("스트레스")
+                .password("{noop}stress")
+                .build());
+        Long userId = user.getId();
+
+        List<Account> accounts = new ArrayList<>(accountCount);
+        Map<String, BigDecimal> initialBalances = new HashMap<>();
+        for (int i = 0; i < accountCount; i++) {
+            Account account = accountService.createAccount(
+                    userId, String.format("800-%05d", i), AccountType.NORMAL, INITIAL_BALANCE);
+            accounts.add(account);
+            initialBalances.put(account.getAccountNum(), INITIAL_BALANCE);
+        }
+        for (int i = 0; i < scheduleCount; i++) {
+            // (i → i+1) 쌍이라 중복 예약 검사에 걸리지 않음
+            Account from = accounts.get(i % accountCount);
+            Account to = accounts.get((i + 1) % accountCount);
+            scheduledTransactionService.createSchedule(userId, from.getId(), to.getAccountNum(),
+                    BigDecimal.valueOf(1 + i % 50), Frequency.DAILY, LocalDate.now(), null, LocalTime.MIN, null, "stress");
+        }
+
+        BigDecimal expectedSum = sumNormalBalances();
+        Ledger ledger = new Ledger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 1; round <= rounds; round++) {
+                makeSchedulesDue();
+
+                // 2. 동시 실행
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>(threads);
+                for (int t = 0; t < threads; t++) {
+                    futures.add(pool.submit(() -> {
+                        start.await();
+                        for (int op = 0; op < opsPerThread; op++) {
+                            runRandomOperation(userId, accounts, ledger);
+                        }
+                        return null;
+                    }));
+                }
+                long startedAt = System.nanoTime();
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(10, TimeUnit.MINUTES);
+                }
+                double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+                awaitLedgerFlushed();
+
+                // 3. 검사
+                expectedSum = expectedSum.add(ledger.deposited()).subtract(ledger.withdrawn());
+                ledger.resetFlows();
+                assertThat(sumNormalBalances())
+                        .as("round %d: 일반 계좌 잔액 합 = 시작 합 + 입금 - 출금", round)
+                        .isEqualByComparingTo(expectedSum);
+                assertLogChains(initialBalances, round);
+
+                int totalOps = threads * opsPerThread;
+                System.out.printf("[stress] round=%d ops=%d elapsed=%.2fs throughput=%.1f ops/s outcomes=%s%n",
+                        round, totalOps, seconds, totalOps / seconds, ledger.outcomes());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void runRandomOperation(Long userId, List<Account> accounts, Ledger ledger) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String from = accounts.get(random.nextInt(accounts.size())).getAccountNum();
+        String to = accounts.get(random.nextInt(accounts.size())).getAccountNum();
+        BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(1000));
+        int dice = random.nextInt(100);
+
+        String kind = dice < 55 ? "transfer" : dice < 75 ? "deposit" : dice < 95 ? "withdraw" : "schedule";
+        try {
+            switch (kind) {
+                case "transfer" -> {
+                    if (from.equals(to)) {
+                        return;
+                    }
+                    transactionService.transfer(userId, from, to, amount, "stress");
+                }
+                case "deposit" -> {
+                    transactionService.deposit(userId, to, amount, "stress");
+                    ledger.deposit(amount);
+                }
+                case "withdraw" -> {
+                    transactionService.withdraw(userId, from, amount, "stress");
+                    ledger.withdraw(amount);
+                }
+                default -> scheduledTransactionService.runDueSchedules(LocalDateTime.now());
+            }
+            ledger.count(kind + ".ok");
+        } catch (RuntimeException e) {
+            ledger.count(kind + "." + e.getClass().getSimpleName());
+        }
+    }
+
+    // 원장 엔진 모드: DB 를 검사하기 전에 write-behind 가 따라잡을 때까지 기다림
+    private void awaitLedgerFlushed() throws InterruptedException {
+        if (!ledgerEngine.isEnabled()) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (!ledgerEngine.isDrained()) {
+            assertThat(System.nanoTime()).as("원장 write-behind 반영 대기 시간 초과").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    // 예약이체를 다시 실행 대상으로 (DAILY 라 한 번 실행하면 다음 날로 밀림)
+    private void makeSchedulesDue() {
+        jdbcTemplate.update("UPDATE scheduled_transaction SET next_run_at = ? WHERE scheduled_status = 'ACTIVE'",
+                LocalDateTime.now().minusMinutes(1));
+    }
+
+    private BigDecimal sumNormalBalances() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(balance), 0) FROM account WHERE account_type = 'NORMAL'", BigDecimal.class);
+    }
+
+    /**
+     * 계좌별 로그 체인 검사
+     * - 분개(seq)가 계좌 안의 적용 순서 → 같은 거래의 로그를 그 순서로 이어 붙임
+     * - pooled id 라 로그 id 순서는 커밋 순서와 다를 수 있어서 id 로 정렬하지 않음
+     */
+    private void assertLogChains(Map<String, BigDecimal> initialBalances, int round) {
+        Map<String, Map<Long, BigDecimal[]>> logs = new HashMap<>();
+        jdbcTemplate.query("SELECT account_num, transaction_id, before_balance, after_balance FROM log", rs -> {
+            BigDecimal[] previous = logs.computeIfAbsent(rs.getString(1), k -> new HashMap<>())
+                    .put(rs.getLong(2), new BigDecimal[]{rs.getBigDecimal(3), rs.getBigDecimal(4)});
+            assertThat(previous)
+                    .as("round %d: 계좌 %s 거래 %d 의 로그가 하나여야 함", round, rs.getString(1), rs.getLong(2))
+                    .isNull();
+        });
+
+        Map<String, BigDecimal> running = new HashMap<>(initialBalances);
+        Map<String, Long> lastSeq = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT account_num, seq, transaction_id, balance_after FROM posting "
+                        + "WHERE seq IS NOT NULL ORDER BY account_num, seq",
+                rs -> {
+                    String accountNum = rs.getString(1);
+                    long seq = rs.getLong(2);
+                    long txId = rs.getLong(3);
+                    BigDecimal balanceAfter = rs.getBigDecimal(4);
+
+                    long expectedSeq = lastSeq.getOrDefault(accountNum, 0L) + 1;
+                    assertThat(seq).as("round %d: 계좌 %s 분개 seq 연속", round, accountNum).isEqualTo(expectedSeq);
+                    lastSeq.put(accountNum, seq);
+
+                    BigDecimal[] log = logs.getOrDefault(accountNum, Map.of()).get(txId);
+                    assertThat(log).as("round %d: 계좌 %s 거래 %d 로그 존재", round, accountNum, txId).isNotNull();
+                    assertThat(log[0]).as("round %d: 계좌 %s seq %d before = 직전 after", round, accountNum, seq)
+                            .isEqualByComparingTo(running.get(accountNum));
+                    assertThat(log[1]).as("round %d: 계좌 %s seq %d after = 분개 잔액", round, accountNum, seq)
+                            .isEqualByComparingTo(balanceAfter);
+                    running.put(accountNum, log[1]);
+                });
+
+        jdbcTemplate.query("SELECT account_num, balance, last_posting_seq FROM account WHERE account_type = 'NORMAL'", rs -> {
+            String accountNum = rs.getString(1);
+            if (!initialBalances.containsKey(accountNum)) {
+                return;
+            }
+            assertThat(rs.getBigDecimal(2))
+                    .as("round %d: 계좌 %s 현재 잔액 = 로그 체인 마지막 after", round, accountNum)
+                    .isEqualByComparingTo(running.get(accountNum));
+            assertThat(rs.getLong(3))
+                    .as("round %d: 계좌 %s last_posting_seq", round, accountNum)
+                    .isEqualTo(lastSeq.getOrDefault(accountNum, 0L));
+            assertThat(logs.getOrDefault(accountNum, Map.of()))
+                    .as("round %d: 계좌 %s 로그 수 = 분개 수", round, accountNum)
+                    .hasSize(lastSeq.getOrDefault(accountNum, 0L).intValue());
+        });
+    }
+
+    // 스레드들이 함께 쓰는 집계 (성공한 외부 입출금 합 + 결과별 건수)
+    private static final class Ledger {
+
+        private final LongAdder depositedCents = new LongAdder();
+        private final LongAdder withdrawnCents = new LongAdder();
+        private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+        void deposit(BigDecimal amount) {
+            depositedCents.add(amount.movePointRight(2).longValueExact());
+        }
+
+        void withdraw(BigDecimal amount) {
+            withdrawnCents.add(amount.movePointRight(2).longValueExact());
+        }
+
+        BigDecimal deposited() {
+            return BigDecimal.valueOf(depositedCents.sum(), 2);
+        }
+
+        BigDecimal withdrawn() {
+            return BigDecimal.valueOf(withdrawnCents.sum(), 2);
+        }
+
+        void resetFlows() {
+            depositedCents.reset();
+            withdrawnCents.reset();
+        }
+
+        void count(String outcome) {
+            outcomes.computeIfAbsent(outcome, k -> new LongAdder()).increment();
+        }
+
+        Map<String, Long> outcomes() {
+            Map<String, Long> snapshot = new TreeMap<>();
+            outcomes.forEach((key, value) -> snapshot.put(key, value.sum()));
+            return snapshot;
+        }
+    }
+}